@@ -9,6 +9,12 @@ package at.uibk.dps.sc.core;
 public final class ConstantsScheduling {
 
   public static final String lockCapacityQuery = "capacityQuery";
+
+  /**
+   * Key of the (optional) entry of a function output where the function reports
+   * the CPU time (in ms) consumed by its execution.
+   */
+  public static final String jsonKeyCpuTime = "cpuTimeMs";
   
   /**
    * No constructor
@@ -0,0 +1,229 @@
+package at.uibk.dps.sc.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Online estimator for the execution behavior of the functions on the
+ * resources. For each pair of function type and resource, the runtime and the
+ * CPU time of the executions are tracked as exponentially weighted moving
+ * averages (together with the moving variance of the runtime). The CPU time is
+ * only known for the executions where it was reported, so that the CPU
+ * observations are counted separately. The memory is
+ * bounded: each pair occupies constant memory and the least recently used
+ * pairs are dropped when the maximal number of tracked pairs is exceeded.
+ */
+@Singleton
+public class ExecutionStatistics {
+
+  /**
+   * Default weight of a new observation.
+   */
+  protected static final double defaultSmoothingFactor = 0.2;
+
+  /**
+   * Default maximal number of (function type, resource) pairs tracked.
+   */
+  protected static final int defaultMaxEntries = 10_000;
+
+  protected final double smoothingFactor;
+  protected final Map<String, Estimate> estimates;
+
+  /**
+   * The estimate for one pair of function type and resource.
+   */
+  public static final class Estimate {
+    protected double runtimeMs;
+    protected double runtimeVariance;
+    protected double cpuTimeMs;
+    protected double cpuUtilization;
+    protected long observationNumber;
+    protected long cpuObservationNumber;
+
+    /**
+     * Creates a copy of the given estimate.
+     * 
+     * @param other the given estimate
+     */
+    protected Estimate(final Estimate other) {
+      this.runtimeMs = other.runtimeMs;
+      this.runtimeVariance = other.runtimeVariance;
+      this.cpuTimeMs = other.cpuTimeMs;
+      this.cpuUtilization = other.cpuUtilization;
+      this.observationNumber = other.observationNumber;
+      this.cpuObservationNumber = other.cpuObservationNumber;
+    }
+
+    /**
+     * Creates an estimate without observations.
+     */
+    protected Estimate() {}
+
+    public double getRuntimeMs() {
+      return runtimeMs;
+    }
+
+    public double getRuntimeStdDeviation() {
+      return Math.sqrt(runtimeVariance);
+    }
+
+    public double getCpuTimeMs() {
+      return cpuTimeMs;
+    }
+
+    public long getObservationNumber() {
+      return observationNumber;
+    }
+
+    public long getCpuObservationNumber() {
+      return cpuObservationNumber;
+    }
+
+    /**
+     * Returns the estimated CPU utilization (CPU time per runtime) of an
+     * execution, averaged over the executions with reported CPU time.
+     * 
+     * @return the estimated CPU utilization of an execution
+     */
+    public double getCpuUtilization() {
+      return cpuUtilization;
+    }
+  }
+
+  /**
+   * Injection constructor.
+   */
+  @Inject
+  public ExecutionStatistics() {
+    this(defaultSmoothingFactor, defaultMaxEntries);
+  }
+
+  /**
+   * Constructor to configure the estimator.
+   * 
+   * @param smoothingFactor the weight of a new observation (between 0 and 1)
+   * @param maxEntries the maximal number of tracked (function type, resource)
+   *        pairs
+   */
+  public ExecutionStatistics(final double smoothingFactor, final int maxEntries) {
+    if (smoothingFactor <= 0.0 || smoothingFactor > 1.0) {
+      throw new IllegalArgumentException("The smoothing factor must be in (0, 1].");
+    }
+    this.smoothingFactor = smoothingFactor;
+    this.estimates = new LinkedHashMap<>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, Estimate> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Records an execution of a function of the given type on the given resource
+   * without information about its CPU time.
+   * 
+   * @param typeId the function type
+   * @param resourceId the resource id
+   * @param runtimeMs the runtime (wall-clock time) of the execution in ms
+   */
+  public void recordExecution(final String typeId, final String resourceId,
+      final double runtimeMs) {
+    recordExecution(typeId, resourceId, runtimeMs, Double.NaN);
+  }
+
+  /**
+   * Records an execution of a function of the given type on the given resource.
+   * 
+   * @param typeId the function type
+   * @param resourceId the resource id
+   * @param runtimeMs the runtime (wall-clock time) of the execution in ms
+   * @param cpuTimeMs the CPU time consumed by the execution in ms (NaN if
+   *        unknown)
+   */
+  public synchronized void recordExecution(final String typeId, final String resourceId,
+      final double runtimeMs, final double cpuTimeMs) {
+    final Estimate estimate = estimates.computeIfAbsent(getKey(typeId, resourceId),
+        k -> new Estimate());
+    if (estimate.observationNumber == 0) {
+      estimate.runtimeMs = runtimeMs;
+    } else {
+      final double diff = runtimeMs - estimate.runtimeMs;
+      final double increment = smoothingFactor * diff;
+      estimate.runtimeMs += increment;
+      estimate.runtimeVariance = (1 - smoothingFactor) * (estimate.runtimeVariance + diff * increment);
+    }
+    estimate.observationNumber++;
+    if (Double.isNaN(cpuTimeMs)) {
+      return;
+    }
+    final double utilization = runtimeMs <= 0.0 ? 0.0 : cpuTimeMs / runtimeMs;
+    if (estimate.cpuObservationNumber == 0) {
+      estimate.cpuTimeMs = cpuTimeMs;
+      estimate.cpuUtilization = utilization;
+    } else {
+      estimate.cpuTimeMs += smoothingFactor * (cpuTimeMs - estimate.cpuTimeMs);
+      estimate.cpuUtilization += smoothingFactor * (utilization - estimate.cpuUtilization);
+    }
+    estimate.cpuObservationNumber++;
+  }
+
+  /**
+   * Returns the number of observed executions of the given function type on the
+   * given resource.
+   * 
+   * @param typeId the function type
+   * @param resourceId the resource id
+   * @return the number of observed executions
+   */
+  public synchronized long getObservationNumber(final String typeId, final String resourceId) {
+    final Estimate estimate = estimates.get(getKey(typeId, resourceId));
+    return estimate == null ? 0 : estimate.observationNumber;
+  }
+
+  /**
+   * Returns the number of observed executions of the given function type on the
+   * given resource for which the CPU time was reported.
+   * 
+   * @param typeId the function type
+   * @param resourceId the resource id
+   * @return the number of observed executions with reported CPU time
+   */
+  public synchronized long getCpuObservationNumber(final String typeId,
+      final String resourceId) {
+    final Estimate estimate = estimates.get(getKey(typeId, resourceId));
+    return estimate == null ? 0 : estimate.cpuObservationNumber;
+  }
+
+  /**
+   * Returns a snapshot of the estimate for the given function type on the given
+   * resource.
+   * 
+   * @param typeId the function type
+   * @param resourceId the resource id
+   * @return a snapshot of the estimate for the given function type on the given
+   *         resource
+   */
+  public synchronized Estimate getEstimate(final String typeId, final String resourceId) {
+    final Estimate estimate = estimates.get(getKey(typeId, resourceId));
+    if (estimate == null) {
+      throw new IllegalArgumentException(
+          "No executions observed for type " + typeId + " on resource " + resourceId);
+    }
+    return new Estimate(estimate);
+  }
+
+  /**
+   * Returns the key used for the given function type and resource.
+   * 
+   * @param typeId the function type
+   * @param resourceId the resource id
+   * @return the key used for the given function type and resource
+   */
+  protected static String getKey(final String typeId, final String resourceId) {
+    return typeId + "--" + resourceId;
+  }
+}
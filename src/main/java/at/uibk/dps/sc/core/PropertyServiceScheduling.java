@@ -0,0 +1,268 @@
+package at.uibk.dps.sc.core;
+
+import com.google.gson.JsonObject;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * Static method class for the access of the scheduling-related attributes of
+ * tasks, resources, and mappings.
+ */
+public final class PropertyServiceScheduling {
+
+  /**
+   * The scheduling-related attributes (the names are shared with the attributes
+   * annotated by the dApollo scheduler).
+   */
+  protected enum PropertyScheduling {
+    /**
+     * The expected runtime (in seconds) of a mapping
+     */
+    RUNTIME,
+    /**
+     * The deadline (absolute time in ms) of a task
+     */
+    DEADLINE,
+    /**
+     * The id of the workflow/tenant a task belongs to
+     */
+    TENANT,
+    /**
+     * The bandwidth (in Mbit/s) of the link of a resource
+     */
+    BANDWIDTH,
+    /**
+     * The delay (in seconds) until a resource is available for processing
+     */
+    ACQUISITION_DELAY,
+    /**
+     * The size (in bytes) of the serialized input of a task
+     */
+    INPUT_SIZE,
+    /**
+     * The input object whose size is annotated as input size
+     */
+    INPUT_SIZE_SOURCE
+  }
+
+  /**
+   * No constructor
+   */
+  private PropertyServiceScheduling() {}
+
+  /**
+   * Returns true iff the given mapping is annotated with its expected runtime.
+   * 
+   * @param mapping the given mapping
+   * @return true iff the given mapping is annotated with its expected runtime
+   */
+  public static boolean hasRuntime(final Mapping<Task, Resource> mapping) {
+    return mapping.getAttribute(PropertyScheduling.RUNTIME.name()) != null;
+  }
+
+  /**
+   * Returns the expected runtime (in seconds) of the given mapping.
+   * 
+   * @param mapping the given mapping
+   * @return the expected runtime (in seconds) of the given mapping
+   */
+  public static double getRuntime(final Mapping<Task, Resource> mapping) {
+    if (!hasRuntime(mapping)) {
+      throw new IllegalArgumentException(
+          "Mapping " + mapping.getId() + " not annotated with its runtime.");
+    }
+    final Double runtime = mapping.getAttribute(PropertyScheduling.RUNTIME.name());
+    return runtime;
+  }
+
+  /**
+   * Annotates the given mapping with its expected runtime.
+   * 
+   * @param mapping the given mapping
+   * @param runtime the expected runtime (in seconds)
+   */
+  public static void setRuntime(final Mapping<Task, Resource> mapping, final double runtime) {
+    mapping.setAttribute(PropertyScheduling.RUNTIME.name(), runtime);
+  }
+
+  /**
+   * Returns true iff the given task is annotated with a deadline.
+   * 
+   * @param task the given task
+   * @return true iff the given task is annotated with a deadline
+   */
+  public static boolean hasDeadline(final Task task) {
+    return task.getAttribute(PropertyScheduling.DEADLINE.name()) != null;
+  }
+
+  /**
+   * Returns the deadline (absolute time in ms) of the given task.
+   * 
+   * @param task the given task
+   * @return the deadline (absolute time in ms) of the given task
+   */
+  public static long getDeadline(final Task task) {
+    if (!hasDeadline(task)) {
+      throw new IllegalArgumentException("Task " + task.getId() + " not annotated with a deadline.");
+    }
+    final Long deadline = task.getAttribute(PropertyScheduling.DEADLINE.name());
+    return deadline;
+  }
+
+  /**
+   * Annotates the given task with its deadline.
+   * 
+   * @param task the given task
+   * @param deadline the deadline (absolute time in ms)
+   */
+  public static void setDeadline(final Task task, final long deadline) {
+    task.setAttribute(PropertyScheduling.DEADLINE.name(), deadline);
+  }
+
+  /**
+   * Returns true iff the given task is annotated with the id of its tenant.
+   * 
+   * @param task the given task
+   * @return true iff the given task is annotated with the id of its tenant
+   */
+  public static boolean hasTenant(final Task task) {
+    return task.getAttribute(PropertyScheduling.TENANT.name()) != null;
+  }
+
+  /**
+   * Returns the id of the workflow/tenant the given task belongs to.
+   * 
+   * @param task the given task
+   * @return the id of the workflow/tenant the given task belongs to
+   */
+  public static String getTenant(final Task task) {
+    if (!hasTenant(task)) {
+      throw new IllegalArgumentException("Task " + task.getId() + " not annotated with a tenant.");
+    }
+    return task.getAttribute(PropertyScheduling.TENANT.name());
+  }
+
+  /**
+   * Annotates the given task with the id of the workflow/tenant it belongs to.
+   * 
+   * @param task the given task
+   * @param tenant the id of the workflow/tenant
+   */
+  public static void setTenant(final Task task, final String tenant) {
+    task.setAttribute(PropertyScheduling.TENANT.name(), tenant);
+  }
+
+  /**
+   * Returns true iff the given resource is annotated with its bandwidth.
+   * 
+   * @param res the given resource
+   * @return true iff the given resource is annotated with its bandwidth
+   */
+  public static boolean hasBandwidth(final Resource res) {
+    return res.getAttribute(PropertyScheduling.BANDWIDTH.name()) != null;
+  }
+
+  /**
+   * Returns the bandwidth (in Mbit/s) of the link of the given resource.
+   * 
+   * @param res the given resource
+   * @return the bandwidth (in Mbit/s) of the link of the given resource
+   */
+  public static double getBandwidth(final Resource res) {
+    if (!hasBandwidth(res)) {
+      throw new IllegalArgumentException(
+          "Resource " + res.getId() + " not annotated with its bandwidth.");
+    }
+    final Double bandwidth = res.getAttribute(PropertyScheduling.BANDWIDTH.name());
+    return bandwidth;
+  }
+
+  /**
+   * Annotates the given resource with the bandwidth of its link.
+   * 
+   * @param res the given resource
+   * @param bandwidth the bandwidth (in Mbit/s)
+   */
+  public static void setBandwidth(final Resource res, final double bandwidth) {
+    res.setAttribute(PropertyScheduling.BANDWIDTH.name(), bandwidth);
+  }
+
+  /**
+   * Returns true iff the given resource is annotated with its acquisition delay.
+   * 
+   * @param res the given resource
+   * @return true iff the given resource is annotated with its acquisition delay
+   */
+  public static boolean hasAcquisitionDelay(final Resource res) {
+    return res.getAttribute(PropertyScheduling.ACQUISITION_DELAY.name()) != null;
+  }
+
+  /**
+   * Returns the acquisition delay (in seconds) of the given resource.
+   * 
+   * @param res the given resource
+   * @return the acquisition delay (in seconds) of the given resource
+   */
+  public static double getAcquisitionDelay(final Resource res) {
+    if (!hasAcquisitionDelay(res)) {
+      throw new IllegalArgumentException(
+          "Resource " + res.getId() + " not annotated with its acquisition delay.");
+    }
+    final Double delay = res.getAttribute(PropertyScheduling.ACQUISITION_DELAY.name());
+    return delay;
+  }
+
+  /**
+   * Annotates the given resource with its acquisition delay.
+   * 
+   * @param res the given resource
+   * @param acquisitionDelay the acquisition delay (in seconds)
+   */
+  public static void setAcquisitionDelay(final Resource res, final double acquisitionDelay) {
+    res.setAttribute(PropertyScheduling.ACQUISITION_DELAY.name(), acquisitionDelay);
+  }
+
+  /**
+   * Returns true iff the given task is annotated with the size of the given
+   * input (i.e., the annotated size was calculated for this very input object
+   * and not for an earlier input of the task).
+   * 
+   * @param task the given task
+   * @param input the current input of the task
+   * @return true iff the given task is annotated with the size of the given input
+   */
+  public static boolean hasInputSize(final Task task, final JsonObject input) {
+    return task.getAttribute(PropertyScheduling.INPUT_SIZE.name()) != null
+        && task.getAttribute(PropertyScheduling.INPUT_SIZE_SOURCE.name()) == input;
+  }
+
+  /**
+   * Returns the size (in bytes) of the serialized input of the given task (as
+   * last annotated).
+   * 
+   * @param task the given task
+   * @return the size (in bytes) of the serialized input of the given task
+   */
+  public static long getInputSize(final Task task) {
+    final Long inputSize = task.getAttribute(PropertyScheduling.INPUT_SIZE.name());
+    if (inputSize == null) {
+      throw new IllegalArgumentException(
+          "Task " + task.getId() + " not annotated with its input size.");
+    }
+    return inputSize;
+  }
+
+  /**
+   * Annotates the given task with the size of the given input.
+   * 
+   * @param task the given task
+   * @param input the input the size was calculated for
+   * @param inputSize the size (in bytes) of the serialized input
+   */
+  public static void setInputSize(final Task task, final JsonObject input,
+      final long inputSize) {
+    task.setAttribute(PropertyScheduling.INPUT_SIZE.name(), inputSize);
+    task.setAttribute(PropertyScheduling.INPUT_SIZE_SOURCE.name(), input);
+  }
+}
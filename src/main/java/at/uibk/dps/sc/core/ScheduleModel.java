@@ -2,8 +2,11 @@ package at.uibk.dps.sc.core;
 
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
 import com.google.inject.Singleton;
 import at.uibk.dps.ee.model.properties.PropertyServiceResource;
+import at.uibk.dps.sc.core.scheduler.Scheduler;
 import net.sf.opendse.model.Mapping;
 import net.sf.opendse.model.Resource;
 import net.sf.opendse.model.Task;
@@ -20,6 +23,27 @@ public class ScheduleModel {
   protected final ConcurrentHashMap<Task, Set<Mapping<Task, Resource>>> scheduleMap =
       new ConcurrentHashMap<>();
 
+  protected final Provider<Scheduler> schedulerProvider;
+
+  /**
+   * Constructor for a schedule model without a scheduler. Releasing a task only
+   * removes it from the schedule and the using-task annotations of its resources.
+   */
+  public ScheduleModel() {
+    this(null);
+  }
+
+  /**
+   * Injection constructor.
+   * 
+   * @param schedulerProvider provider for the scheduler which is informed about
+   *        released capacity
+   */
+  @Inject
+  public ScheduleModel(final Provider<Scheduler> schedulerProvider) {
+    this.schedulerProvider = schedulerProvider;
+  }
+
   /**
    * Returns true if the task is already scheduled.
    * 
@@ -31,19 +55,44 @@ public class ScheduleModel {
   }
 
   /**
-   * Resets the entire schedule.
+   * Resets the entire schedule, releasing the capacity occupied by the scheduled
+   * tasks (see {@link #releaseTask(Task)}).
    */
   public void resetSchedule() {
-    scheduleMap.clear();
+    scheduleMap.keySet().forEach(this::releaseTask);
   }
 
   /**
-   * Removes the given task from the schedule.
+   * Removes the given task from the schedule, releasing the capacity it occupies
+   * (see {@link #releaseTask(Task)}).
    * 
    * @param task the given task
    */
   public void resetTaskSchedule(final Task task) {
-    scheduleMap.remove(task);
+    releaseTask(task);
+  }
+
+  /**
+   * Called when the given task is completed. Removes the task from the schedule
+   * and releases the capacity it occupies on the resources of its schedule, so
+   * that waiting tasks can be placed there. Calling this method multiple times
+   * for the same task (also concurrently) releases the capacity only once.
+   * 
+   * @param task the completed task
+   */
+  public void releaseTask(final Task task) {
+    final Set<Mapping<Task, Resource>> schedule = scheduleMap.remove(task);
+    if (schedule == null) {
+      // not scheduled or already released
+      return;
+    }
+    if (schedulerProvider == null) {
+      schedule.forEach(m -> PropertyServiceResource.removeUsingTask(task, m.getTarget()));
+      return;
+    }
+    // the scheduler removes the using-task annotation while holding the capacity lock
+    final Scheduler scheduler = schedulerProvider.get();
+    schedule.forEach(m -> scheduler.releaseCapacity(task, m.getTarget()));
   }
 
   /**
@@ -0,0 +1,37 @@
+package at.uibk.dps.sc.core;
+
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUser;
+import net.sf.opendse.model.Task;
+
+/**
+ * Static method class for scheduling-related operations shared by schedulers,
+ * resource arbiters, and capacity calculators.
+ */
+public final class UtilsScheduling {
+
+  /**
+   * No constructor
+   */
+  private UtilsScheduling() {}
+
+  /**
+   * Returns the original task defined in the given {@link EnactmentGraph} (as
+   * opposed to, e.g., the reproductions created during the parallel for
+   * distribution or the replicas created for while loops).
+   * 
+   * @param task the given task
+   * @param eGraph the enactment graph of the specification
+   * @return the original task from the spec (either the given task or its
+   *         (grand)parent)
+   */
+  public static Task getOriginalTask(final Task task, final EnactmentGraph eGraph) {
+    if (task.getParent() != null) {
+      return getOriginalTask((Task) task.getParent(), eGraph);
+    }
+    if (PropertyServiceFunctionUser.isWhileReplica(task)) {
+      return eGraph.getVertex(PropertyServiceFunctionUser.getWhileRef(task));
+    }
+    return task;
+  }
+}
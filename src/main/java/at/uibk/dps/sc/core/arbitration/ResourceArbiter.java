@@ -1,5 +1,7 @@
 package at.uibk.dps.sc.core.arbitration;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import net.sf.opendse.model.Resource;
 import net.sf.opendse.model.Task;
@@ -24,4 +26,62 @@ public interface ResourceArbiter {
    * @return the list prioritizing the tasks
    */
   List<Task> prioritizeTasks(List<Task> candidates, Resource res);
+
+  /**
+   * Returns the tasks waiting for the given resource in the order of their
+   * priority. Arbiters which maintain the order incrementally (see
+   * {@link #taskParked(Task, Resource)}) can return a view of their structure
+   * instead of creating a new list. The returned iterable must not be used after
+   * the wait list was changed.
+   * 
+   * @param waiting the tasks waiting for the resource (in the order of arrival)
+   * @param res the resource the tasks are waiting for
+   * @return the waiting tasks, in the order of their priority
+   */
+  default Iterable<Task> getPrioritizedTasks(final Collection<Task> waiting,
+      final Resource res) {
+    return prioritizeTasks(new ArrayList<>(waiting), res);
+  }
+
+  /**
+   * Informs the arbiter that the given task was placed into the wait list of the
+   * given resource.
+   * 
+   * @param task the waiting task
+   * @param res the resource the task is waiting for
+   */
+  default void taskParked(final Task task, final Resource res) {
+    // no bookkeeping by default
+  }
+
+  /**
+   * Informs the arbiter that the given task was removed from the wait list of the
+   * given resource.
+   * 
+   * @param task the task which is not waiting anymore
+   * @param res the resource the task was waiting for
+   */
+  default void taskUnparked(final Task task, final Resource res) {
+    // no bookkeeping by default
+  }
+
+  /**
+   * Informs the arbiter that the given task was placed on the given resource.
+   * 
+   * @param task the placed task
+   * @param res the resource the task was placed on
+   */
+  default void taskPlaced(final Task task, final Resource res) {
+    // no bookkeeping by default
+  }
+
+  /**
+   * Informs the arbiter that the given task released the given resource.
+   * 
+   * @param task the task releasing the resource
+   * @param res the released resource
+   */
+  default void taskReleased(final Task task, final Resource res) {
+    // no bookkeeping by default
+  }
 }
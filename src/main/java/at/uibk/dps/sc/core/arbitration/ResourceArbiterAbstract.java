@@ -0,0 +1,35 @@
+package at.uibk.dps.sc.core.arbitration;
+
+import at.uibk.dps.ee.model.graph.EnactmentSpecification;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.sc.core.UtilsScheduling;
+import net.sf.opendse.model.Task;
+
+/**
+ * Parent of the {@link ResourceArbiter}s which base their decision on the
+ * information of the specification.
+ */
+public abstract class ResourceArbiterAbstract implements ResourceArbiter {
+
+  protected final EnactmentSpecification specification;
+
+  /**
+   * Default constructor.
+   * 
+   * @param specProvider the specification provider
+   */
+  public ResourceArbiterAbstract(final SpecificationProvider specProvider) {
+    this.specification = specProvider.getSpecification();
+  }
+
+  /**
+   * Returns the task of the specification which the given task was created from
+   * (e.g., during the parallel for distribution).
+   * 
+   * @param task the given task
+   * @return the original task from the spec
+   */
+  protected Task getOriginalTask(final Task task) {
+    return UtilsScheduling.getOriginalTask(task, specification.getEnactmentGraph());
+  }
+}
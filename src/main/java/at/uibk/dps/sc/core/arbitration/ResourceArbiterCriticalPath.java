@@ -0,0 +1,115 @@
+package at.uibk.dps.sc.core.arbitration;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.sc.core.PropertyServiceScheduling;
+import at.uibk.dps.sc.core.scheduler.dApollo.GraphUtils;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * A {@link ResourceArbiter} prioritizing the tasks on the critical path of the
+ * workflow. Tasks are ordered by their upward rank, i.e., the length of the
+ * longest path from the task to the end of the workflow, where each task is
+ * weighted with the average runtime of its mapping options. The ranks are
+ * calculated once for the workflow and cached. Tasks with equal rank are
+ * arbitrated FCFS.
+ */
+@Singleton
+public class ResourceArbiterCriticalPath extends ResourceArbiterPriority {
+
+  /**
+   * Weight of tasks without mappings annotated with runtimes.
+   */
+  protected static final double defaultWeight = 1.0;
+
+  protected Map<Task, Double> upwardRanks;
+
+  /**
+   * Injection constructor.
+   * 
+   * @param specProvider the specification provider
+   */
+  @Inject
+  public ResourceArbiterCriticalPath(final SpecificationProvider specProvider) {
+    super(specProvider);
+  }
+
+  @Override
+  protected double calculateKey(final Task task, final Resource res) {
+    // highest rank first
+    return -getUpwardRanks().getOrDefault(getOriginalTask(task), 0.0);
+  }
+
+  /**
+   * Returns the upward ranks of the tasks of the workflow (calculated on first
+   * use).
+   * 
+   * @return the upward ranks of the tasks of the workflow
+   */
+  protected synchronized Map<Task, Double> getUpwardRanks() {
+    if (upwardRanks == null) {
+      upwardRanks = calculateUpwardRanks(specification.getEnactmentGraph());
+    }
+    return upwardRanks;
+  }
+
+  /**
+   * Calculates the upward ranks of all tasks of the given graph, processing the
+   * tasks in reverse topological order.
+   * 
+   * @param eGraph the enactment graph
+   * @return map of the task upward ranks
+   */
+  protected Map<Task, Double> calculateUpwardRanks(final EnactmentGraph eGraph) {
+    final Map<Task, Double> ranks = new HashMap<>();
+    final Map<Task, Set<Task>> successors = new HashMap<>();
+    final Map<Task, Set<Task>> predecessors = new HashMap<>();
+    final Map<Task, Integer> unrankedSuccessors = new HashMap<>();
+    final Deque<Task> rankable = new ArrayDeque<>();
+    for (final Task task : GraphUtils.getTasks(eGraph)) {
+      final Set<Task> succs = new HashSet<>(GraphUtils.getSuccessorTaskNodes(eGraph, task));
+      successors.put(task, succs);
+      predecessors.put(task, new HashSet<>(GraphUtils.getPredecessorTaskNodes(eGraph, task)));
+      unrankedSuccessors.put(task, succs.size());
+      if (succs.isEmpty()) {
+        rankable.add(task);
+      }
+    }
+    while (!rankable.isEmpty()) {
+      final Task task = rankable.poll();
+      final double maxSuccRank =
+          successors.get(task).stream().mapToDouble(ranks::get).max().orElse(0.0);
+      ranks.put(task, getWeight(task) + maxSuccRank);
+      for (final Task pred : predecessors.get(task)) {
+        final int remaining = unrankedSuccessors.merge(pred, -1, Integer::sum);
+        if (remaining == 0) {
+          rankable.add(pred);
+        }
+      }
+    }
+    return ranks;
+  }
+
+  /**
+   * Returns the weight of the given task, i.e., the average runtime of its
+   * mapping options.
+   * 
+   * @param task the given task
+   * @return the weight of the given task
+   */
+  protected double getWeight(final Task task) {
+    final Set<Mapping<Task, Resource>> mappings = specification.getMappings().getMappings(task);
+    return mappings.stream().filter(PropertyServiceScheduling::hasRuntime)
+        .mapToDouble(PropertyServiceScheduling::getRuntime).average().orElse(defaultWeight);
+  }
+}
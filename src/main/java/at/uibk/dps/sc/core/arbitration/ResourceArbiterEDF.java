@@ -0,0 +1,81 @@
+package at.uibk.dps.sc.core.arbitration;
+
+import org.opt4j.core.start.Constant;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.sc.core.PropertyServiceScheduling;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * A {@link ResourceArbiter} implementing earliest-deadline-first arbitration
+ * with aging. The deadline of a task is the deadline annotated on the task (or
+ * on the specification task it was created from); tasks without deadline get a
+ * default deadline relative to their arrival. To prevent starvation, waiting
+ * tasks gain priority: The effective deadline of a task is decreased by the
+ * aging factor times its waiting time. Since all tasks age at the same rate,
+ * the order of the effective deadlines is given by the time-invariant key
+ * (deadline + agingFactor * parkTime), which is calculated when the task is
+ * placed into the wait list of a resource.
+ */
+@Singleton
+public class ResourceArbiterEDF extends ResourceArbiterPriority {
+
+  protected final double agingFactor;
+  protected final long defaultRelativeDeadline;
+
+  /**
+   * Injection constructor.
+   * 
+   * @param specProvider the specification provider
+   * @param agingFactor the priority (in ms of deadline) which a task gains for
+   *        each ms of waiting
+   * @param defaultRelativeDeadline the deadline (in ms after the arrival) of the
+   *        tasks without annotated deadline
+   */
+  @Inject
+  public ResourceArbiterEDF(final SpecificationProvider specProvider,
+      @Constant(namespace = ResourceArbiterEDF.class,
+          value = "agingFactor") final double agingFactor,
+      @Constant(namespace = ResourceArbiterEDF.class,
+          value = "defaultRelativeDeadline") final int defaultRelativeDeadline) {
+    super(specProvider);
+    this.agingFactor = agingFactor;
+    this.defaultRelativeDeadline = defaultRelativeDeadline;
+  }
+
+  @Override
+  protected double calculateKey(final Task task, final Resource res) {
+    // called when the task is parked
+    final long parkTime = getCurrentTime();
+    return getDeadline(task, parkTime) + agingFactor * parkTime;
+  }
+
+  /**
+   * Returns the deadline of the given task.
+   * 
+   * @param task the given task
+   * @param parkTime the time when the task started waiting
+   * @return the deadline (absolute time in ms) of the given task
+   */
+  protected long getDeadline(final Task task, final long parkTime) {
+    if (PropertyServiceScheduling.hasDeadline(task)) {
+      return PropertyServiceScheduling.getDeadline(task);
+    }
+    final Task original = getOriginalTask(task);
+    if (PropertyServiceScheduling.hasDeadline(original)) {
+      return PropertyServiceScheduling.getDeadline(original);
+    }
+    return parkTime + defaultRelativeDeadline;
+  }
+
+  /**
+   * Returns the current time (in ms).
+   * 
+   * @return the current time (in ms)
+   */
+  protected long getCurrentTime() {
+    return System.currentTimeMillis();
+  }
+}
@@ -0,0 +1,274 @@
+package at.uibk.dps.sc.core.arbitration;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.opt4j.core.start.Constant;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.sc.core.PropertyServiceScheduling;
+import at.uibk.dps.sc.core.capacity.CapacityCalculator;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * A {@link ResourceArbiter} implementing weighted fair queueing (deficit round
+ * robin) across the tenants (workflows) sharing a resource. The cost of a task
+ * is the dominant share of its demand (over all capacity dimensions) on the
+ * resource. The deficit of each tenant is kept across the arbitration calls:
+ * Each placement of a task debits its cost (so that a burst of one tenant
+ * cannot lock out the others, the debt is bounded by the share the tenant
+ * occupies), and each arbitration credits the rounds of quanta (proportional
+ * to the tenant weights) which are necessary to serve the first task. The
+ * rounds without service are skipped in one step, so that the arbitration cost
+ * does not depend on the weights. Tenants without waiting tasks lose their
+ * credit.
+ */
+@Singleton
+public class ResourceArbiterFairShare extends ResourceArbiterAbstract {
+
+  /**
+   * The tenant of tasks without tenant annotation.
+   */
+  protected static final String defaultTenant = "default";
+
+  /**
+   * Lower bound of the quantum (to ensure progress for tasks with negligible
+   * capacity requirements).
+   */
+  protected static final double minQuantum = 0.01;
+
+  /**
+   * Tolerance of the deficit comparisons.
+   */
+  protected static final double epsilon = 1E-9;
+
+  protected final CapacityCalculator capacityCalculator;
+  protected final Map<String, Double> tenantWeights;
+  protected final Map<Resource, Map<Task, Double>> chargedCapacity = new HashMap<>();
+  protected final Map<Resource, Map<String, Double>> tenantShares = new HashMap<>();
+  protected final Map<Resource, Map<String, Double>> tenantDeficits = new HashMap<>();
+  protected final Map<Resource, Integer> roundRobinOffsets = new HashMap<>();
+
+  /**
+   * Injection constructor.
+   * 
+   * @param specProvider the specification provider
+   * @param capacityCalculator the capacity calculator
+   * @param tenantWeights the weights of the tenants, in the format
+   *        "tenantA=2;tenantB=1" (tenants not listed have a weight of 1)
+   */
+  @Inject
+  public ResourceArbiterFairShare(final SpecificationProvider specProvider,
+      final CapacityCalculator capacityCalculator, @Constant(
+          namespace = ResourceArbiterFairShare.class, value = "tenantWeights") final String tenantWeights) {
+    super(specProvider);
+    this.capacityCalculator = capacityCalculator;
+    this.tenantWeights = parseWeights(tenantWeights);
+  }
+
+  @Override
+  public synchronized List<Task> prioritizeTasks(final List<Task> candidates,
+      final Resource res) {
+    final Map<String, Deque<Task>> tenantQueues = new LinkedHashMap<>();
+    final Map<Task, Double> costs = new HashMap<>();
+    double maxCost = 0.0;
+    for (final Task candidate : candidates) {
+      tenantQueues.computeIfAbsent(getTenant(candidate), t -> new ArrayDeque<>()).add(candidate);
+      final double cost = getCost(candidate, res);
+      costs.put(candidate, cost);
+      maxCost = Math.max(maxCost, cost);
+    }
+    final double quantum = Math.max(maxCost, minQuantum);
+    final Map<String, Double> persisted =
+        tenantDeficits.computeIfAbsent(res, r -> new HashMap<>());
+    // tenants without waiting tasks lose their credit (but keep their debt)
+    persisted.replaceAll(
+        (tenant, deficit) -> tenantQueues.containsKey(tenant) ? deficit : Math.min(deficit, 0.0));
+    final Map<String, Double> deficits = new HashMap<>();
+    tenantQueues.keySet().forEach(tenant -> deficits.put(tenant, persisted.getOrDefault(tenant, 0.0)));
+    // rotate the start of the rounds to not always favor the same tenant
+    final List<String> tenants = new ArrayList<>(tenantQueues.keySet());
+    final int offset = roundRobinOffsets.getOrDefault(res, 0);
+    roundRobinOffsets.put(res, offset + 1);
+    if (!tenants.isEmpty()) {
+      Collections.rotate(tenants, -(offset % tenants.size()));
+    }
+    final List<Task> result = new ArrayList<>(candidates.size());
+    boolean firstRound = true;
+    while (result.size() < candidates.size()) {
+      // skip the rounds where no tenant can place its next task
+      final long rounds = getRoundsToService(tenantQueues, deficits, costs, quantum);
+      for (final String tenant : tenants) {
+        if (!tenantQueues.get(tenant).isEmpty()) {
+          final double credit = rounds * getWeight(tenant) * quantum;
+          deficits.merge(tenant, credit, Double::sum);
+          if (firstRound) {
+            persisted.merge(tenant, credit, Double::sum);
+          }
+        }
+      }
+      firstRound = false;
+      for (final String tenant : tenants) {
+        final Deque<Task> queue = tenantQueues.get(tenant);
+        double deficit = deficits.get(tenant);
+        while (!queue.isEmpty() && costs.get(queue.peek()) <= deficit + epsilon) {
+          final Task next = queue.poll();
+          deficit -= costs.get(next);
+          result.add(next);
+        }
+        deficits.put(tenant, queue.isEmpty() ? 0.0 : deficit);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of rounds after which (at least) one of the tenants can
+   * place the first task of its queue.
+   * 
+   * @param tenantQueues the queues of the tenants
+   * @param deficits the current deficits of the tenants
+   * @param costs the costs of the tasks
+   * @param quantum the quantum of a tenant with weight 1
+   * @return the number of rounds after which a task can be placed
+   */
+  protected long getRoundsToService(final Map<String, Deque<Task>> tenantQueues,
+      final Map<String, Double> deficits, final Map<Task, Double> costs,
+      final double quantum) {
+    long result = Long.MAX_VALUE;
+    for (final Entry<String, Deque<Task>> entry : tenantQueues.entrySet()) {
+      if (entry.getValue().isEmpty()) {
+        continue;
+      }
+      final String tenant = entry.getKey();
+      final double missing =
+          costs.get(entry.getValue().peek()) - deficits.get(tenant) - epsilon;
+      final long rounds =
+          missing <= 0 ? 0 : (long) Math.ceil(missing / (getWeight(tenant) * quantum));
+      result = Math.min(result, rounds);
+    }
+    return result;
+  }
+
+  @Override
+  public synchronized void taskPlaced(final Task task, final Resource res) {
+    final double cost = getCost(task, res);
+    final String tenant = getTenant(task);
+    chargedCapacity.computeIfAbsent(res, r -> new HashMap<>()).put(task, cost);
+    tenantShares.computeIfAbsent(res, r -> new HashMap<>()).merge(tenant, cost, Double::sum);
+    tenantDeficits.computeIfAbsent(res, r -> new HashMap<>()).merge(tenant, -cost, Double::sum);
+  }
+
+  @Override
+  public synchronized void taskReleased(final Task task, final Resource res) {
+    final Map<Task, Double> charged = chargedCapacity.get(res);
+    if (charged == null || !charged.containsKey(task)) {
+      return;
+    }
+    final double cost = charged.remove(task);
+    final String tenant = getTenant(task);
+    final double share = tenantShares.get(res).merge(tenant, -cost, Double::sum);
+    // the debt of a tenant is bounded by the share it occupies
+    tenantDeficits.get(res).computeIfPresent(tenant,
+        (t, deficit) -> Math.max(deficit, -Math.max(share, 0.0)));
+  }
+
+  /**
+   * Returns the cost of placing the given task on the given resource, i.e., the
+   * dominant share of its demand.
+   * 
+   * @param task the given task
+   * @param res the given resource
+   * @return the cost of placing the given task on the given resource
+   */
+  protected double getCost(final Task task, final Resource res) {
+    return capacityCalculator.getDemand(task, res)
+        .getDominantShare(capacityCalculator.getCapacity(res));
+  }
+
+  /**
+   * Returns the deficit (the credit which is not yet used for placements) of the
+   * given tenant on the given resource.
+   * 
+   * @param res the given resource
+   * @param tenant the given tenant
+   * @return the deficit of the given tenant on the given resource
+   */
+  public synchronized double getDeficit(final Resource res, final String tenant) {
+    return tenantDeficits.getOrDefault(res, Collections.emptyMap()).getOrDefault(tenant, 0.0);
+  }
+
+  /**
+   * Returns the capacity share which the given tenant occupies on the given
+   * resource.
+   * 
+   * @param res the given resource
+   * @param tenant the given tenant
+   * @return the capacity share which the given tenant occupies on the given
+   *         resource
+   */
+  public synchronized double getTenantShare(final Resource res, final String tenant) {
+    return tenantShares.getOrDefault(res, Collections.emptyMap()).getOrDefault(tenant, 0.0);
+  }
+
+  /**
+   * Returns the weight of the given tenant.
+   * 
+   * @param tenant the given tenant
+   * @return the weight of the given tenant
+   */
+  protected double getWeight(final String tenant) {
+    return tenantWeights.getOrDefault(tenant, 1.0);
+  }
+
+  /**
+   * Returns the tenant of the given task (or of the spec task it was created
+   * from).
+   * 
+   * @param task the given task
+   * @return the tenant of the given task
+   */
+  protected String getTenant(final Task task) {
+    if (PropertyServiceScheduling.hasTenant(task)) {
+      return PropertyServiceScheduling.getTenant(task);
+    }
+    final Task original = getOriginalTask(task);
+    if (original != null && PropertyServiceScheduling.hasTenant(original)) {
+      return PropertyServiceScheduling.getTenant(original);
+    }
+    return defaultTenant;
+  }
+
+  /**
+   * Parses the tenant weights from the given string.
+   * 
+   * @param weightString string in the format "tenantA=2;tenantB=1"
+   * @return map of the tenant weights
+   */
+  protected static Map<String, Double> parseWeights(final String weightString) {
+    final Map<String, Double> result = new HashMap<>();
+    if (weightString == null || weightString.isBlank()) {
+      return result;
+    }
+    for (final String entry : weightString.split(";")) {
+      final String[] keyValue = entry.split("=");
+      if (keyValue.length != 2) {
+        throw new IllegalArgumentException("Malformed tenant weight entry: " + entry);
+      }
+      final double weight = Double.parseDouble(keyValue[1].trim());
+      if (weight <= 0) {
+        throw new IllegalArgumentException("Tenant weights must be positive: " + entry);
+      }
+      result.put(keyValue[0].trim(), weight);
+    }
+    return result;
+  }
+}
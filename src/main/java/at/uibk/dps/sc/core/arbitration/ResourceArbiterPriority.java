@@ -0,0 +1,139 @@
+package at.uibk.dps.sc.core.arbitration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * Parent of the {@link ResourceArbiter}s which order the tasks by a priority
+ * key. For each resource, the waiting tasks are kept in a priority structure
+ * which is maintained incrementally: The key of a task is calculated once, when
+ * the task is parked, and the insertion/removal of a task costs O(log n), so
+ * that the waiting tasks are neither collected nor sorted when capacity is
+ * released. Tasks with equal keys are arbitrated FCFS.
+ */
+public abstract class ResourceArbiterPriority extends ResourceArbiterAbstract {
+
+  /**
+   * Entry of the priority structure.
+   */
+  protected static class QueueEntry {
+    protected final Task task;
+    protected final double key;
+    protected final long arrival;
+
+    /**
+     * Default constructor
+     * 
+     * @param task the waiting task
+     * @param key the priority key (lower key -> higher priority)
+     * @param arrival the arrival number of the task
+     */
+    protected QueueEntry(final Task task, final double key, final long arrival) {
+      this.task = task;
+      this.key = key;
+      this.arrival = arrival;
+    }
+  }
+
+  protected static final Comparator<QueueEntry> entryComparator =
+      Comparator.comparingDouble((QueueEntry entry) -> entry.key)
+          .thenComparingLong(entry -> entry.arrival);
+
+  protected final Map<Resource, TreeSet<QueueEntry>> queues = new HashMap<>();
+  protected final Map<Resource, Map<Task, QueueEntry>> queueEntries = new HashMap<>();
+  protected long arrivalCounter;
+
+  /**
+   * Default constructor.
+   * 
+   * @param specProvider the specification provider
+   */
+  public ResourceArbiterPriority(final SpecificationProvider specProvider) {
+    super(specProvider);
+  }
+
+  @Override
+  public synchronized void taskParked(final Task task, final Resource res) {
+    final Map<Task, QueueEntry> entries = queueEntries.computeIfAbsent(res, r -> new HashMap<>());
+    if (!entries.containsKey(task)) {
+      final QueueEntry entry = new QueueEntry(task, calculateKey(task, res), arrivalCounter++);
+      entries.put(task, entry);
+      queues.computeIfAbsent(res, r -> new TreeSet<>(entryComparator)).add(entry);
+    }
+  }
+
+  @Override
+  public synchronized void taskUnparked(final Task task, final Resource res) {
+    final Map<Task, QueueEntry> entries = queueEntries.get(res);
+    if (entries == null) {
+      return;
+    }
+    final QueueEntry entry = entries.remove(task);
+    if (entry != null) {
+      queues.get(res).remove(entry);
+    }
+  }
+
+  @Override
+  public synchronized Iterable<Task> getPrioritizedTasks(final Collection<Task> waiting,
+      final Resource res) {
+    final Map<Task, QueueEntry> entries = queueEntries.getOrDefault(res, Collections.emptyMap());
+    if (entries.size() != waiting.size()) {
+      // tasks not announced via taskParked/taskUnparked
+      reconcile(waiting, res);
+    }
+    final TreeSet<QueueEntry> queue = queues.get(res);
+    if (queue == null) {
+      return Collections.emptyList();
+    }
+    return () -> queue.stream().map(entry -> entry.task).iterator();
+  }
+
+  @Override
+  public synchronized List<Task> prioritizeTasks(final List<Task> candidates,
+      final Resource res) {
+    reconcile(candidates, res);
+    final TreeSet<QueueEntry> queue = queues.get(res);
+    final List<Task> result = new ArrayList<>(candidates.size());
+    if (queue != null) {
+      queue.forEach(entry -> result.add(entry.task));
+    }
+    return result;
+  }
+
+  /**
+   * Brings the priority structure of the given resource in line with the given
+   * waiting tasks (linear in the number of waiting tasks).
+   * 
+   * @param waiting the tasks waiting for the resource (in the order of arrival)
+   * @param res the resource the tasks are waiting for
+   */
+  protected void reconcile(final Collection<Task> waiting, final Resource res) {
+    final Set<Task> waitingSet = new HashSet<>(waiting);
+    final Map<Task, QueueEntry> entries = queueEntries.getOrDefault(res, Collections.emptyMap());
+    new ArrayList<>(entries.keySet()).stream().filter(task -> !waitingSet.contains(task))
+        .forEach(task -> taskUnparked(task, res));
+    waiting.forEach(task -> taskParked(task, res));
+  }
+
+  /**
+   * Calculates the priority key of the given task which is waiting for the given
+   * resource. Tasks with lower keys are prioritized.
+   * 
+   * @param task the waiting task
+   * @param res the resource the task is waiting for
+   * @return the priority key of the task
+   */
+  protected abstract double calculateKey(Task task, Resource res);
+}
@@ -0,0 +1,36 @@
+package at.uibk.dps.sc.core.arbitration;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.sc.core.PropertyServiceScheduling;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * A {@link ResourceArbiter} minimizing the mean task latency by prioritizing
+ * the tasks with the shortest expected runtime on the contended resource. Tasks
+ * without runtime estimate for the resource are placed after all tasks with
+ * estimate.
+ */
+@Singleton
+public class ResourceArbiterShortestRuntime extends ResourceArbiterPriority {
+
+  /**
+   * Injection constructor.
+   * 
+   * @param specProvider the specification provider
+   */
+  @Inject
+  public ResourceArbiterShortestRuntime(final SpecificationProvider specProvider) {
+    super(specProvider);
+  }
+
+  @Override
+  protected double calculateKey(final Task task, final Resource res) {
+    return specification.getMappings().getMappings(getOriginalTask(task)).stream()
+        .filter(mapping -> mapping.getTarget().equals(res))
+        .filter(PropertyServiceScheduling::hasRuntime)
+        .mapToDouble(PropertyServiceScheduling::getRuntime).min().orElse(Double.MAX_VALUE);
+  }
+}
@@ -23,4 +23,28 @@ public interface CapacityCalculator {
    *         given task occupies on a given resource
    */
   double getCapacityFraction(Task task, Resource resource);
+
+  /**
+   * Returns the (multi-dimensional) capacity demand of the given task on the
+   * given resource. By default, only the concurrency slots are constrained (by
+   * the capacity fraction).
+   * 
+   * @param task the given task
+   * @param resource the given resource
+   * @return the capacity demand of the given task on the given resource
+   */
+  default CapacityVector getDemand(final Task task, final Resource resource) {
+    return CapacityVector.slotsOnly(getCapacityFraction(task, resource));
+  }
+
+  /**
+   * Returns the (multi-dimensional) total capacity of the given resource. By
+   * default, only the concurrency slots are constrained.
+   * 
+   * @param resource the given resource
+   * @return the total capacity of the given resource
+   */
+  default CapacityVector getCapacity(final Resource resource) {
+    return new CapacityVector(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, 1.0);
+  }
 }
@@ -0,0 +1,66 @@
+package at.uibk.dps.sc.core.capacity;
+
+import org.opt4j.core.start.Constant;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
+import at.uibk.dps.sc.core.ExecutionStatistics;
+import at.uibk.dps.sc.core.ExecutionStatistics.Estimate;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * {@link CapacityCalculator} deriving the capacity fraction of a task from the
+ * observed executions of its function type on the resource. A CPU-bound
+ * function (utilization of 1) occupies one of the slots of the resource (as
+ * with the {@link CapacityCalculatorTaskNumber}); functions which mostly wait
+ * on I/O occupy a correspondingly smaller fraction (but at least the minimal
+ * utilization). The CPU utilization is only known for the executions which
+ * reported their CPU time (see
+ * {@link at.uibk.dps.sc.core.interpreter.EnactmentFunctionMonitored}); as long as
+ * not enough such executions were observed, each task occupies one slot.
+ */
+@Singleton
+public class CapacityCalculatorObservedLoad extends CapacityCalculatorAbstract {
+
+  /**
+   * The utilization assumed for functions which (nearly) never use the CPU (they
+   * still occupy memory, connections, etc.).
+   */
+  protected static final double minUtilization = 0.1;
+
+  protected final ExecutionStatistics statistics;
+  protected final int maximalTaskNumber;
+  protected final int minObservations;
+
+  /**
+   * Injection constructor.
+   * 
+   * @param statistics the statistics of the observed executions
+   * @param maximalTaskNumber the number of CPU-bound tasks which can be
+   *        processed concurrently on a resource with limited capacity
+   * @param minObservations the number of observed executions required before
+   *        the observations are used
+   */
+  @Inject
+  public CapacityCalculatorObservedLoad(final ExecutionStatistics statistics,
+      @Constant(value = "maxTaskNumber",
+          namespace = CapacityCalculatorTaskNumber.class) final int maximalTaskNumber,
+      @Constant(value = "minObservations",
+          namespace = CapacityCalculatorObservedLoad.class) final int minObservations) {
+    this.statistics = statistics;
+    this.maximalTaskNumber = maximalTaskNumber;
+    this.minObservations = minObservations;
+  }
+
+  @Override
+  protected double getNonTrivialCapacityFraction(final Task task, final Resource res) {
+    final String typeId = PropertyServiceFunction.getTypeId(task);
+    if (statistics.getCpuObservationNumber(typeId, res.getId()) < Math.max(minObservations, 1)) {
+      return 1.0 / maximalTaskNumber;
+    }
+    final Estimate estimate = statistics.getEstimate(typeId, res.getId());
+    final double utilization = Math.max(estimate.getCpuUtilization(), minUtilization);
+    return Math.min(utilization / maximalTaskNumber, 1.0);
+  }
+}
@@ -0,0 +1,75 @@
+package at.uibk.dps.sc.core.capacity;
+
+import org.opt4j.core.start.Constant;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import at.uibk.dps.ee.model.graph.EnactmentSpecification;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
+import at.uibk.dps.ee.model.properties.PropertyServiceResource;
+import at.uibk.dps.sc.core.UtilsScheduling;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * {@link CapacityCalculator} considering multiple capacity dimensions: the CPU
+ * and memory demands of the tasks (annotated on the tasks of the specification)
+ * are compared against the CPU and memory offered by the resources; in
+ * addition, each resource offers a maximal number of concurrency slots. The
+ * scalar capacity fraction is the dominant share of the task demand.
+ */
+@Singleton
+public class CapacityCalculatorResourceDemand extends CapacityCalculatorAbstract {
+
+  protected final EnactmentSpecification specification;
+  protected final int maximalTaskNumber;
+
+  /**
+   * Injection constructor.
+   * 
+   * @param specProvider the specification provider
+   * @param maximalTaskNumber the number of concurrency slots of each resource
+   *        with limited capacity
+   */
+  @Inject
+  public CapacityCalculatorResourceDemand(final SpecificationProvider specProvider,
+      @Constant(value = "maxTaskNumber",
+          namespace = CapacityCalculatorTaskNumber.class) final int maximalTaskNumber) {
+    this.specification = specProvider.getSpecification();
+    this.maximalTaskNumber = maximalTaskNumber;
+  }
+
+  @Override
+  protected double getNonTrivialCapacityFraction(final Task task, final Resource res) {
+    return getNonTrivialDemand(task).getDominantShare(getCapacity(res));
+  }
+
+  @Override
+  public CapacityVector getDemand(final Task task, final Resource resource) {
+    if (!PropertyServiceResource.hasLimitedCapacity(resource)
+        || PropertyServiceFunction.hasNegligibleWorkload(task)) {
+      return CapacityVector.ZERO;
+    }
+    return getNonTrivialDemand(task);
+  }
+
+  @Override
+  public CapacityVector getCapacity(final Resource resource) {
+    return new CapacityVector(PropertyServiceCapacity.getCpuCapacity(resource),
+        PropertyServiceCapacity.getMemoryCapacity(resource), 1.0);
+  }
+
+  /**
+   * Returns the demand of the given task (with non-negligible workload) on a
+   * resource with limited capacity.
+   * 
+   * @param task the given task
+   * @return the demand of the given task
+   */
+  protected CapacityVector getNonTrivialDemand(final Task task) {
+    final Task original =
+        UtilsScheduling.getOriginalTask(task, specification.getEnactmentGraph());
+    return new CapacityVector(PropertyServiceCapacity.getCpuDemand(original),
+        PropertyServiceCapacity.getMemoryDemand(original), 1.0 / maximalTaskNumber);
+  }
+}
@@ -0,0 +1,156 @@
+package at.uibk.dps.sc.core.capacity;
+
+/**
+ * Immutable vector describing an amount of resource capacity in multiple
+ * dimensions: the CPU (cores), the memory (MB), and the concurrency slots
+ * (fraction of the slots of a resource; a resource offers a total of 1.0). A
+ * dimension which is not constrained is described by
+ * {@link Double#POSITIVE_INFINITY}.
+ */
+public final class CapacityVector {
+
+  /**
+   * Tolerance for rounding errors when comparing running totals.
+   */
+  protected static final double epsilon = 1E-9;
+
+  /**
+   * The vector describing no capacity/demand.
+   */
+  public static final CapacityVector ZERO = new CapacityVector(0.0, 0.0, 0.0);
+
+  protected final double cpu;
+  protected final double memory;
+  protected final double slots;
+
+  /**
+   * Default constructor.
+   * 
+   * @param cpu the CPU cores
+   * @param memory the memory in MB
+   * @param slots the fraction of the concurrency slots
+   */
+  public CapacityVector(final double cpu, final double memory, final double slots) {
+    this.cpu = cpu;
+    this.memory = memory;
+    this.slots = slots;
+  }
+
+  /**
+   * Creates a capacity vector which only constrains the concurrency slots.
+   * 
+   * @param slots the fraction of the concurrency slots
+   * @return a capacity vector which only constrains the concurrency slots
+   */
+  public static CapacityVector slotsOnly(final double slots) {
+    return new CapacityVector(0.0, 0.0, slots);
+  }
+
+  /**
+   * Returns the sum of this vector and the given vector.
+   * 
+   * @param other the given vector
+   * @return the sum of this vector and the given vector
+   */
+  public CapacityVector add(final CapacityVector other) {
+    return new CapacityVector(cpu + other.cpu, memory + other.memory, slots + other.slots);
+  }
+
+  /**
+   * Returns the difference of this vector and the given vector.
+   * 
+   * @param other the given vector
+   * @return the difference of this vector and the given vector
+   */
+  public CapacityVector subtract(final CapacityVector other) {
+    return new CapacityVector(cpu - other.cpu, memory - other.memory, slots - other.slots);
+  }
+
+  /**
+   * Returns true iff this vector does not exceed the given capacity in any
+   * dimension.
+   * 
+   * @param capacity the given capacity
+   * @return true iff this vector does not exceed the given capacity in any
+   *         dimension
+   */
+  public boolean fitsInto(final CapacityVector capacity) {
+    return cpu <= capacity.cpu + epsilon && memory <= capacity.memory + epsilon
+        && slots <= capacity.slots + epsilon;
+  }
+
+  /**
+   * Returns how many times the given demand fits into this (free) capacity,
+   * limited by the given maximum.
+   * 
+   * @param demand the given demand
+   * @param max the maximal number of interest
+   * @return how many times the given demand fits into this capacity (at most
+   *         the given maximum)
+   */
+  public int getFittingNumber(final CapacityVector demand, final int max) {
+    return (int) Math.min(max, Math.min(fitting(cpu, demand.cpu),
+        Math.min(fitting(memory, demand.memory), fitting(slots, demand.slots))));
+  }
+
+  /**
+   * Returns how many times the given demand fits into the given free capacity
+   * of a dimension.
+   * 
+   * @param free the given free capacity
+   * @param demand the given demand
+   * @return how many times the given demand fits into the given free capacity
+   */
+  protected static double fitting(final double free, final double demand) {
+    if (demand <= 0.0 || Double.isInfinite(free)) {
+      return free < -epsilon ? 0.0 : Double.POSITIVE_INFINITY;
+    }
+    return Math.max(0.0, Math.floor((free + epsilon) / demand));
+  }
+
+  /**
+   * Returns the dominant share of this vector with respect to the given
+   * capacity, i.e., the largest fraction of a dimension of the capacity which
+   * is occupied by this vector.
+   * 
+   * @param capacity the given capacity
+   * @return the dominant share of this vector with respect to the given capacity
+   */
+  public double getDominantShare(final CapacityVector capacity) {
+    return Math.max(share(cpu, capacity.cpu),
+        Math.max(share(memory, capacity.memory), share(slots, capacity.slots)));
+  }
+
+  /**
+   * Returns the share of the given capacity dimension occupied by the given
+   * demand.
+   * 
+   * @param demand the given demand
+   * @param capacity the given capacity
+   * @return the share of the given capacity dimension occupied by the given
+   *         demand
+   */
+  protected static double share(final double demand, final double capacity) {
+    if (demand <= 0.0 || Double.isInfinite(capacity)) {
+      return 0.0;
+    }
+    return capacity <= 0.0 ? Double.POSITIVE_INFINITY : demand / capacity;
+  }
+
+  public double getCpu() {
+    return cpu;
+  }
+
+  public double getMemory() {
+    return memory;
+  }
+
+  public double getSlots() {
+    return slots;
+  }
+
+  @Override
+  public String toString() {
+    return "[cpu: " + cpu + ", memory: " + memory + ", slots: " + slots + "]";
+  }
+}
@@ -0,0 +1,134 @@
+package at.uibk.dps.sc.core.capacity;
+
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * Static method class for the access of the capacity-related attributes of the
+ * tasks (demands) and the resources (capacities) of the specification.
+ */
+public final class PropertyServiceCapacity {
+
+  /**
+   * The capacity-related attributes.
+   */
+  protected enum PropertyCapacity {
+    /**
+     * The CPU cores required by a task
+     */
+    CPU_DEMAND,
+    /**
+     * The memory (MB) required by a task
+     */
+    MEMORY_DEMAND,
+    /**
+     * The CPU cores offered by a resource
+     */
+    CPU_CAPACITY,
+    /**
+     * The memory (MB) offered by a resource
+     */
+    MEMORY_CAPACITY
+  }
+
+  /**
+   * No constructor
+   */
+  private PropertyServiceCapacity() {}
+
+  /**
+   * Returns the CPU cores required by the given task (0 if not annotated).
+   * 
+   * @param task the given task
+   * @return the CPU cores required by the given task
+   */
+  public static double getCpuDemand(final Task task) {
+    return getOrDefault(task.getAttribute(PropertyCapacity.CPU_DEMAND.name()), 0.0);
+  }
+
+  /**
+   * Annotates the given task with the CPU cores it requires.
+   * 
+   * @param task the given task
+   * @param cpuDemand the required CPU cores
+   */
+  public static void setCpuDemand(final Task task, final double cpuDemand) {
+    task.setAttribute(PropertyCapacity.CPU_DEMAND.name(), cpuDemand);
+  }
+
+  /**
+   * Returns the memory (MB) required by the given task (0 if not annotated).
+   * 
+   * @param task the given task
+   * @return the memory (MB) required by the given task
+   */
+  public static double getMemoryDemand(final Task task) {
+    return getOrDefault(task.getAttribute(PropertyCapacity.MEMORY_DEMAND.name()), 0.0);
+  }
+
+  /**
+   * Annotates the given task with the memory (MB) it requires.
+   * 
+   * @param task the given task
+   * @param memoryDemand the required memory (MB)
+   */
+  public static void setMemoryDemand(final Task task, final double memoryDemand) {
+    task.setAttribute(PropertyCapacity.MEMORY_DEMAND.name(), memoryDemand);
+  }
+
+  /**
+   * Returns the CPU cores offered by the given resource (infinite if not
+   * annotated).
+   * 
+   * @param res the given resource
+   * @return the CPU cores offered by the given resource
+   */
+  public static double getCpuCapacity(final Resource res) {
+    return getOrDefault(res.getAttribute(PropertyCapacity.CPU_CAPACITY.name()),
+        Double.POSITIVE_INFINITY);
+  }
+
+  /**
+   * Annotates the given resource with the CPU cores it offers.
+   * 
+   * @param res the given resource
+   * @param cpuCapacity the offered CPU cores
+   */
+  public static void setCpuCapacity(final Resource res, final double cpuCapacity) {
+    res.setAttribute(PropertyCapacity.CPU_CAPACITY.name(), cpuCapacity);
+  }
+
+  /**
+   * Returns the memory (MB) offered by the given resource (infinite if not
+   * annotated).
+   * 
+   * @param res the given resource
+   * @return the memory (MB) offered by the given resource
+   */
+  public static double getMemoryCapacity(final Resource res) {
+    return getOrDefault(res.getAttribute(PropertyCapacity.MEMORY_CAPACITY.name()),
+        Double.POSITIVE_INFINITY);
+  }
+
+  /**
+   * Annotates the given resource with the memory (MB) it offers.
+   * 
+   * @param res the given resource
+   * @param memoryCapacity the offered memory (MB)
+   */
+  public static void setMemoryCapacity(final Resource res, final double memoryCapacity) {
+    res.setAttribute(PropertyCapacity.MEMORY_CAPACITY.name(), memoryCapacity);
+  }
+
+  /**
+   * Returns the given attribute value as double or the default value if the
+   * attribute is not set.
+   * 
+   * @param attribute the attribute value
+   * @param defaultValue the default value
+   * @return the attribute value as double
+   */
+  protected static double getOrDefault(final Object attribute, final double defaultValue) {
+    return attribute == null ? defaultValue : ((Number) attribute).doubleValue();
+  }
+}
@@ -0,0 +1,105 @@
+package at.uibk.dps.sc.core.capacity;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * Keeps the running totals of the capacity occupied on each resource, so that
+ * the check whether a task fits onto a resource does not require iterating over
+ * the tasks already placed there.
+ */
+public class ResourceOccupancy {
+
+  protected final Map<Resource, CapacityVector> occupied = new HashMap<>();
+  protected final Map<Resource, Map<Task, CapacityVector>> charged = new HashMap<>();
+
+  /**
+   * Charges the given demand of the given task to the given resource.
+   * 
+   * @param task the task placed on the resource
+   * @param res the resource
+   * @param demand the capacity demand of the task on the resource
+   */
+  public synchronized void charge(final Task task, final Resource res,
+      final CapacityVector demand) {
+    final CapacityVector previous =
+        charged.computeIfAbsent(res, r -> new HashMap<>()).put(task, demand);
+    CapacityVector total = getOccupied(res).add(demand);
+    if (previous != null) {
+      total = total.subtract(previous);
+    }
+    occupied.put(res, total);
+  }
+
+  /**
+   * Releases the capacity charged for the given task on the given resource.
+   * Releasing a task which was not charged has no effect.
+   * 
+   * @param task the task removed from the resource
+   * @param res the resource
+   */
+  public synchronized void release(final Task task, final Resource res) {
+    final Map<Task, CapacityVector> chargedOnRes = charged.get(res);
+    if (chargedOnRes == null || !chargedOnRes.containsKey(task)) {
+      return;
+    }
+    final CapacityVector demand = chargedOnRes.remove(task);
+    if (chargedOnRes.isEmpty()) {
+      // reset to avoid accumulating rounding errors
+      charged.remove(res);
+      occupied.remove(res);
+    } else {
+      occupied.put(res, getOccupied(res).subtract(demand));
+    }
+  }
+
+  /**
+   * Returns the capacity currently occupied on the given resource.
+   * 
+   * @param res the given resource
+   * @return the capacity currently occupied on the given resource
+   */
+  public synchronized CapacityVector getOccupied(final Resource res) {
+    return occupied.getOrDefault(res, CapacityVector.ZERO);
+  }
+
+  /**
+   * Returns the number of tasks currently charged to the given resource.
+   * 
+   * @param res the given resource
+   * @return the number of tasks currently charged to the given resource
+   */
+  public synchronized int getTaskNumber(final Resource res) {
+    final Map<Task, CapacityVector> chargedOnRes = charged.get(res);
+    return chargedOnRes == null ? 0 : chargedOnRes.size();
+  }
+
+  /**
+   * Returns the tasks currently charged to the given resource.
+   * 
+   * @param res the given resource
+   * @return a copy of the set of tasks currently charged to the given resource
+   */
+  public synchronized Set<Task> getChargedTasks(final Resource res) {
+    return new HashSet<>(charged.getOrDefault(res, Collections.emptyMap()).keySet());
+  }
+
+  /**
+   * Returns true iff the given demand fits into the capacity which is still
+   * free on the given resource.
+   * 
+   * @param res the given resource
+   * @param demand the capacity demand
+   * @param capacity the total capacity of the resource
+   * @return true iff the given demand fits onto the resource
+   */
+  public synchronized boolean fits(final Resource res, final CapacityVector demand,
+      final CapacityVector capacity) {
+    return getOccupied(res).add(demand).fitsInto(capacity);
+  }
+}
@@ -0,0 +1,156 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.List;
+import java.util.Set;
+import com.google.gson.JsonObject;
+import at.uibk.dps.ee.core.function.EnactmentFunction;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+/**
+ * {@link EnactmentFunction} processing its input with an ordered chain of
+ * alternative functions: the preferred function is started first; the next
+ * function is started when the current one exceeds its timeout or fails (in
+ * which case its timeout is cancelled). A function which timed out keeps
+ * running, so that the first successful result of any started function is used.
+ * The processing fails when all functions of the chain failed.
+ */
+public class EnactmentFunctionFallback implements EnactmentFunction {
+
+  protected final List<EnactmentFunction> chain;
+  protected final List<Long> timeoutsMs;
+  protected final Vertx vertx;
+
+  /**
+   * The state of the processing of one input.
+   */
+  protected class FallbackRun {
+    protected final JsonObject input;
+    protected final Promise<JsonObject> resultPromise;
+    protected int started;
+    protected int failed;
+    protected long timerId = -1;
+
+    protected FallbackRun(final JsonObject input, final Promise<JsonObject> resultPromise) {
+      this.input = input;
+      this.resultPromise = resultPromise;
+    }
+
+    /**
+     * Starts the next function of the chain (and its timeout).
+     */
+    protected synchronized void startNext() {
+      if (resultPromise.future().isComplete() || started >= chain.size()) {
+        return;
+      }
+      cancelTimer();
+      final int idx = started++;
+      if (idx < chain.size() - 1) {
+        timerId = vertx.setTimer(Math.max(timeoutsMs.get(idx), 1), id -> timedOut(idx));
+      }
+      chain.get(idx).processInput(input).onComplete(asyncRes -> completed(idx, asyncRes));
+    }
+
+    /**
+     * Called when the timeout of the function with the given index expires.
+     * 
+     * @param idx the index of the function
+     */
+    protected synchronized void timedOut(final int idx) {
+      if (idx == started - 1) {
+        timerId = -1;
+        startNext();
+      }
+    }
+
+    /**
+     * Processes the result of the function with the given index.
+     * 
+     * @param idx the index of the function
+     * @param asyncRes the result of the function
+     */
+    protected synchronized void completed(final int idx, final AsyncResult<JsonObject> asyncRes) {
+      if (asyncRes.succeeded()) {
+        if (resultPromise.tryComplete(asyncRes.result())) {
+          cancelTimer();
+        }
+        return;
+      }
+      failed++;
+      if (idx == started - 1) {
+        // the current function failed -> fail over without waiting for its timeout
+        cancelTimer();
+        startNext();
+      }
+      if (failed == chain.size()) {
+        resultPromise.tryFail(asyncRes.cause());
+      }
+    }
+
+    /**
+     * Cancels the running timeout (if any).
+     */
+    protected void cancelTimer() {
+      if (timerId != -1) {
+        vertx.cancelTimer(timerId);
+        timerId = -1;
+      }
+    }
+  }
+
+  /**
+   * Default constructor.
+   * 
+   * @param chain the functions, in the order of preference
+   * @param timeoutsMs the timeouts of the functions (the timeout of the last
+   *        function is ignored)
+   * @param vertx the vertx instance used for the timers
+   */
+  public EnactmentFunctionFallback(final List<EnactmentFunction> chain,
+      final List<Long> timeoutsMs, final Vertx vertx) {
+    if (chain.isEmpty() || chain.size() != timeoutsMs.size()) {
+      throw new IllegalArgumentException("Each function of the chain requires a timeout.");
+    }
+    this.chain = chain;
+    this.timeoutsMs = timeoutsMs;
+    this.vertx = vertx;
+  }
+
+  @Override
+  public Future<JsonObject> processInput(final JsonObject input) {
+    final Promise<JsonObject> resultPromise = Promise.promise();
+    new FallbackRun(input, resultPromise).startNext();
+    return resultPromise.future();
+  }
+
+  public List<EnactmentFunction> getChain() {
+    return chain;
+  }
+
+  public List<Long> getTimeoutsMs() {
+    return timeoutsMs;
+  }
+
+  @Override
+  public String getTypeId() {
+    return chain.get(0).getTypeId();
+  }
+
+  @Override
+  public String getEnactmentMode() {
+    return chain.get(0).getEnactmentMode();
+  }
+
+  @Override
+  public String getImplementationId() {
+    return chain.get(0).getImplementationId();
+  }
+
+  @Override
+  public Set<SimpleEntry<String, String>> getAdditionalAttributes() {
+    return chain.get(0).getAdditionalAttributes();
+  }
+}
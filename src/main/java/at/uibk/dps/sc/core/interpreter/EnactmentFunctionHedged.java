@@ -0,0 +1,213 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import com.google.gson.JsonObject;
+import at.uibk.dps.ee.core.function.EnactmentFunction;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+/**
+ * {@link EnactmentFunction} processing its input with a list of alternative
+ * functions (the attempts) in a hedged manner: the primary function is started
+ * immediately; the i-th alternative is started after i times the hedge delay,
+ * as long as no result is available. When an attempt fails, the next attempt is
+ * started immediately and the hedges of the remaining attempts are rescheduled
+ * relative to this start.
+ * The first successful result is used; the pending attempts are not started
+ * and the results of the attempts still running are ignored. As the attempts
+ * still running occupy their resources, the end of the whole run (all launched
+ * attempts completed) is signaled separately (see
+ * {@link #processInput(JsonObject, Promise)}).
+ */
+public class EnactmentFunctionHedged implements EnactmentFunction {
+
+  protected final List<EnactmentFunction> attempts;
+  protected final List<String> resourceIds;
+  protected final String typeId;
+  protected final long hedgeDelayMs;
+  protected final Vertx vertx;
+  protected final LatencyTracker latencyTracker;
+
+  /**
+   * The state of the processing of one input.
+   */
+  protected class HedgedRun {
+    protected final JsonObject input;
+    protected final Promise<JsonObject> resultPromise;
+    protected final Promise<Void> settledPromise;
+    protected final List<Long> timerIds = new ArrayList<>();
+    protected int launched;
+    protected int completed;
+    protected int failed;
+
+    protected HedgedRun(final JsonObject input, final Promise<JsonObject> resultPromise,
+        final Promise<Void> settledPromise) {
+      this.input = input;
+      this.resultPromise = resultPromise;
+      this.settledPromise = settledPromise;
+    }
+
+    /**
+     * Starts the next attempt (if there is no result yet).
+     */
+    protected synchronized void launchNext() {
+      if (resultPromise.future().isComplete() || launched >= attempts.size()) {
+        return;
+      }
+      final int idx = launched++;
+      final long startNs = System.nanoTime();
+      attempts.get(idx).processInput(input)
+          .onComplete(asyncRes -> attemptCompleted(idx, startNs, asyncRes));
+    }
+
+    /**
+     * Processes the result of an attempt.
+     * 
+     * @param idx the index of the attempt
+     * @param startNs the start time of the attempt
+     * @param asyncRes the result of the attempt
+     */
+    protected synchronized void attemptCompleted(final int idx, final long startNs,
+        final AsyncResult<JsonObject> asyncRes) {
+      completed++;
+      if (resultPromise.future().isComplete()) {
+        // late attempt: only its latency is of interest
+        if (asyncRes.succeeded()) {
+          latencyTracker.recordLatency(typeId, resourceIds.get(idx),
+              (System.nanoTime() - startNs) / 1E6);
+        }
+        checkSettled();
+        return;
+      }
+      if (asyncRes.succeeded()) {
+        latencyTracker.recordLatency(typeId, resourceIds.get(idx),
+            (System.nanoTime() - startNs) / 1E6);
+        if (resultPromise.tryComplete(asyncRes.result())) {
+          cancelHedges();
+        }
+      } else {
+        failed++;
+        cancelHedges();
+        if (failed == attempts.size()) {
+          resultPromise.tryFail(asyncRes.cause());
+        } else {
+          launchNext();
+          scheduleHedges();
+        }
+      }
+      checkSettled();
+    }
+
+    /**
+     * Signals the end of the run once the result is available and all launched
+     * attempts are completed (no attempt is launched after the result).
+     */
+    protected synchronized void checkSettled() {
+      if (resultPromise.future().isComplete() && completed == launched) {
+        settledPromise.tryComplete();
+      }
+    }
+
+    /**
+     * Sets the timers starting the attempts which were not launched yet (the
+     * k-th of them after k times the hedge delay).
+     */
+    protected synchronized void scheduleHedges() {
+      cancelHedges();
+      for (int k = 1; k <= attempts.size() - launched; k++) {
+        timerIds.add(vertx.setTimer(Math.max(hedgeDelayMs * k, 1), id -> launchNext()));
+      }
+    }
+
+    /**
+     * Cancels the pending timers.
+     */
+    protected synchronized void cancelHedges() {
+      timerIds.forEach(vertx::cancelTimer);
+      timerIds.clear();
+    }
+  }
+
+  /**
+   * Default constructor.
+   * 
+   * @param attempts the alternative functions (primary first)
+   * @param resourceIds the ids of the resources of the attempts
+   * @param typeId the function type
+   * @param hedgeDelayMs the delay between the starts of the attempts
+   * @param vertx the vertx instance used for the timers
+   * @param latencyTracker the tracker where the latencies are recorded
+   */
+  public EnactmentFunctionHedged(final List<EnactmentFunction> attempts,
+      final List<String> resourceIds, final String typeId, final long hedgeDelayMs,
+      final Vertx vertx, final LatencyTracker latencyTracker) {
+    if (attempts.isEmpty() || attempts.size() != resourceIds.size()) {
+      throw new IllegalArgumentException("Each attempt requires exactly one resource id.");
+    }
+    this.attempts = attempts;
+    this.resourceIds = resourceIds;
+    this.typeId = typeId;
+    this.hedgeDelayMs = hedgeDelayMs;
+    this.vertx = vertx;
+    this.latencyTracker = latencyTracker;
+  }
+
+  @Override
+  public Future<JsonObject> processInput(final JsonObject input) {
+    return processInput(input, Promise.promise());
+  }
+
+  /**
+   * Processes the given input, additionally signaling when all launched
+   * attempts are completed (which may be after the result is available, since
+   * the attempts which lost the race are not aborted).
+   * 
+   * @param input the given input
+   * @param settledPromise the promise completed once all launched attempts are
+   *        completed
+   * @return the future of the first successful result (or of the last failure)
+   */
+  public Future<JsonObject> processInput(final JsonObject input,
+      final Promise<Void> settledPromise) {
+    final Promise<JsonObject> resultPromise = Promise.promise();
+    final HedgedRun run = new HedgedRun(input, resultPromise, settledPromise);
+    synchronized (run) {
+      run.launchNext();
+      run.scheduleHedges();
+    }
+    return resultPromise.future();
+  }
+
+  public List<EnactmentFunction> getAttempts() {
+    return attempts;
+  }
+
+  public long getHedgeDelayMs() {
+    return hedgeDelayMs;
+  }
+
+  @Override
+  public String getTypeId() {
+    return attempts.get(0).getTypeId();
+  }
+
+  @Override
+  public String getEnactmentMode() {
+    return attempts.get(0).getEnactmentMode();
+  }
+
+  @Override
+  public String getImplementationId() {
+    return attempts.get(0).getImplementationId();
+  }
+
+  @Override
+  public Set<SimpleEntry<String, String>> getAdditionalAttributes() {
+    return attempts.get(0).getAdditionalAttributes();
+  }
+}
@@ -0,0 +1,90 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Set;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import at.uibk.dps.ee.core.function.EnactmentFunction;
+import at.uibk.dps.sc.core.ConstantsScheduling;
+import at.uibk.dps.sc.core.ExecutionStatistics;
+import io.vertx.core.Future;
+
+/**
+ * Decorator for an {@link EnactmentFunction} which records the runtime and the
+ * CPU time of each successful execution in the {@link ExecutionStatistics}.
+ * The runtime is the wall-clock time until the future of the execution is
+ * completed. The work is (in general) not done on the calling thread, so that
+ * the CPU time can only be taken from the function itself: It is recorded if
+ * the output contains the entry {@link ConstantsScheduling#jsonKeyCpuTime};
+ * otherwise, only the runtime is recorded.
+ */
+public class EnactmentFunctionMonitored implements EnactmentFunction {
+
+  protected final EnactmentFunction decorated;
+  protected final ExecutionStatistics statistics;
+  protected final String typeId;
+  protected final String resourceId;
+
+  /**
+   * Default constructor.
+   * 
+   * @param decorated the decorated function
+   * @param statistics the statistics where the executions are recorded
+   * @param typeId the type of the function
+   * @param resourceId the id of the resource where the function is executed
+   */
+  public EnactmentFunctionMonitored(final EnactmentFunction decorated,
+      final ExecutionStatistics statistics, final String typeId, final String resourceId) {
+    this.decorated = decorated;
+    this.statistics = statistics;
+    this.typeId = typeId;
+    this.resourceId = resourceId;
+  }
+
+  @Override
+  public Future<JsonObject> processInput(final JsonObject input) {
+    final long startNs = System.nanoTime();
+    return decorated.processInput(input).onSuccess(output -> statistics.recordExecution(typeId,
+        resourceId, (System.nanoTime() - startNs) / 1E6, getReportedCpuTime(output)));
+  }
+
+  /**
+   * Returns the CPU time (in ms) reported in the given function output.
+   * 
+   * @param output the function output
+   * @return the reported CPU time in ms (NaN if not reported)
+   */
+  protected static double getReportedCpuTime(final JsonObject output) {
+    if (output == null || !output.has(ConstantsScheduling.jsonKeyCpuTime)) {
+      return Double.NaN;
+    }
+    final JsonElement cpuTime = output.get(ConstantsScheduling.jsonKeyCpuTime);
+    return cpuTime.isJsonPrimitive() && cpuTime.getAsJsonPrimitive().isNumber()
+        ? cpuTime.getAsDouble()
+        : Double.NaN;
+  }
+
+  public EnactmentFunction getDecorated() {
+    return decorated;
+  }
+
+  @Override
+  public String getTypeId() {
+    return decorated.getTypeId();
+  }
+
+  @Override
+  public String getEnactmentMode() {
+    return decorated.getEnactmentMode();
+  }
+
+  @Override
+  public String getImplementationId() {
+    return decorated.getImplementationId();
+  }
+
+  @Override
+  public Set<SimpleEntry<String, String>> getAdditionalAttributes() {
+    return decorated.getAdditionalAttributes();
+  }
+}
@@ -0,0 +1,68 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Set;
+import java.util.function.Supplier;
+import com.google.gson.JsonObject;
+import at.uibk.dps.ee.core.function.EnactmentFunction;
+import io.vertx.core.Future;
+
+/**
+ * The {@link EnactmentFunction} created for each task processed with pooled
+ * functions. Each execution borrows a function from the {@link FunctionPool}
+ * (so that concurrent executions never share a function) and gives it back
+ * when the execution completed successfully. Functions whose execution failed
+ * are dropped, since their client/connection state may be broken.
+ */
+public class EnactmentFunctionPooled implements EnactmentFunction {
+
+  protected final FunctionPool pool;
+  protected final Supplier<EnactmentFunction> creator;
+  protected final String typeId;
+  protected final String enactmentMode;
+  protected final String implementationId;
+  protected final Set<SimpleEntry<String, String>> additionalAttributes;
+
+  /**
+   * Default constructor.
+   * 
+   * @param pool the pool of the functions used for the executions
+   * @param creator the creator used when the pool is empty
+   * @param template a function from the pool, providing the function metadata
+   */
+  public EnactmentFunctionPooled(final FunctionPool pool,
+      final Supplier<EnactmentFunction> creator, final EnactmentFunction template) {
+    this.pool = pool;
+    this.creator = creator;
+    this.typeId = template.getTypeId();
+    this.enactmentMode = template.getEnactmentMode();
+    this.implementationId = template.getImplementationId();
+    this.additionalAttributes = template.getAdditionalAttributes();
+  }
+
+  @Override
+  public Future<JsonObject> processInput(final JsonObject input) {
+    final EnactmentFunction function = pool.borrow(creator);
+    return function.processInput(input).onSuccess(output -> pool.giveBack(function));
+  }
+
+  @Override
+  public String getTypeId() {
+    return typeId;
+  }
+
+  @Override
+  public String getEnactmentMode() {
+    return enactmentMode;
+  }
+
+  @Override
+  public String getImplementationId() {
+    return implementationId;
+  }
+
+  @Override
+  public Set<SimpleEntry<String, String>> getAdditionalAttributes() {
+    return additionalAttributes;
+  }
+}
@@ -0,0 +1,81 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Set;
+import com.google.gson.JsonObject;
+import at.uibk.dps.ee.core.function.EnactmentFunction;
+import at.uibk.dps.sc.core.ScheduleModel;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import net.sf.opendse.model.Task;
+
+/**
+ * Decorator for the {@link EnactmentFunction} of a scheduled user task which
+ * releases the task from the {@link ScheduleModel} (and, thereby, frees the
+ * capacity it occupies on its resources) as soon as the execution is completed,
+ * be it successfully or not. For an {@link EnactmentFunctionHedged}, the task is
+ * only released once all its launched attempts are completed, since the
+ * attempts which lost the race keep using their resources.
+ */
+public class EnactmentFunctionReleasing implements EnactmentFunction {
+
+  protected final EnactmentFunction decorated;
+  protected final Task task;
+  protected final ScheduleModel scheduleModel;
+
+  /**
+   * Default constructor.
+   *
+   * @param decorated the decorated function
+   * @param task the task processed by the function
+   * @param scheduleModel the schedule model where the task is released
+   */
+  public EnactmentFunctionReleasing(final EnactmentFunction decorated, final Task task,
+      final ScheduleModel scheduleModel) {
+    this.decorated = decorated;
+    this.task = task;
+    this.scheduleModel = scheduleModel;
+  }
+
+  @Override
+  public Future<JsonObject> processInput(final JsonObject input) {
+    final Future<JsonObject> result;
+    try {
+      if (decorated instanceof EnactmentFunctionHedged) {
+        final Promise<Void> settledPromise = Promise.promise();
+        result = ((EnactmentFunctionHedged) decorated).processInput(input, settledPromise);
+        settledPromise.future().onComplete(asyncRes -> scheduleModel.releaseTask(task));
+        return result;
+      }
+      result = decorated.processInput(input);
+    } catch (RuntimeException exc) {
+      scheduleModel.releaseTask(task);
+      throw exc;
+    }
+    return result.onComplete(asyncRes -> scheduleModel.releaseTask(task));
+  }
+
+  public EnactmentFunction getDecorated() {
+    return decorated;
+  }
+
+  @Override
+  public String getTypeId() {
+    return decorated.getTypeId();
+  }
+
+  @Override
+  public String getEnactmentMode() {
+    return decorated.getEnactmentMode();
+  }
+
+  @Override
+  public String getImplementationId() {
+    return decorated.getImplementationId();
+  }
+
+  @Override
+  public Set<SimpleEntry<String, String>> getAdditionalAttributes() {
+    return decorated.getAdditionalAttributes();
+  }
+}
@@ -0,0 +1,69 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import at.uibk.dps.ee.core.function.EnactmentFunction;
+
+/**
+ * Thread-safe pool of idle {@link EnactmentFunction}s (and, thereby, of the
+ * clients/connections they hold) which can be used interchangeably. A borrowed
+ * function is used exclusively by the borrower until it is given back. Idle
+ * functions are reused in LIFO order, so that the most recently used (warm)
+ * function is borrowed first. The number of idle functions is bounded;
+ * functions given back to a full pool are dropped.
+ */
+public class FunctionPool {
+
+  protected final Deque<EnactmentFunction> idleFunctions = new ConcurrentLinkedDeque<>();
+  protected final AtomicInteger idleNumber = new AtomicInteger();
+  protected final int maxIdleNumber;
+
+  /**
+   * Default constructor.
+   * 
+   * @param maxIdleNumber the maximal number of idle functions kept in the pool
+   */
+  public FunctionPool(final int maxIdleNumber) {
+    this.maxIdleNumber = maxIdleNumber;
+  }
+
+  /**
+   * Takes the most recently given back idle function from the pool. If there is none, a new function is
+   * created with the given creator (without blocking other borrowers).
+   * 
+   * @param creator the creator used if the pool is empty
+   * @return a function for the exclusive use of the caller
+   */
+  public EnactmentFunction borrow(final Supplier<EnactmentFunction> creator) {
+    final EnactmentFunction idle = idleFunctions.pollFirst();
+    if (idle == null) {
+      return creator.get();
+    }
+    idleNumber.decrementAndGet();
+    return idle;
+  }
+
+  /**
+   * Gives the given function back to the pool (or drops it if the pool is full).
+   * 
+   * @param function the function which is not used anymore
+   */
+  public void giveBack(final EnactmentFunction function) {
+    if (idleNumber.incrementAndGet() > maxIdleNumber) {
+      idleNumber.decrementAndGet();
+      return;
+    }
+    idleFunctions.push(function);
+  }
+
+  /**
+   * Returns the number of idle functions in the pool.
+   * 
+   * @return the number of idle functions in the pool
+   */
+  public int getIdleNumber() {
+    return idleNumber.get();
+  }
+}
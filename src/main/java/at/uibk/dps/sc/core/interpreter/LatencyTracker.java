@@ -0,0 +1,129 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Tracks the latencies of the recent executions of each function type on each
+ * resource. For each pair, the latencies are kept in a sample window of fixed
+ * size (ring buffer), so that the memory is bounded while the percentiles
+ * follow the current behavior.
+ */
+@Singleton
+public class LatencyTracker {
+
+  /**
+   * Default number of samples kept per (function type, resource) pair.
+   */
+  protected static final int defaultWindowSize = 128;
+
+  protected final int windowSize;
+  protected final ConcurrentHashMap<String, SampleWindow> windows = new ConcurrentHashMap<>();
+
+  /**
+   * Ring buffer with the latest samples of one pair.
+   */
+  protected static class SampleWindow {
+    protected final double[] samples;
+    protected int next;
+    protected int size;
+
+    protected SampleWindow(final int windowSize) {
+      this.samples = new double[windowSize];
+    }
+
+    protected synchronized void add(final double sample) {
+      samples[next] = sample;
+      next = (next + 1) % samples.length;
+      size = Math.min(size + 1, samples.length);
+    }
+
+    protected synchronized int getSize() {
+      return size;
+    }
+
+    protected synchronized double[] getSorted() {
+      final double[] result = Arrays.copyOf(samples, size);
+      Arrays.sort(result);
+      return result;
+    }
+  }
+
+  /**
+   * Injection constructor.
+   */
+  @Inject
+  public LatencyTracker() {
+    this(defaultWindowSize);
+  }
+
+  /**
+   * Constructor to configure the window size.
+   * 
+   * @param windowSize the number of samples kept per pair
+   */
+  public LatencyTracker(final int windowSize) {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("The window size must be positive.");
+    }
+    this.windowSize = windowSize;
+  }
+
+  /**
+   * Records the latency of an execution.
+   * 
+   * @param typeId the function type
+   * @param resourceId the resource id
+   * @param latencyMs the latency in ms
+   */
+  public void recordLatency(final String typeId, final String resourceId, final double latencyMs) {
+    windows.computeIfAbsent(getKey(typeId, resourceId), k -> new SampleWindow(windowSize))
+        .add(latencyMs);
+  }
+
+  /**
+   * Returns the number of samples currently available for the given pair.
+   * 
+   * @param typeId the function type
+   * @param resourceId the resource id
+   * @return the number of samples currently available for the given pair
+   */
+  public int getSampleNumber(final String typeId, final String resourceId) {
+    final SampleWindow window = windows.get(getKey(typeId, resourceId));
+    return window == null ? 0 : window.getSize();
+  }
+
+  /**
+   * Returns the given percentile of the latencies in the sample window of the
+   * given pair (nearest-rank method).
+   * 
+   * @param typeId the function type
+   * @param resourceId the resource id
+   * @param percentile the percentile (between 0 and 100)
+   * @return the given percentile of the latencies in ms
+   */
+  public double getPercentile(final String typeId, final String resourceId,
+      final double percentile) {
+    final SampleWindow window = windows.get(getKey(typeId, resourceId));
+    final double[] sorted = window == null ? new double[0] : window.getSorted();
+    if (sorted.length == 0) {
+      throw new IllegalArgumentException(
+          "No latencies recorded for type " + typeId + " on resource " + resourceId);
+    }
+    final int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+    return sorted[Math.min(Math.max(rank, 1), sorted.length) - 1];
+  }
+
+  /**
+   * Returns the key used for the given function type and resource.
+   * 
+   * @param typeId the function type
+   * @param resourceId the resource id
+   * @return the key used for the given function type and resource
+   */
+  protected static String getKey(final String typeId, final String resourceId) {
+    return typeId + "--" + resourceId;
+  }
+}
@@ -5,6 +5,7 @@ import com.google.inject.Inject;
 import at.uibk.dps.ee.core.function.EnactmentFunction;
 import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
 import at.uibk.dps.ee.model.properties.PropertyServiceFunction.UsageType;
+import at.uibk.dps.sc.core.ScheduleModel;
 import net.sf.opendse.model.Mapping;
 import net.sf.opendse.model.Resource;
 import net.sf.opendse.model.Task;
@@ -20,6 +21,7 @@ public class ScheduleInterpreterAll implements ScheduleInterpreter {
 
   protected final ScheduleInterpreterEE interpreterEE;
   protected final ScheduleInterpreterUser interpreterUser;
+  protected ScheduleModel taskSchedules;
 
   /**
    * Injection constructor.
@@ -36,12 +38,31 @@ public class ScheduleInterpreterAll implements ScheduleInterpreter {
     this.interpreterUser = interpreterUser;
   }
 
+  /**
+   * Sets the schedule model where the user tasks are released when their
+   * execution is completed (so that the capacity they occupy is freed for the
+   * waiting tasks).
+   * 
+   * @param taskSchedules the schedule model
+   */
+  @Inject(optional = true)
+  public void setTaskSchedules(final ScheduleModel taskSchedules) {
+    this.taskSchedules = taskSchedules;
+  }
+
   @Override
   public EnactmentFunction interpretSchedule(final Task task,
       final Set<Mapping<Task, Resource>> scheduleModel) {
     final UsageType usage = PropertyServiceFunction.getUsageType(task);
     if (usage.equals(UsageType.User)) {
-      return interpreterUser.interpretSchedule(task, scheduleModel);
+      final EnactmentFunction function = interpreterUser.interpretSchedule(task, scheduleModel);
+      if (taskSchedules == null) {
+        return function;
+      }
+      if (!taskSchedules.isScheduled(task)) {
+        taskSchedules.setTaskSchedule(task, scheduleModel);
+      }
+      return new EnactmentFunctionReleasing(function, task, taskSchedules);
     } else if (usage.equals(UsageType.DataFlow) || usage.equals(UsageType.Utility)) {
       return interpreterEE.interpretSchedule(task, scheduleModel);
     } else {
@@ -0,0 +1,55 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import java.util.Set;
+import com.google.inject.Inject;
+import at.uibk.dps.ee.core.function.EnactmentFunction;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction.UsageType;
+import at.uibk.dps.sc.core.ExecutionStatistics;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * The {@link ScheduleInterpreterMonitored} interprets the schedules like the
+ * {@link ScheduleInterpreterAll}, but decorates the functions of user tasks
+ * (scheduled onto a single resource) so that their executions are recorded in
+ * the {@link ExecutionStatistics}. Tasks scheduled onto multiple resources are
+ * not monitored, since their runtime cannot be attributed to one resource; the
+ * capacity of their function types is, hence, only derived from the executions
+ * with single-resource schedules. It decorates the interpreter of the user
+ * tasks selected by the interpreter mode and is bound by the
+ * {@link at.uibk.dps.sc.core.modules.SchedulerModule} when the executions are
+ * monitored.
+ */
+public class ScheduleInterpreterMonitored implements ScheduleInterpreter {
+
+  protected final ScheduleInterpreterAll interpreterAll;
+  protected final ExecutionStatistics statistics;
+
+  /**
+   * Injection constructor.
+   * 
+   * @param interpreterAll the interpreter creating the actual functions
+   * @param statistics the statistics where the executions are recorded
+   */
+  @Inject
+  public ScheduleInterpreterMonitored(final ScheduleInterpreterAll interpreterAll,
+      final ExecutionStatistics statistics) {
+    this.interpreterAll = interpreterAll;
+    this.statistics = statistics;
+  }
+
+  @Override
+  public EnactmentFunction interpretSchedule(final Task task,
+      final Set<Mapping<Task, Resource>> scheduleModel) {
+    final EnactmentFunction function = interpreterAll.interpretSchedule(task, scheduleModel);
+    if (!PropertyServiceFunction.getUsageType(task).equals(UsageType.User)
+        || scheduleModel.size() != 1) {
+      return function;
+    }
+    final Resource target = scheduleModel.iterator().next().getTarget();
+    return new EnactmentFunctionMonitored(function, statistics,
+        PropertyServiceFunction.getTypeId(task), target.getId());
+  }
+}
@@ -1,6 +1,7 @@
 package at.uibk.dps.sc.core.interpreter;
 
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import at.uibk.dps.ee.core.function.EnactmentFunction;
 import at.uibk.dps.ee.enactables.FactoryInputUser;
@@ -19,6 +20,11 @@ public abstract class ScheduleInterpreterUser implements ScheduleInterpreter {
 
   protected final Set<FunctionFactoryUser> userFactories;
 
+  // The factory resolved for each mapping (the mapping fixes both the function
+  // type (via its source task from the spec) and the resource)
+  protected final ConcurrentHashMap<String, FunctionFactoryUser> resolvedFactories =
+      new ConcurrentHashMap<>();
+
   /**
    * Default constructor.
    * 
@@ -62,16 +68,28 @@ public abstract class ScheduleInterpreterUser implements ScheduleInterpreter {
   protected EnactmentFunction getFunctionForMapping(final Task task,
       final Mapping<Task, Resource> mapping) {
     final FactoryInputUser factoryInput = new FactoryInputUser(task, mapping);
+    final FunctionFactoryUser factory = resolvedFactories.computeIfAbsent(mapping.getId(),
+        mappingId -> resolveFactory(factoryInput));
+    return factory.makeFunction(factoryInput);
+  }
+
+  /**
+   * Scans the user factories for the factory applicable to the given factory
+   * input. Throws an exception if there is not exactly one applicable factory.
+   * 
+   * @param factoryInput the given factory input
+   * @return the factory applicable to the given factory input
+   */
+  protected FunctionFactoryUser resolveFactory(final FactoryInputUser factoryInput) {
     final Set<FunctionFactoryUser> applicableFactories = userFactories.stream(). //
         filter(uFactory -> uFactory.isApplicable(factoryInput)). //
         collect(Collectors.toSet());
     if (applicableFactories.size() != 1) {
-      throw new IllegalStateException(
-          "Not exactly one factory for task " + task.getId() + "; mapping " + mapping.getId()
-              + ". Number of factories: " + applicableFactories.size());
+      throw new IllegalStateException("Not exactly one factory for task "
+          + factoryInput.getTask().getId() + "; mapping " + factoryInput.getMapping().getId()
+          + ". Number of factories: " + applicableFactories.size());
     }
-    final FunctionFactoryUser factory = applicableFactories.iterator().next();
-    return factory.makeFunction(factoryInput);
+    return applicableFactories.iterator().next();
   }
 
   /**
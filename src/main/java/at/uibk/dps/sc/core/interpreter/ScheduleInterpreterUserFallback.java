@@ -0,0 +1,118 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.opt4j.core.start.Constant;
+import com.google.inject.Inject;
+import at.uibk.dps.ee.core.function.EnactmentFunction;
+import at.uibk.dps.ee.enactables.FunctionFactoryUser;
+import at.uibk.dps.ee.guice.starter.VertxProvider;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
+import at.uibk.dps.ee.model.properties.PropertyServiceResource;
+import at.uibk.dps.sc.core.ExecutionStatistics;
+import at.uibk.dps.sc.core.ExecutionStatistics.Estimate;
+import io.vertx.core.Vertx;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * The {@link ScheduleInterpreterUserFallback} turns a schedule with multiple
+ * mappings into an {@link EnactmentFunctionFallback}. The mappings onto
+ * resources with limited capacity (e.g., edge devices) are preferred; mappings
+ * with the same capacity type are ordered by their observed runtime. The
+ * timeout of each mapping is derived from its observed runtimes (expected
+ * runtime plus two standard deviations, multiplied by the timeout factor); a
+ * default timeout is used for mappings without observations. The runtimes of
+ * the functions in the chain are recorded in the {@link ExecutionStatistics}.
+ */
+public class ScheduleInterpreterUserFallback extends ScheduleInterpreterUser {
+
+  protected final Vertx vertx;
+  protected final ExecutionStatistics statistics;
+  protected final double timeoutFactor;
+  protected final int defaultTimeoutMs;
+
+  /**
+   * Injection constructor.
+   * 
+   * @param userFactories the factories for the user functions
+   * @param vertxProvider the vertx provider
+   * @param statistics the statistics of the observed executions
+   * @param timeoutFactor the factor applied to the observed runtime to get the
+   *        timeout
+   * @param defaultTimeoutMs the timeout for mappings without observations
+   */
+  @Inject
+  public ScheduleInterpreterUserFallback(final Set<FunctionFactoryUser> userFactories,
+      final VertxProvider vertxProvider, final ExecutionStatistics statistics,
+      @Constant(namespace = ScheduleInterpreterUserFallback.class,
+          value = "timeoutFactor") final double timeoutFactor,
+      @Constant(namespace = ScheduleInterpreterUserFallback.class,
+          value = "defaultTimeout") final int defaultTimeoutMs) {
+    super(userFactories);
+    this.vertx = vertxProvider.getVertx();
+    this.statistics = statistics;
+    this.timeoutFactor = timeoutFactor;
+    this.defaultTimeoutMs = defaultTimeoutMs;
+  }
+
+  @Override
+  protected EnactmentFunction interpretScheduleUser(final Task task,
+      final Set<Mapping<Task, Resource>> scheduleModel) {
+    if (scheduleModel.size() == 1) {
+      return getFunctionForMapping(task, scheduleModel.iterator().next());
+    }
+    final String typeId = PropertyServiceFunction.getTypeId(task);
+    final List<Mapping<Task, Resource>> ordered = scheduleModel.stream()
+        .sorted(Comparator
+            .comparing(
+                (Mapping<Task, Resource> m) -> !PropertyServiceResource.hasLimitedCapacity(m.getTarget()))
+            .thenComparingDouble(m -> getExpectedRuntime(typeId, m))
+            .thenComparing(Mapping::getId))
+        .collect(Collectors.toList());
+    final List<EnactmentFunction> chain = new ArrayList<>();
+    final List<Long> timeouts = new ArrayList<>();
+    ordered.forEach(mapping -> {
+      final String resId = mapping.getTarget().getId();
+      chain.add(new EnactmentFunctionMonitored(getFunctionForMapping(task, mapping), statistics,
+          typeId, resId));
+      timeouts.add(getTimeout(typeId, resId));
+    });
+    return new EnactmentFunctionFallback(chain, timeouts, vertx);
+  }
+
+  /**
+   * Returns the timeout for the execution of the given function type on the
+   * given resource.
+   * 
+   * @param typeId the function type
+   * @param resourceId the resource id
+   * @return the timeout in ms
+   */
+  protected long getTimeout(final String typeId, final String resourceId) {
+    if (statistics.getObservationNumber(typeId, resourceId) == 0) {
+      return defaultTimeoutMs;
+    }
+    final Estimate estimate = statistics.getEstimate(typeId, resourceId);
+    return Math.round(
+        timeoutFactor * (estimate.getRuntimeMs() + 2 * estimate.getRuntimeStdDeviation()));
+  }
+
+  /**
+   * Returns the expected runtime of the given mapping (infinity if nothing was
+   * observed).
+   * 
+   * @param typeId the function type
+   * @param mapping the given mapping
+   * @return the expected runtime of the given mapping in ms
+   */
+  protected double getExpectedRuntime(final String typeId, final Mapping<Task, Resource> mapping) {
+    final String resId = mapping.getTarget().getId();
+    return statistics.getObservationNumber(typeId, resId) == 0 ? Double.POSITIVE_INFINITY
+        : statistics.getEstimate(typeId, resId).getRuntimeMs();
+  }
+}
@@ -0,0 +1,114 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.opt4j.core.start.Constant;
+import com.google.inject.Inject;
+import at.uibk.dps.ee.core.function.EnactmentFunction;
+import at.uibk.dps.ee.enactables.FunctionFactoryUser;
+import at.uibk.dps.ee.guice.starter.VertxProvider;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
+import io.vertx.core.Vertx;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * The {@link ScheduleInterpreterUserHedged} turns a schedule with multiple
+ * mappings into an {@link EnactmentFunctionHedged}, which starts the mappings
+ * one after another (with a hedge delay) and uses the first result. The
+ * mapping with the lowest observed median latency is used as primary. The hedge
+ * delay is either fixed or the given percentile of the observed latencies of
+ * the primary mapping (once enough latencies were observed).
+ */
+public class ScheduleInterpreterUserHedged extends ScheduleInterpreterUser {
+
+  /**
+   * The number of observed latencies required to use the latency percentile as
+   * hedge delay.
+   */
+  protected static final int minSamples = 10;
+
+  protected final Vertx vertx;
+  protected final LatencyTracker latencyTracker;
+  protected final int hedgeDelayMs;
+  protected final double hedgePercentile;
+
+  /**
+   * Injection constructor.
+   * 
+   * @param userFactories the factories for the user functions
+   * @param vertxProvider the vertx provider
+   * @param latencyTracker the tracker of the observed latencies
+   * @param hedgeDelayMs the (fixed) hedge delay in ms
+   * @param hedgePercentile the percentile of the observed latencies used as
+   *        hedge delay (0 to always use the fixed delay)
+   */
+  @Inject
+  public ScheduleInterpreterUserHedged(final Set<FunctionFactoryUser> userFactories,
+      final VertxProvider vertxProvider, final LatencyTracker latencyTracker,
+      @Constant(namespace = ScheduleInterpreterUserHedged.class,
+          value = "hedgeDelay") final int hedgeDelayMs,
+      @Constant(namespace = ScheduleInterpreterUserHedged.class,
+          value = "hedgePercentile") final double hedgePercentile) {
+    super(userFactories);
+    this.vertx = vertxProvider.getVertx();
+    this.latencyTracker = latencyTracker;
+    this.hedgeDelayMs = hedgeDelayMs;
+    this.hedgePercentile = hedgePercentile;
+  }
+
+  @Override
+  protected EnactmentFunction interpretScheduleUser(final Task task,
+      final Set<Mapping<Task, Resource>> scheduleModel) {
+    if (scheduleModel.size() == 1) {
+      return getFunctionForMapping(task, scheduleModel.iterator().next());
+    }
+    final String typeId = PropertyServiceFunction.getTypeId(task);
+    final List<Mapping<Task, Resource>> ordered = scheduleModel.stream()
+        .sorted(Comparator
+            .comparingDouble((Mapping<Task, Resource> m) -> getMedianLatency(typeId, m))
+            .thenComparing(Mapping::getId))
+        .collect(Collectors.toList());
+    final List<EnactmentFunction> attempts = new ArrayList<>();
+    final List<String> resourceIds = new ArrayList<>();
+    ordered.forEach(mapping -> {
+      attempts.add(getFunctionForMapping(task, mapping));
+      resourceIds.add(mapping.getTarget().getId());
+    });
+    return new EnactmentFunctionHedged(attempts, resourceIds, typeId,
+        getHedgeDelay(typeId, resourceIds.get(0)), vertx, latencyTracker);
+  }
+
+  /**
+   * Returns the hedge delay used when the given resource is the primary.
+   * 
+   * @param typeId the function type
+   * @param primaryResourceId the id of the primary resource
+   * @return the hedge delay in ms
+   */
+  protected long getHedgeDelay(final String typeId, final String primaryResourceId) {
+    if (hedgePercentile > 0
+        && latencyTracker.getSampleNumber(typeId, primaryResourceId) >= minSamples) {
+      return Math.round(latencyTracker.getPercentile(typeId, primaryResourceId, hedgePercentile));
+    }
+    return hedgeDelayMs;
+  }
+
+  /**
+   * Returns the median observed latency of the given mapping (infinity if
+   * nothing was observed).
+   * 
+   * @param typeId the function type
+   * @param mapping the given mapping
+   * @return the median observed latency of the given mapping
+   */
+  protected double getMedianLatency(final String typeId, final Mapping<Task, Resource> mapping) {
+    final String resId = mapping.getTarget().getId();
+    return latencyTracker.getSampleNumber(typeId, resId) == 0 ? Double.POSITIVE_INFINITY
+        : latencyTracker.getPercentile(typeId, resId, 50.0);
+  }
+}
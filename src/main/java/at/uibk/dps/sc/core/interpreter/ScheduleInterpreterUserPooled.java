@@ -0,0 +1,107 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.opt4j.core.start.Constant;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import at.uibk.dps.ee.core.function.EnactmentFunction;
+import at.uibk.dps.ee.enactables.FunctionFactoryUser;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * The {@link ScheduleInterpreterUserPooled} expects schedules with exactly one
+ * mapping (like the {@link ScheduleInterpreterUserSingle}), but reuses the
+ * created {@link EnactmentFunction}s (and, thereby, their client/connection
+ * state): Each task gets its own {@link EnactmentFunctionPooled}, which borrows
+ * a function from the {@link FunctionPool} of its (function type, resource)
+ * pair for each execution. A function is thus never used by two executions at
+ * the same time. The number of idle functions kept per pair and the number of
+ * pairs are bounded (the pools of the least recently used pairs are dropped
+ * first; functions borrowed from a dropped pool are not reused anymore). Only
+ * to be used with function implementations which do not keep task-specific
+ * state between executions.
+ */
+@Singleton
+public class ScheduleInterpreterUserPooled extends ScheduleInterpreterUserSingle {
+
+  protected final Map<String, FunctionPool> functionPools;
+  protected final int poolSize;
+  protected final int maxPoolNumber;
+
+  /**
+   * Injection constructor.
+   * 
+   * @param userFactories the factories for the user functions
+   * @param poolSize the maximal number of idle functions kept for each (function
+   *        type, resource) pair
+   * @param maxPoolNumber the maximal number of (function type, resource) pairs
+   *        for which idle functions are kept
+   */
+  @Inject
+  public ScheduleInterpreterUserPooled(final Set<FunctionFactoryUser> userFactories,
+      @Constant(namespace = ScheduleInterpreterUserPooled.class,
+          value = "poolSize") final int poolSize,
+      @Constant(namespace = ScheduleInterpreterUserPooled.class,
+          value = "maxPoolNumber") final int maxPoolNumber) {
+    super(userFactories);
+    if (poolSize < 1) {
+      throw new IllegalArgumentException("The pool size must be positive.");
+    }
+    if (maxPoolNumber < 1) {
+      throw new IllegalArgumentException("The maximal pool number must be positive.");
+    }
+    this.poolSize = poolSize;
+    this.maxPoolNumber = maxPoolNumber;
+    // access order -> the eldest entry is the least recently used pool
+    this.functionPools = new LinkedHashMap<>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, FunctionPool> eldest) {
+        return size() > ScheduleInterpreterUserPooled.this.maxPoolNumber;
+      }
+    };
+  }
+
+  @Override
+  protected EnactmentFunction getFunctionForMapping(final Task task,
+      final Mapping<Task, Resource> mapping) {
+    final FunctionPool pool = getPool(getPoolKey(task, mapping));
+    final Supplier<EnactmentFunction> creator = () -> super.getFunctionForMapping(task, mapping);
+    // the functions are created outside of the map operation
+    final EnactmentFunction template = pool.borrow(creator);
+    pool.giveBack(template);
+    return new EnactmentFunctionPooled(pool, creator, template);
+  }
+
+  /**
+   * Returns the pool for the given key (created if absent), marking it as the
+   * most recently used one.
+   * 
+   * @param poolKey the key identifying the (function type, resource) pair
+   * @return the pool for the given key
+   */
+  protected FunctionPool getPool(final String poolKey) {
+    synchronized (functionPools) {
+      return functionPools.computeIfAbsent(poolKey, key -> new FunctionPool(poolSize));
+    }
+  }
+
+  /**
+   * Returns the key identifying the functions which can be reused for the given
+   * task and mapping.
+   * 
+   * @param task the given task
+   * @param mapping the given mapping
+   * @return the key identifying the (function type, resource) pair
+   */
+  protected String getPoolKey(final Task task, final Mapping<Task, Resource> mapping) {
+    return PropertyServiceFunction.getTypeId(task) + "--" + mapping.getTarget().getId();
+  }
+}
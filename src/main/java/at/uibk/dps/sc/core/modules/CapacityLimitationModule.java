@@ -2,27 +2,80 @@ package at.uibk.dps.sc.core.modules;
 
 import org.opt4j.core.config.annotations.Info;
 import org.opt4j.core.config.annotations.Order;
+import org.opt4j.core.config.annotations.Required;
 import org.opt4j.core.start.Constant;
 import at.uibk.dps.ee.guice.modules.EeModule;
 import at.uibk.dps.sc.core.capacity.CapacityCalculator;
+import at.uibk.dps.sc.core.capacity.CapacityCalculatorObservedLoad;
+import at.uibk.dps.sc.core.capacity.CapacityCalculatorResourceDemand;
 import at.uibk.dps.sc.core.capacity.CapacityCalculatorTaskNumber;
 
 /**
- * Simple module to define the maximum number of tasks which is to be placed
- * onto capacity-restricted resources.
+ * Module to configure how the capacity of capacity-restricted resources is
+ * modeled (the maximum number of tasks which is to be placed onto them and,
+ * optionally, their CPU and memory).
  * 
  * @author Fedor Smirnov
  */
 public class CapacityLimitationModule extends EeModule {
 
+  /**
+   * The model used to describe the capacity of resources.
+   * 
+   * @author Fedor Smirnov
+   */
+  public enum CapacityModel {
+    /**
+     * Each resource with limited capacity can process a fixed number of tasks
+     */
+    TaskNumber,
+    /**
+     * The CPU and memory demands annotated on the tasks are checked against the
+     * CPU and memory capacities of the resources (in addition to the task
+     * number)
+     */
+    ResourceDemand,
+    /**
+     * The capacity fraction of a task is derived from the observed CPU
+     * utilization of its function type on the resource (reported by the
+     * functions, only tasks scheduled onto a single resource are observed;
+     * requires the execution monitoring of the {@link SchedulerModule})
+     */
+    ObservedLoad
+  }
+
+  @Order(0)
+  @Info("The model used to describe the capacity of resources.")
+  public CapacityModel capacityModel = CapacityModel.TaskNumber;
+
   @Order(1)
   @Info("The maximal number of tasks which can be placed on resources with limited capacity.")
   @Constant(value = "maxTaskNumber", namespace = CapacityCalculatorTaskNumber.class)
   public int maximalTaskNumber = 4;
 
+  @Order(2)
+  @Info("The number of observed executions (reporting their CPU time) of a function type on a resource required before its capacity fraction is derived from the observations.")
+  @Constant(value = "minObservations", namespace = CapacityCalculatorObservedLoad.class)
+  @Required(property = "capacityModel", elements = "ObservedLoad")
+  public int minObservations = 3;
+
   @Override
   protected void config() {
-    bind(CapacityCalculator.class).to(CapacityCalculatorTaskNumber.class);
+    if (capacityModel.equals(CapacityModel.TaskNumber)) {
+      bind(CapacityCalculator.class).to(CapacityCalculatorTaskNumber.class);
+    } else if (capacityModel.equals(CapacityModel.ResourceDemand)) {
+      bind(CapacityCalculator.class).to(CapacityCalculatorResourceDemand.class);
+    } else if (capacityModel.equals(CapacityModel.ObservedLoad)) {
+      bind(CapacityCalculator.class).to(CapacityCalculatorObservedLoad.class);
+    }
+  }
+
+  public CapacityModel getCapacityModel() {
+    return capacityModel;
+  }
+
+  public void setCapacityModel(final CapacityModel capacityModel) {
+    this.capacityModel = capacityModel;
   }
 
   public int getMaximalTaskNumber() {
@@ -32,4 +85,12 @@ public class CapacityLimitationModule extends EeModule {
   public void setMaximalTaskNumber(final int maximalTaskNumber) {
     this.maximalTaskNumber = maximalTaskNumber;
   }
+
+  public int getMinObservations() {
+    return minObservations;
+  }
+
+  public void setMinObservations(final int minObservations) {
+    this.minObservations = minObservations;
+  }
 }
@@ -6,14 +6,27 @@ import org.opt4j.core.config.annotations.Required;
 import org.opt4j.core.start.Constant;
 import at.uibk.dps.ee.guice.modules.EeModule;
 import at.uibk.dps.sc.core.arbitration.ResourceArbiter;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiterCriticalPath;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiterEDF;
 import at.uibk.dps.sc.core.arbitration.ResourceArbiterFCFS;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiterFairShare;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiterShortestRuntime;
+import at.uibk.dps.sc.core.interpreter.ScheduleInterpreter;
+import at.uibk.dps.sc.core.interpreter.ScheduleInterpreterMonitored;
 import at.uibk.dps.sc.core.interpreter.ScheduleInterpreterUser;
+import at.uibk.dps.sc.core.interpreter.ScheduleInterpreterUserFallback;
+import at.uibk.dps.sc.core.interpreter.ScheduleInterpreterUserHedged;
+import at.uibk.dps.sc.core.interpreter.ScheduleInterpreterUserPooled;
 import at.uibk.dps.sc.core.interpreter.ScheduleInterpreterUserSingle;
 import at.uibk.dps.sc.core.scheduler.Scheduler;
+import at.uibk.dps.sc.core.scheduler.SchedulerAbstract;
 import at.uibk.dps.sc.core.scheduler.SchedulerDataSize;
 import at.uibk.dps.sc.core.scheduler.SchedulerLocalRes;
+import at.uibk.dps.sc.core.scheduler.SchedulerLocalResSpillOver;
+import at.uibk.dps.sc.core.scheduler.SchedulerPowerOfTwo;
 import at.uibk.dps.sc.core.scheduler.SchedulerRandom;
 import at.uibk.dps.sc.core.scheduler.SchedulerSingleOption;
+import at.uibk.dps.sc.core.scheduler.SchedulerTransferTime;
 
 /**
  * The {@link SchedulerModule} configures the binding of the scheduling-related
@@ -45,7 +58,22 @@ public class SchedulerModule extends EeModule {
     /**
      * Preferably uses resources with capacity limitations
      */
-    LocalResources
+    LocalResources,
+    /**
+     * Picks the mapping with the lowest sum of input transfer time, acquisition
+     * delay, and expected runtime
+     */
+    TransferTime,
+    /**
+     * Samples two mappings and picks the one with the lower expected delay
+     * (occupancy and queueing)
+     */
+    PowerOfTwoChoices,
+    /**
+     * Uses the least-loaded local resource and spills over to remote resources
+     * (with hysteresis) only if waiting for local capacity takes longer
+     */
+    LocalResourcesSpillOver
   }
 
   /**
@@ -58,7 +86,48 @@ public class SchedulerModule extends EeModule {
     /**
      * First come first serve (best-effort)
      */
-    FCFS
+    FCFS,
+    /**
+     * Tasks on the critical path (highest upward rank) first
+     */
+    CriticalPath,
+    /**
+     * Tasks with the shortest expected runtime on the resource first
+     */
+    ShortestExpectedRuntime,
+    /**
+     * Earliest deadline first (with aging)
+     */
+    EarliestDeadline,
+    /**
+     * Weighted fair share (deficit round robin) between the tenants/workflows
+     */
+    WeightedFairShare
+  }
+
+  /**
+   * Enum defining how the schedules of user tasks are translated into
+   * functions.
+   * 
+   * @author Fedor Smirnov
+   */
+  public enum InterpreterMode {
+    /**
+     * A new function is created for each task
+     */
+    Single,
+    /**
+     * The functions are reused for tasks of the same type on the same resource
+     */
+    Pooled,
+    /**
+     * Schedules with multiple mappings are processed as hedged requests
+     */
+    Hedged,
+    /**
+     * Schedules with multiple mappings are processed as failover chains
+     */
+    Fallback
   }
 
   @Order(1)
@@ -81,9 +150,99 @@ public class SchedulerModule extends EeModule {
   @Info("The mode used to arbitrate shared resources between tasks.")
   public ResourceArbitration resourceArbitration = ResourceArbitration.FCFS;
 
+  @Order(5)
+  @Info("The priority (in ms of deadline) that a waiting task gains per ms of waiting.")
+  @Constant(namespace = ResourceArbiterEDF.class, value = "agingFactor")
+  @Required(property = "resourceArbitration", elements = "EarliestDeadline")
+  public double agingFactor = 0.1;
+
+  @Order(6)
+  @Info("The deadline (in ms after its arrival) of a task without annotated deadline.")
+  @Constant(namespace = ResourceArbiterEDF.class, value = "defaultRelativeDeadline")
+  @Required(property = "resourceArbitration", elements = "EarliestDeadline")
+  public int defaultRelativeDeadlineMs = 60000;
+
+  @Order(7)
+  @Info("The weights of the tenants sharing the resources, e.g., 'wfA=2;wfB=1' (default weight: 1).")
+  @Constant(namespace = ResourceArbiterFairShare.class, value = "tenantWeights")
+  @Required(property = "resourceArbitration", elements = "WeightedFairShare")
+  public String tenantWeights = "";
+
+  @Order(8)
+  @Info("The mode used to create the functions processing the user tasks.")
+  public InterpreterMode interpreterMode = InterpreterMode.Single;
+
+  @Order(9)
+  @Info("The maximal number of idle functions kept for reuse per function type and resource.")
+  @Constant(namespace = ScheduleInterpreterUserPooled.class, value = "poolSize")
+  @Required(property = "interpreterMode", elements = "Pooled")
+  public int poolSize = 64;
+
+  @Order(10)
+  @Info("The maximal number of (function type, resource) pairs for which idle functions are kept. The least recently used pools are dropped first.")
+  @Constant(namespace = ScheduleInterpreterUserPooled.class, value = "maxPoolNumber")
+  @Required(property = "interpreterMode", elements = "Pooled")
+  public int maxPoolNumber = 256;
+
+  @Order(11)
+  @Info("The delay (in ms) after which the next mapping of a hedged request is started.")
+  @Constant(namespace = ScheduleInterpreterUserHedged.class, value = "hedgeDelay")
+  @Required(property = "interpreterMode", elements = "Hedged")
+  public int hedgeDelayMs = 200;
+
+  @Order(12)
+  @Info("If positive, the hedge delay is set to this percentile of the observed latencies of the primary mapping.")
+  @Constant(namespace = ScheduleInterpreterUserHedged.class, value = "hedgePercentile")
+  @Required(property = "interpreterMode", elements = "Hedged")
+  public double hedgePercentile = 95.0;
+
+  @Order(13)
+  @Info("The timeout of a mapping in a failover chain is its observed runtime (plus two standard deviations) times this factor.")
+  @Constant(namespace = ScheduleInterpreterUserFallback.class, value = "timeoutFactor")
+  @Required(property = "interpreterMode", elements = "Fallback")
+  public double timeoutFactor = 2.0;
+
+  @Order(14)
+  @Info("The timeout (in ms) of the mappings without observed runtimes in a failover chain.")
+  @Constant(namespace = ScheduleInterpreterUserFallback.class, value = "defaultTimeout")
+  @Required(property = "interpreterMode", elements = "Fallback")
+  public int defaultTimeoutMs = 10000;
+
+  @Order(15)
+  @Info("The relative margin around the remote cost (runtime + acquisition delay) used to switch the spill-over to remote resources on and off.")
+  @Constant(namespace = SchedulerLocalResSpillOver.class, value = "hysteresis")
+  @Required(property = "schedulingMode", elements = "LocalResourcesSpillOver")
+  public double spillHysteresis = 0.2;
+
+  @Order(16)
+  @Info("If checked, the scheduling policy is consulted once for the equivalent tasks of a scheduled batch (e.g., parallel for replicas); the replicas are then assigned the chosen mappings as long as they fit onto the chosen resources.")
+  @Constant(namespace = SchedulerAbstract.class, value = "templateScheduling")
+  public boolean templateScheduling = false;
+
+  @Order(17)
+  @Info("The runtime (in s) assumed for mappings without annotated or observed runtime (at least the largest runtime known for the other considered options).")
+  @Constant(namespace = SchedulerTransferTime.class, value = "defaultRuntime")
+  @Required(property = "schedulingMode", elements = {"TransferTime", "PowerOfTwoChoices"})
+  public double defaultRuntime = 10.0;
+
+  @Order(18)
+  @Info("If checked, the executions of the user tasks are recorded in the execution statistics (required for the observed-load capacity model and the observed runtimes of the transfer-time scheduling).")
+  public boolean monitorExecutions = true;
+
   @Override
   protected void config() {
-    bind(ScheduleInterpreterUser.class).to(ScheduleInterpreterUserSingle.class);
+    if (monitorExecutions) {
+      bind(ScheduleInterpreter.class).to(ScheduleInterpreterMonitored.class);
+    }
+    if (interpreterMode.equals(InterpreterMode.Single)) {
+      bind(ScheduleInterpreterUser.class).to(ScheduleInterpreterUserSingle.class);
+    } else if (interpreterMode.equals(InterpreterMode.Pooled)) {
+      bind(ScheduleInterpreterUser.class).to(ScheduleInterpreterUserPooled.class);
+    } else if (interpreterMode.equals(InterpreterMode.Hedged)) {
+      bind(ScheduleInterpreterUser.class).to(ScheduleInterpreterUserHedged.class);
+    } else if (interpreterMode.equals(InterpreterMode.Fallback)) {
+      bind(ScheduleInterpreterUser.class).to(ScheduleInterpreterUserFallback.class);
+    }
     if (schedulingMode.equals(SchedulingMode.SingleOption)) {
       bind(Scheduler.class).to(SchedulerSingleOption.class);
     } else if (schedulingMode.equals(SchedulingMode.Random)) {
@@ -92,9 +251,23 @@ public class SchedulerModule extends EeModule {
       bind(Scheduler.class).to(SchedulerDataSize.class);
     } else if (schedulingMode.equals(SchedulingMode.LocalResources)) {
       bind(Scheduler.class).to(SchedulerLocalRes.class);
+    } else if (schedulingMode.equals(SchedulingMode.TransferTime)) {
+      bind(Scheduler.class).to(SchedulerTransferTime.class);
+    } else if (schedulingMode.equals(SchedulingMode.PowerOfTwoChoices)) {
+      bind(Scheduler.class).to(SchedulerPowerOfTwo.class);
+    } else if (schedulingMode.equals(SchedulingMode.LocalResourcesSpillOver)) {
+      bind(Scheduler.class).to(SchedulerLocalResSpillOver.class);
     }
     if (resourceArbitration.equals(ResourceArbitration.FCFS)) {
       bind(ResourceArbiter.class).to(ResourceArbiterFCFS.class);
+    } else if (resourceArbitration.equals(ResourceArbitration.CriticalPath)) {
+      bind(ResourceArbiter.class).to(ResourceArbiterCriticalPath.class);
+    } else if (resourceArbitration.equals(ResourceArbitration.ShortestExpectedRuntime)) {
+      bind(ResourceArbiter.class).to(ResourceArbiterShortestRuntime.class);
+    } else if (resourceArbitration.equals(ResourceArbitration.EarliestDeadline)) {
+      bind(ResourceArbiter.class).to(ResourceArbiterEDF.class);
+    } else if (resourceArbitration.equals(ResourceArbitration.WeightedFairShare)) {
+      bind(ResourceArbiter.class).to(ResourceArbiterFairShare.class);
     }
   }
 
@@ -129,4 +302,116 @@ public class SchedulerModule extends EeModule {
   public void setSizeThresholdKb(final int sizeThresholdKb) {
     this.sizeThresholdKb = sizeThresholdKb;
   }
+
+  public double getAgingFactor() {
+    return agingFactor;
+  }
+
+  public void setAgingFactor(final double agingFactor) {
+    this.agingFactor = agingFactor;
+  }
+
+  public int getDefaultRelativeDeadlineMs() {
+    return defaultRelativeDeadlineMs;
+  }
+
+  public void setDefaultRelativeDeadlineMs(final int defaultRelativeDeadlineMs) {
+    this.defaultRelativeDeadlineMs = defaultRelativeDeadlineMs;
+  }
+
+  public String getTenantWeights() {
+    return tenantWeights;
+  }
+
+  public void setTenantWeights(final String tenantWeights) {
+    this.tenantWeights = tenantWeights;
+  }
+
+  public InterpreterMode getInterpreterMode() {
+    return interpreterMode;
+  }
+
+  public void setInterpreterMode(final InterpreterMode interpreterMode) {
+    this.interpreterMode = interpreterMode;
+  }
+
+  public int getPoolSize() {
+    return poolSize;
+  }
+
+  public void setPoolSize(final int poolSize) {
+    this.poolSize = poolSize;
+  }
+
+  public int getMaxPoolNumber() {
+    return maxPoolNumber;
+  }
+
+  public void setMaxPoolNumber(final int maxPoolNumber) {
+    this.maxPoolNumber = maxPoolNumber;
+  }
+
+  public int getHedgeDelayMs() {
+    return hedgeDelayMs;
+  }
+
+  public void setHedgeDelayMs(final int hedgeDelayMs) {
+    this.hedgeDelayMs = hedgeDelayMs;
+  }
+
+  public double getHedgePercentile() {
+    return hedgePercentile;
+  }
+
+  public void setHedgePercentile(final double hedgePercentile) {
+    this.hedgePercentile = hedgePercentile;
+  }
+
+  public double getTimeoutFactor() {
+    return timeoutFactor;
+  }
+
+  public void setTimeoutFactor(final double timeoutFactor) {
+    this.timeoutFactor = timeoutFactor;
+  }
+
+  public int getDefaultTimeoutMs() {
+    return defaultTimeoutMs;
+  }
+
+  public void setDefaultTimeoutMs(final int defaultTimeoutMs) {
+    this.defaultTimeoutMs = defaultTimeoutMs;
+  }
+
+  public double getSpillHysteresis() {
+    return spillHysteresis;
+  }
+
+  public void setSpillHysteresis(final double spillHysteresis) {
+    this.spillHysteresis = spillHysteresis;
+  }
+
+  public boolean isTemplateScheduling() {
+    return templateScheduling;
+  }
+
+  public void setTemplateScheduling(final boolean templateScheduling) {
+    this.templateScheduling = templateScheduling;
+  }
+
+  public double getDefaultRuntime() {
+    return defaultRuntime;
+  }
+
+  public void setDefaultRuntime(final double defaultRuntime) {
+    this.defaultRuntime = defaultRuntime;
+  }
+
+  public boolean isMonitorExecutions() {
+    return monitorExecutions;
+  }
+
+  public void setMonitorExecutions(final boolean monitorExecutions) {
+    this.monitorExecutions = monitorExecutions;
+  }
 }
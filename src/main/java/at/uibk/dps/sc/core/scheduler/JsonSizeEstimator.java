@@ -0,0 +1,129 @@
+package at.uibk.dps.sc.core.scheduler;
+
+import java.util.Map.Entry;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
+import at.uibk.dps.sc.core.PropertyServiceScheduling;
+import net.sf.opendse.model.Task;
+
+/**
+ * Static method class to determine the size of the (compact, UTF-8 encoded)
+ * serialization of a {@link JsonElement} by walking the JSON tree, i.e.,
+ * without materializing the serialized string. The calculated size equals the
+ * byte length of the UTF-8 encoded {@link JsonElement#toString()}.
+ */
+public final class JsonSizeEstimator {
+
+  /**
+   * No constructor
+   */
+  private JsonSizeEstimator() {}
+
+  /**
+   * Returns the size (in bytes) of the serialized input of the given task. The
+   * size is calculated once per input object and then read from the task
+   * annotation (a new input, e.g., in a re-run or a loop iteration, is
+   * measured again).
+   * 
+   * @param task the given task
+   * @return the size (in bytes) of the serialized input of the given task
+   */
+  public static long getInputSize(final Task task) {
+    final JsonObject input = PropertyServiceFunction.getInput(task);
+    if (PropertyServiceScheduling.hasInputSize(task, input)) {
+      return PropertyServiceScheduling.getInputSize(task);
+    }
+    final long inputSize = getSerializedSize(input);
+    PropertyServiceScheduling.setInputSize(task, input, inputSize);
+    return inputSize;
+  }
+
+  /**
+   * Returns the size (in bytes) of the UTF-8 encoded serialization of the given
+   * element.
+   * 
+   * @param element the given element
+   * @return the size (in bytes) of the serialization of the given element
+   */
+  public static long getSerializedSize(final JsonElement element) {
+    if (element == null || element.isJsonNull()) {
+      return 4; // null
+    } else if (element.isJsonPrimitive()) {
+      return getPrimitiveSize(element.getAsJsonPrimitive());
+    } else if (element.isJsonArray()) {
+      final JsonArray array = element.getAsJsonArray();
+      // brackets and commas
+      long result = 2 + Math.max(array.size() - 1, 0);
+      for (final JsonElement entry : array) {
+        result += getSerializedSize(entry);
+      }
+      return result;
+    } else {
+      final JsonObject object = element.getAsJsonObject();
+      // braces and commas
+      long result = 2 + Math.max(object.size() - 1, 0);
+      for (final Entry<String, JsonElement> member : object.entrySet()) {
+        // the colon
+        result += getStringSize(member.getKey()) + 1 + getSerializedSize(member.getValue());
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Returns the serialized size of the given primitive.
+   * 
+   * @param primitive the given primitive
+   * @return the serialized size of the given primitive
+   */
+  protected static long getPrimitiveSize(final JsonPrimitive primitive) {
+    if (primitive.isString()) {
+      return getStringSize(primitive.getAsString());
+    } else if (primitive.isBoolean()) {
+      return primitive.getAsBoolean() ? 4 : 5;
+    } else {
+      // numbers are written using their string representation (ASCII only)
+      return primitive.getAsNumber().toString().length();
+    }
+  }
+
+  /**
+   * Returns the serialized size of the given string (including the quotes and
+   * the escape sequences).
+   * 
+   * @param string the given string
+   * @return the serialized size of the given string
+   */
+  protected static long getStringSize(final String string) {
+    long result = 2;
+    final int length = string.length();
+    for (int i = 0; i < length; i++) {
+      final char c = string.charAt(i);
+      if (c == '"' || c == '\\' || c == '\t' || c == '\b' || c == '\n' || c == '\r'
+          || c == '\f') {
+        result += 2;
+      } else if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+        // unicode escape (\\uXXXX)
+        result += 6;
+      } else if (c < 0x80) {
+        result += 1;
+      } else if (c < 0x800) {
+        result += 2;
+      } else if (Character.isHighSurrogate(c) && i + 1 < length
+          && Character.isLowSurrogate(string.charAt(i + 1))) {
+        // supplementary code point
+        result += 4;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        // unpaired surrogate, replaced by '?' during encoding
+        result += 1;
+      } else {
+        result += 3;
+      }
+    }
+    return result;
+  }
+}
@@ -1,6 +1,10 @@
 package at.uibk.dps.sc.core.scheduler;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
+import at.uibk.dps.ee.model.properties.PropertyServiceResource;
 import io.vertx.core.Future;
 import net.sf.opendse.model.Mapping;
 import net.sf.opendse.model.Resource;
@@ -22,4 +26,31 @@ public interface Scheduler {
    *         schedule
    */
   Future<Set<Mapping<Task, Resource>>> scheduleTask(Task task);
+
+  /**
+   * Schedules the given function nodes (e.g., the iterations released by a
+   * parallel for at once). Returns a future for the schedule of each of the
+   * given tasks. By default, the tasks are scheduled one by one.
+   * 
+   * @param tasks the function nodes to schedule
+   * @return a map of the given tasks onto the futures for their schedules
+   */
+  default Map<Task, Future<Set<Mapping<Task, Resource>>>> scheduleTasks(
+      final Collection<Task> tasks) {
+    final Map<Task, Future<Set<Mapping<Task, Resource>>>> result = new LinkedHashMap<>();
+    tasks.forEach(task -> result.put(task, scheduleTask(task)));
+    return result;
+  }
+
+  /**
+   * Releases the capacity which the given task occupies on the given resource
+   * and places the tasks waiting for this resource. By default, only the
+   * annotation of the task using the resource is removed.
+   * 
+   * @param task the task which does not use the resource anymore
+   * @param resource the resource where capacity is released
+   */
+  default void releaseCapacity(final Task task, final Resource resource) {
+    PropertyServiceResource.removeUsingTask(task, resource);
+  }
 }
@@ -1,19 +1,32 @@
 package at.uibk.dps.sc.core.scheduler;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import org.opt4j.core.start.Constant;
+import com.google.inject.Inject;
 import at.uibk.dps.ee.guice.starter.VertxProvider;
 import at.uibk.dps.ee.model.graph.EnactmentGraph;
 import at.uibk.dps.ee.model.graph.EnactmentSpecification;
 import at.uibk.dps.ee.model.graph.SpecificationProvider;
 import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
 import at.uibk.dps.ee.model.properties.PropertyServiceFunction.UsageType;
-import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUser;
 import at.uibk.dps.ee.model.properties.PropertyServiceResource;
 import at.uibk.dps.sc.core.ConstantsScheduling;
+import at.uibk.dps.sc.core.UtilsScheduling;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiter;
 import at.uibk.dps.sc.core.capacity.CapacityCalculator;
-import at.uibk.dps.sc.core.capacity.CapacityLimitException;
+import at.uibk.dps.sc.core.capacity.CapacityVector;
+import at.uibk.dps.sc.core.capacity.ResourceOccupancy;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
@@ -32,18 +45,57 @@ public abstract class SchedulerAbstract implements Scheduler {
 
   protected final EnactmentSpecification specification;
   protected final CapacityCalculator capacityCalculator;
+  protected final ResourceArbiter resourceArbiter;
   protected final Vertx vertx;
+  protected final ResourceOccupancy occupancy = new ResourceOccupancy();
+
+  // The wait list (only accessed while holding the capacity lock): for each
+  // resource, the tasks waiting for it (in the order of arrival) together with
+  // their mapping options targeting the resource, and the promises made for
+  // the waiting tasks
+  protected final ConcurrentHashMap<Resource, Map<Task, Set<Mapping<Task, Resource>>>> waitingTasks =
+      new ConcurrentHashMap<>();
+  protected final ConcurrentHashMap<Task, Promise<Set<Mapping<Task, Resource>>>> waitingPromises =
+      new ConcurrentHashMap<>();
+
+  // The resolved mapping options of the original tasks and the memoized
+  // replica-to-original resolution (weak keys, so that finished replicas can be
+  // collected)
+  protected final ConcurrentHashMap<Task, Set<Mapping<Task, Resource>>> mappingOptionCache =
+      new ConcurrentHashMap<>();
+  protected final Map<Task, Task> originalTaskCache =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  protected boolean templateScheduling;
 
   /**
    * Default constructor
    * 
    * @param specProvider specification provider
+   * @param capacityCalculator the capacity calculator
+   * @param vertProv the vertx provider
+   * @param resourceArbiter the arbiter deciding the order in which waiting tasks
+   *        are placed on a resource
    */
   public SchedulerAbstract(final SpecificationProvider specProvider,
-      final CapacityCalculator capacityCalculator, final VertxProvider vertProv) {
+      final CapacityCalculator capacityCalculator, final VertxProvider vertProv,
+      final ResourceArbiter resourceArbiter) {
     this.specification = specProvider.getSpecification();
     this.capacityCalculator = capacityCalculator;
     this.vertx = vertProv.getVertx();
+    this.resourceArbiter = resourceArbiter;
+  }
+
+  /**
+   * Enables the template scheduling of groups of equivalent tasks within a
+   * scheduled batch (see {@link #placeReplicaGroup(List, Map)}).
+   * 
+   * @param templateScheduling true iff template scheduling is to be used
+   */
+  @Inject(optional = true)
+  public void setTemplateScheduling(@Constant(namespace = SchedulerAbstract.class,
+      value = "templateScheduling") final boolean templateScheduling) {
+    this.templateScheduling = templateScheduling;
   }
 
   @Override
@@ -51,25 +103,14 @@ public abstract class SchedulerAbstract implements Scheduler {
     final Promise<Set<Mapping<Task, Resource>>> resultPromise = Promise.promise();
     final Set<Mapping<Task, Resource>> result = new HashSet<>();
     if (PropertyServiceFunction.getUsageType(task).equals(UsageType.User)) {
-      // user task -> scheduled based on mappings
-      final Task taskKey = getOriginalTask(task);
-      final Set<Mapping<Task, Resource>> specMappings =
-          specification.getMappings().getMappings(taskKey);
-      if (specMappings.isEmpty()) {
-        throw new IllegalStateException(
-            "No mapping options provided for the task " + taskKey.getId());
-      }
+      // user task -> scheduled based on mappings (resolved and cached outside of
+      // the lock)
+      refreshMappingOptions(task);
       // synchronized capacity look up + task placement
       this.vertx.sharedData().getLock(ConstantsScheduling.lockCapacityQuery, lockRes -> {
         if (lockRes.succeeded()) {
           final Lock capacityLock = lockRes.result();
-          final Set<Mapping<Task, Resource>> validMappings =
-              specMappings.stream().filter(m -> isValidMapping(m)).collect(Collectors.toSet());
-          if (validMappings.isEmpty()) {
-            placeTaskInWaitList(task, resultPromise);
-          } else {
-            scheduleSuccess(validMappings, task, resultPromise);
-          }
+          placeTask(task, resultPromise);
           capacityLock.release();
         } else {
           throw new IllegalStateException("Failed to get capacity query lock");
@@ -82,16 +123,315 @@ public abstract class SchedulerAbstract implements Scheduler {
     return resultPromise.future();
   }
 
+  /**
+   * Schedules all given tasks while holding the capacity lock once (instead of
+   * once per task).
+   */
+  @Override
+  public Map<Task, Future<Set<Mapping<Task, Resource>>>> scheduleTasks(
+      final Collection<Task> tasks) {
+    final Map<Task, Promise<Set<Mapping<Task, Resource>>>> userPromises = new LinkedHashMap<>();
+    final Map<Task, Future<Set<Mapping<Task, Resource>>>> result = new LinkedHashMap<>();
+    for (final Task task : tasks) {
+      final Promise<Set<Mapping<Task, Resource>>> promise = Promise.promise();
+      if (PropertyServiceFunction.getUsageType(task).equals(UsageType.User)) {
+        // resolved and cached outside of the lock
+        refreshMappingOptions(task);
+        userPromises.put(task, promise);
+      } else {
+        promise.complete(new HashSet<>());
+      }
+      result.put(task, promise.future());
+    }
+    if (!userPromises.isEmpty()) {
+      this.vertx.sharedData().getLock(ConstantsScheduling.lockCapacityQuery, lockRes -> {
+        if (lockRes.succeeded()) {
+          final Lock capacityLock = lockRes.result();
+          placeTasks(userPromises);
+          capacityLock.release();
+        } else {
+          throw new IllegalStateException("Failed to get capacity query lock");
+        }
+      });
+    }
+    return result;
+  }
+
+  /**
+   * Places the given batch of user tasks (in the iteration order of the map).
+   * Has to be called while holding the capacity lock. Schedulers which can
+   * evaluate the tasks of a batch jointly should override this method.
+   * 
+   * @param batch map of the tasks to place onto the promises made for them
+   */
+  protected void placeTasks(final Map<Task, Promise<Set<Mapping<Task, Resource>>>> batch) {
+    if (!templateScheduling) {
+      batch.forEach(this::placeTask);
+      return;
+    }
+    final Map<Object, List<Task>> groups = new LinkedHashMap<>();
+    batch.keySet().forEach(
+        task -> groups.computeIfAbsent(getTemplateKey(task), k -> new ArrayList<>()).add(task));
+    groups.values().forEach(group -> placeReplicaGroup(group, batch));
+  }
+
+  /**
+   * Places a group of equivalent tasks (e.g., the replicas created by a parallel
+   * for). The scheduler's policy is consulted once for the whole group, choosing
+   * among the valid mapping options of its first task. The choice is then turned
+   * into the number of replicas fitting into the free capacity of each chosen
+   * target, and the replicas are handed the chosen mappings until this number is
+   * reached. Replicas which do not fit are placed in the wait list. Has to be
+   * called while holding the capacity lock.
+   * 
+   * @param group the equivalent tasks
+   * @param batch map of the tasks of the batch onto the promises made for them
+   */
+  protected void placeReplicaGroup(final List<Task> group,
+      final Map<Task, Promise<Set<Mapping<Task, Resource>>>> batch) {
+    final Task first = group.get(0);
+    prepareDecision(first);
+    final Set<Mapping<Task, Resource>> validOptions = getMappingOptions(first).stream()
+        .filter(this::isValidMapping).collect(Collectors.toSet());
+    final Set<Mapping<Task, Resource>> chosen = validOptions.isEmpty() ? new HashSet<>()
+        : new HashSet<>(chooseMappingSubset(first, validOptions));
+    // each placed replica occupies all chosen targets
+    int placeable = chosen.isEmpty() ? 0 : group.size();
+    for (final Mapping<Task, Resource> mapping : chosen) {
+      placeable = Math.min(placeable, getFittingNumber(first, mapping.getTarget(), group.size()));
+    }
+    for (int i = 0; i < group.size(); i++) {
+      final Task replica = group.get(i);
+      final Promise<Set<Mapping<Task, Resource>>> promise = batch.get(replica);
+      if (i >= placeable) {
+        placeTaskInWaitList(replica, promise);
+        continue;
+      }
+      chosen.forEach(mapping -> chargeCapacity(replica, mapping.getTarget()));
+      promise.complete(new HashSet<>(chosen));
+    }
+  }
+
+  /**
+   * Returns how many of the given number of equivalent tasks fit into the
+   * capacity which is currently free on the given resource.
+   * 
+   * @param task one of the equivalent tasks
+   * @param res the given resource
+   * @param max the number of equivalent tasks
+   * @return how many of the equivalent tasks fit onto the given resource
+   */
+  protected int getFittingNumber(final Task task, final Resource res, final int max) {
+    final CapacityVector free =
+        capacityCalculator.getCapacity(res).subtract(occupancy.getOccupied(res));
+    return free.getFittingNumber(capacityCalculator.getDemand(task, res), max);
+  }
+
+  /**
+   * Called once per scheduling decision for the given task, before its mapping
+   * options are filtered with {@link #isValidMapping(Mapping)}. Schedulers whose
+   * validity check depends on state derived from all options of the task (and
+   * not from a single mapping) update this state here. Has to be called while
+   * holding the capacity lock.
+   * 
+   * @param task the task which is about to be scheduled
+   */
+  protected void prepareDecision(final Task task) {
+    // no state by default
+  }
+
+  /**
+   * Returns the key identifying the group of equivalent tasks which the given
+   * task belongs to (during template scheduling). By default, tasks with the
+   * same original task are equivalent.
+   * 
+   * @param task the given task
+   * @return the key of the equivalence group of the given task
+   */
+  protected Object getTemplateKey(final Task task) {
+    return resolveOriginalTask(task);
+  }
+
+  /**
+   * Places the given user task on the currently valid mappings or, if there are
+   * none, in the wait list. Has to be called while holding the capacity lock.
+   * 
+   * @param task the given task
+   * @param promise the promise made for the given task
+   */
+  protected void placeTask(final Task task,
+      final Promise<Set<Mapping<Task, Resource>>> promise) {
+    prepareDecision(task);
+    final Set<Mapping<Task, Resource>> validMappings = getMappingOptions(task).stream()
+        .filter(m -> isValidMapping(m)).collect(Collectors.toSet());
+    if (validMappings.isEmpty()) {
+      placeTaskInWaitList(task, promise);
+    } else {
+      scheduleSuccess(validMappings, task, promise);
+    }
+  }
+
+  @Override
+  public void releaseCapacity(final Task task, final Resource resource) {
+    this.vertx.sharedData().getLock(ConstantsScheduling.lockCapacityQuery, lockRes -> {
+      if (lockRes.succeeded()) {
+        final Lock capacityLock = lockRes.result();
+        PropertyServiceResource.removeUsingTask(task, resource);
+        occupancy.release(task, resource);
+        reconcileOccupancy(resource);
+        resourceArbiter.taskReleased(task, resource);
+        scheduleWaitingTasks(resource);
+        capacityLock.release();
+      } else {
+        throw new IllegalStateException("Failed to get capacity query lock");
+      }
+    });
+  }
+
+  /**
+   * Invalidates the cached mapping options (and replica resolutions).
+   */
+  public void invalidateMappingOptions() {
+    mappingOptionCache.clear();
+    originalTaskCache.clear();
+  }
+
+  /**
+   * Resolves the mapping options of the given task at the start of a scheduling
+   * decision: the cached options are compared to the mappings currently
+   * provided by the specification and are rebuilt if the specification changed
+   * in the meantime.
+   * 
+   * @param task the given task
+   * @return the (current) mapping options of the given task
+   */
+  protected Set<Mapping<Task, Resource>> refreshMappingOptions(final Task task) {
+    final Task taskKey = resolveOriginalTask(task);
+    final Set<Mapping<Task, Resource>> cached = mappingOptionCache.get(taskKey);
+    if (cached != null) {
+      final Set<Mapping<Task, Resource>> specMappings =
+          specification.getMappings().getMappings(taskKey);
+      if (cached.size() != specMappings.size() || !cached.containsAll(specMappings)) {
+        mappingOptionCache.remove(taskKey, cached);
+      }
+    }
+    return getMappingOptions(task);
+  }
+
+  /**
+   * Returns the mapping options provided by the specification for the given
+   * task. The options are resolved once per original task and cached, so that
+   * the look up takes constant time for the replicas of the task. The cache is
+   * checked against the specification by {@link #refreshMappingOptions(Task)}
+   * at the start of each scheduling decision.
+   * 
+   * @param task the given task
+   * @return the mapping options of the given task
+   */
+  protected Set<Mapping<Task, Resource>> getMappingOptions(final Task task) {
+    final Task taskKey = resolveOriginalTask(task);
+    return mappingOptionCache.computeIfAbsent(taskKey, key -> {
+      final Set<Mapping<Task, Resource>> specMappings =
+          specification.getMappings().getMappings(key);
+      if (specMappings.isEmpty()) {
+        throw new IllegalStateException(
+            "No mapping options provided for the task " + key.getId());
+      }
+      return Collections.unmodifiableSet(new HashSet<>(specMappings));
+    });
+  }
+
+  /**
+   * Returns the original task of the given task (see
+   * {@link #getOriginalTask(Task)}), memoizing the resolution.
+   * 
+   * @param task the given task
+   * @return the original task from the spec
+   */
+  protected Task resolveOriginalTask(final Task task) {
+    final Task cached = originalTaskCache.get(task);
+    if (cached != null) {
+      return cached;
+    }
+    final Task original = getOriginalTask(task);
+    originalTaskCache.put(task, original);
+    return original;
+  }
+
   /**
    * Places the task (which is unschedulable for now due to capacity limits) into
-   * the waiting list
+   * the waiting list of each resource it can be mapped to. The promise is
+   * completed as soon as capacity on one of these resources is released (and the
+   * resource arbiter picks the task).
    * 
    * @param task the scheduled task
    * @param promise the promise made to the scheduling verticle
    */
   protected void placeTaskInWaitList(final Task task,
       final Promise<Set<Mapping<Task, Resource>>> promise) {
-    promise.fail(new CapacityLimitException(task));
+    waitingPromises.put(task, promise);
+    getMappingOptions(task)
+        .forEach(m -> waitingTasks.computeIfAbsent(m.getTarget(), r -> new LinkedHashMap<>())
+            .computeIfAbsent(task, t -> new HashSet<>()).add(m));
+    getMappingOptions(task).stream().map(Mapping::getTarget).distinct()
+        .forEach(res -> resourceArbiter.taskParked(task, res));
+  }
+
+  /**
+   * Returns the number of tasks waiting for the given resource.
+   * 
+   * @param res the given resource
+   * @return the number of tasks waiting for the given resource
+   */
+  protected int getWaitingNumber(final Resource res) {
+    final Map<Task, Set<Mapping<Task, Resource>>> waiting = waitingTasks.get(res);
+    return waiting == null ? 0 : waiting.size();
+  }
+
+  /**
+   * Tries to place the tasks waiting for the given resource, in the order
+   * defined by the resource arbiter. Only the capacity of the given resource
+   * changed, so only the mapping options of the candidates targeting this
+   * resource are checked. Has to be called while holding the capacity lock.
+   * 
+   * @param resource the resource where capacity was released
+   */
+  protected void scheduleWaitingTasks(final Resource resource) {
+    final Map<Task, Set<Mapping<Task, Resource>>> waiting = waitingTasks.get(resource);
+    if (waiting == null || waiting.isEmpty()) {
+      return;
+    }
+    final List<Task> placed = new ArrayList<>();
+    // the wait list is only changed after the iteration
+    for (final Task candidate : resourceArbiter.getPrioritizedTasks(waiting.keySet(),
+        resource)) {
+      prepareDecision(candidate);
+      final Set<Mapping<Task, Resource>> validMappings = waiting.get(candidate).stream()
+          .filter(m -> isValidMapping(m)).collect(Collectors.toSet());
+      if (!validMappings.isEmpty()) {
+        scheduleSuccess(validMappings, candidate, waitingPromises.get(candidate));
+        placed.add(candidate);
+      }
+    }
+    placed.forEach(this::removeFromWaitList);
+  }
+
+  /**
+   * Removes the given task from the wait lists of all resources.
+   * 
+   * @param task the given task
+   * @return the promise made for the given task
+   */
+  protected Promise<Set<Mapping<Task, Resource>>> removeFromWaitList(final Task task) {
+    getMappingOptions(task).stream().map(Mapping::getTarget).distinct()
+        .forEach(res -> {
+          waitingTasks.computeIfPresent(res, (r, tasks) -> {
+            tasks.remove(task);
+            return tasks.isEmpty() ? null : tasks;
+          });
+          resourceArbiter.taskUnparked(task, res);
+        });
+    return waitingPromises.remove(task);
   }
 
   /**
@@ -105,26 +445,65 @@ public abstract class SchedulerAbstract implements Scheduler {
       final Promise<Set<Mapping<Task, Resource>>> promise) {
     final Set<Mapping<Task, Resource>> result = new HashSet<>();
     result.addAll(chooseMappingSubset(task, schedule));
-    result.forEach(m -> PropertyServiceResource.addUsingTask(task, m.getTarget()));
+    result.forEach(m -> chargeCapacity(task, m.getTarget()));
     promise.complete(result);
   }
 
+  /**
+   * Records that the given task is placed on the given resource (and occupies
+   * the corresponding capacity there).
+   * 
+   * @param task the placed task
+   * @param resource the resource
+   */
+  protected void chargeCapacity(final Task task, final Resource resource) {
+    PropertyServiceResource.addUsingTask(task, resource);
+    occupancy.charge(task, resource, capacityCalculator.getDemand(task, resource));
+    resourceArbiter.taskPlaced(task, resource);
+  }
+
   /**
    * Returns true if the given mapping can be used at the current moment (used to
-   * consider resource capacity by default)
+   * consider resource capacity by default). Checks whether the demand of the
+   * task fits into the free capacity of the target in all capacity dimensions
+   * (constant time, based on the running occupancy totals, see
+   * {@link #reconcileOccupancy(Resource)}).
    * 
    * @param mapping the given mapping
    * @return true iff the given mapping can be used at the given moment
    */
   protected boolean isValidMapping(final Mapping<Task, Resource> mapping) {
     final Resource targetRes = mapping.getTarget();
-    final Set<String> alreadyOnResource = PropertyServiceResource.getUsingTaskIds(targetRes);
-    final double unavailableCapacity = alreadyOnResource.stream()
-        .map(taskId -> specification.getEnactmentGraph().getVertex(taskId))
-        .mapToDouble(task -> capacityCalculator.getCapacityFraction(task, targetRes)).sum();
-    final double requiredCapacity =
-        capacityCalculator.getCapacityFraction(mapping.getSource(), targetRes);
-    return requiredCapacity + unavailableCapacity <= 1.0;
+    return occupancy.fits(targetRes, capacityCalculator.getDemand(mapping.getSource(), targetRes),
+        capacityCalculator.getCapacity(targetRes));
+  }
+
+  /**
+   * Brings the occupancy of the given resource in line with its using-task
+   * annotation, which can also be changed outside of the scheduler (e.g., via the
+   * {@link at.uibk.dps.sc.core.ScheduleModel}): Tasks annotated as using the
+   * resource are charged with their demand, while the charges of tasks which are
+   * not annotated anymore are released. Called when capacity is released on the
+   * resource (i.e., on the paths where the annotation and the occupancy can
+   * drift apart), not for each validity check. Has to be called while holding
+   * the capacity lock.
+   * 
+   * @param res the given resource
+   */
+  protected void reconcileOccupancy(final Resource res) {
+    final Set<String> usingIds = PropertyServiceResource.getUsingTaskIds(res);
+    final Set<String> chargedIds = new HashSet<>();
+    for (final Task charged : occupancy.getChargedTasks(res)) {
+      if (usingIds.contains(charged.getId())) {
+        chargedIds.add(charged.getId());
+      } else {
+        occupancy.release(charged, res);
+      }
+    }
+    usingIds.stream().filter(id -> !chargedIds.contains(id))
+        .map(id -> specification.getEnactmentGraph().getVertex(id))
+        .filter(task -> task != null)
+        .forEach(task -> occupancy.charge(task, res, capacityCalculator.getDemand(task, res)));
   }
 
   /**
@@ -137,16 +516,7 @@ public abstract class SchedulerAbstract implements Scheduler {
    *         (grand)parent)
    */
   protected Task getOriginalTask(final Task task) {
-    if (task.getParent() == null) {
-      if (PropertyServiceFunctionUser.isWhileReplica(task)) {
-        return specification.getEnactmentGraph()
-            .getVertex(PropertyServiceFunctionUser.getWhileRef(task));
-      } else {
-        return task;
-      }
-    } else {
-      return getOriginalTask((Task) task.getParent());
-    }
+    return UtilsScheduling.getOriginalTask(task, specification.getEnactmentGraph());
   }
 
   /**
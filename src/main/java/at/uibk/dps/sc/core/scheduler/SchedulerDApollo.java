@@ -2,12 +2,16 @@ package at.uibk.dps.sc.core.scheduler;
 
 import at.uibk.dps.ee.guice.starter.VertxProvider;
 import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiter;
 import at.uibk.dps.sc.core.capacity.CapacityCalculator;
 import at.uibk.dps.sc.core.scheduler.dApollo.*;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import net.sf.opendse.model.Communication;
+import net.sf.opendse.model.Element;
 import net.sf.opendse.model.Mapping;
 import net.sf.opendse.model.Resource;
 import net.sf.opendse.model.Task;
@@ -16,6 +20,7 @@ import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 @Singleton
@@ -41,6 +46,45 @@ public class SchedulerDApollo extends SchedulerAbstract {
      */
     private final HashMap<Task, Mapping_> currentSchedule;
 
+    /**
+     * Proposals pruned as Pareto-dominated (mapped onto the proposal dominating them).
+     */
+    private final Map<Proposal, Proposal> prunedProposals = new IdentityHashMap<>();
+
+    /**
+     * Tasks for which proposals have been created (lazy mode only).
+     */
+    private final Set<Task> materializedTasks = new HashSet<>();
+
+    /**
+     * Maximal number of proposals considered in a step.
+     */
+    private int maxProposalCount;
+
+    /**
+     * EST and LFT of each task, maintained across the steps by recalculating them
+     * only within the window of the proposals (lazy mode only, null until used).
+     */
+    private HashMap<Task, Double> windowEst;
+    private HashMap<Task, Double> windowLft;
+
+    /**
+     * The exit tasks of the workflow (lazy mode only, null until used).
+     */
+    private List<Task> windowExitTasks;
+
+    /**
+     * The contention delay of each task from the last EST calculation (empty if
+     * transfer contention is not considered), which also extends the finish time
+     * of the task when calculating the LFT.
+     */
+    private HashMap<Task, Double> contentionDelays = new HashMap<>();
+
+    /**
+     * Cache for the initial planning (null if not configured).
+     */
+    private final ScheduleCache scheduleCache;
+
     /**
      * Proposals to map tasks to other resources.
      */
@@ -61,6 +105,32 @@ public class SchedulerDApollo extends SchedulerAbstract {
      */
     private boolean proposalsUpdated;
 
+    /**
+     * Number of scheduling steps in which the time budget ran out.
+     */
+    private int budgetExceededSteps;
+
+    /**
+     * Number of proposal evaluations skipped due to the time budget.
+     */
+    private long skippedProposalEvaluations;
+
+    /**
+     * Number of times a proposal has been pruned as Pareto-dominated.
+     */
+    private int pruningCount;
+
+    /**
+     * Number of cluster proposals created and applied.
+     */
+    private int clusterProposalCount;
+    private int appliedClusterProposalCount;
+
+    /**
+     * Maximal duration of a scheduling step in ms.
+     */
+    private double maxStepTimeMs;
+
     /**
      * Tolerance value used to handle rounding error.
      */
@@ -91,10 +161,11 @@ public class SchedulerDApollo extends SchedulerAbstract {
      * @param specProvider       specification provider.
      * @param capacityCalculator capacity calculator.
      * @param vertProv           vertex provider.
+     * @param resourceArbiter    resource arbiter.
      */
     @Inject public SchedulerDApollo(SpecificationProvider specProvider, final JsonObject jsonInput, boolean EXCLUDE_DATA_TRANSFER_COST,
-        CapacityCalculator capacityCalculator, VertxProvider vertProv) {
-        super(specProvider, capacityCalculator, vertProv);
+        CapacityCalculator capacityCalculator, VertxProvider vertProv, ResourceArbiter resourceArbiter) {
+        super(specProvider, capacityCalculator, vertProv, resourceArbiter);
         this.specificationProvider = specProvider;
         this.EXCLUDE_DATA_TRANSFER_COST = EXCLUDE_DATA_TRANSFER_COST;
         this.proposalsUpdated = false;
@@ -110,9 +181,43 @@ public class SchedulerDApollo extends SchedulerAbstract {
         // Setup the schedulerInput for the scheduler.
         this.schedulerInput = getSchedulerInput(jsonInput);
 
+        // Reuse the planning of an earlier run if nothing has changed [O(n*r)].
+        this.scheduleCache = schedulerInput.getScheduleCacheSize() > 0 ?
+            ScheduleCache.getShared(schedulerInput.getScheduleCacheSize(), schedulerInput.getScheduleCacheDirectory()) : null;
+        String fingerprint = scheduleCache != null ? getFingerprint(jsonInput) : null;
+        ScheduleSnapshot snapshot = scheduleCache != null ? scheduleCache.get(fingerprint) : null;
+        if(snapshot != null) {
+            this.currentSchedule = snapshot.restoreSchedule(specProvider);
+            this.proposals = snapshot.restoreProposals(specProvider);
+            this.cost = snapshot.getCost();
+            this.clusterProposalCount = (int) proposals.stream().filter(Proposal::isCluster).count();
+            LOGGER.log(Level.FINER, "Initial planning restored from the schedule cache.");
+        } else {
+            this.currentSchedule = new HashMap<>();
+            planInitialSchedule();
+            if(scheduleCache != null) {
+                scheduleCache.put(fingerprint, new ScheduleSnapshot(currentSchedule, proposals, cost));
+            }
+        }
+        if(schedulerInput.getProposalHorizon() >= 0) {
+            materializedTasks.addAll(getInitialWindow());
+        }
+        if(schedulerInput.isParetoPruning()) {
+            pruneDominatedProposals();
+        }
+        maxProposalCount = proposals.size();
+
+        LOGGER.log(Level.FINER, "Current Cost = " + this.cost);
+    }
+
+    /**
+     * Setup the initial schedule and proposals (Lines 1-6).
+     * [O(n^3)]
+     */
+    private void planInitialSchedule() {
+
         // Line 1: setup initial schedule and compute cost of current schedule [O(n^2)].
-        this.currentSchedule = new HashMap<>();
-        for(Task t: GraphUtils.getTasks(specProvider.getEnactmentGraph())) {
+        for(Task t: GraphUtils.getTasks(specificationProvider.getEnactmentGraph())) {
             currentSchedule.put(t, new Mapping_(t, getCheapestResource(t, schedulerInput.getLocationRS()), schedulerInput.getLocationRS()));
         }
         double currentRSCost = getRuntime(new ArrayList<>(currentSchedule.values()), 0.0) * (schedulerInput.getResourcesRSInstances().get(schedulerInput.getLocationRS()).get(Attributes.COST_PER_HOUR.name()) / 3600);
@@ -128,64 +233,8 @@ public class SchedulerDApollo extends SchedulerAbstract {
         List<Task> remainingTasks = allTasks.stream().filter(t -> !exitTasks.contains(t) && !entryTasks.contains(t)).collect(Collectors.toList());
         HashMap<Task, Double> est = calculateEST(entryTasks, Stream.concat(exitTasks.stream(), remainingTasks.stream()).collect(Collectors.toList()));
         HashMap<Task, Double> lft = calculateLFT(est, Stream.concat(entryTasks.stream(), remainingTasks.stream()).collect(Collectors.toList()), exitTasks);
-        for(Task task: GraphUtils.getTasks(specProvider.getEnactmentGraph())) {
-            List<Proposal> taskProposals = new ArrayList<>();
-
-            // Iterate over all possible mappings of the task.
-            for(Mapping<Task, Resource> taskMappingSpec: specificationProvider.getMappings().getMappings(task)) {
-
-                // Check if currently not on this resource
-                if(!taskMappingSpec.getTarget().equals(currentSchedule.get(task).getResource())) {
-
-                    // Proposal for mapping only the task on another resource
-                    Mapping_ proposalTaskMapping = new Mapping_(task, taskMappingSpec.getTarget(), schedulerInput.getLocationRS());
-                    double ts_1 = getRuntime(currentSchedule.get(task)) - getRuntime(proposalTaskMapping);
-                    double additionalRSCost_1 = (- 1.0) * ts_1 * (schedulerInput.getResourcesRSInstances().get(schedulerInput.getLocationRS()).get(Attributes.COST_PER_HOUR.name()) / 3600.0);
-                    double ac_1 = getCost(proposalTaskMapping) - getCost(currentSchedule.get(task)) + additionalRSCost_1;
-                    Proposal proposalTask = new Proposal(Collections.singletonList(proposalTaskMapping), ts_1, ac_1);
-                    proposalTask.setTaskIncludes(Collections.singletonList(task));
-                    taskProposals.add(proposalTask);
-
-                    // Proposal for mapping the task and its successors
-                    if(!GraphUtils.getExitTaskNodes(specProvider.getEnactmentGraph()).contains(task)) {
-                        String rs = resourceMinimizingCommunication(taskMappingSpec.getTarget());
-                        List<Mapping_> currentScheduleTaskAndSuccessors = new ArrayList<>(Collections.singletonList(currentSchedule.get(task)));
-                        double maxOutputSuccessors = 0.0;
-                        for(Task s: GraphUtils.getSuccessorTaskNodes(specProvider.getEnactmentGraph(), task)) {
-                            currentScheduleTaskAndSuccessors.add(currentSchedule.get(s));
-                            maxOutputSuccessors = Math.max(maxOutputSuccessors, s.getAttribute(Attributes.OUTPUT_MB.name()));
-                        }
-                        List<Mapping_> proposalTaskAndSuccessorMappings = new ArrayList<>(Collections.singletonList(new Mapping_(task, taskMappingSpec.getTarget(), rs)));
-                        for(Task s: GraphUtils.getSuccessorTaskNodes(specProvider.getEnactmentGraph(), task)) {
-                            double minDurationSuccessor = Double.MAX_VALUE;
-                            for(Mapping<Task, Resource> m: specificationProvider.getMappings().getMappings(s)) {
-                                minDurationSuccessor = Math.min(minDurationSuccessor, getRuntime(new Mapping_(s, m.getTarget(), rs)));
-                            }
-                            double hasTime = lft.get(s) - est.get(s) - (getRuntime(currentSchedule.get(s)) - minDurationSuccessor);
-                            double minCost = Double.MAX_VALUE;
-                            Mapping_ bestMapping = null;
-                            for(Mapping<Task, Resource> m: specificationProvider.getMappings().getMappings(s)) {
-                                if(getRuntime(new Mapping_(s, m.getTarget(), rs)) <= hasTime + TOLERANCE && getCost(new Mapping_(s, m.getTarget(), rs)) < minCost)  {
-                                    minCost = getCost(new Mapping_(s, m.getTarget(), rs));
-                                    bestMapping = new Mapping_(s, m.getTarget(), rs);
-                                }
-                            }
-                            proposalTaskAndSuccessorMappings.add(bestMapping);
-                        }
-
-                        double additionalRSDataTransfer = getTransferTime(task.getAttribute(Attributes.INPUT_MB.name()), schedulerInput.getLocationRS(), rs) + getTransferTime(maxOutputSuccessors, schedulerInput.getLocationRS(), rs);
-                        double ts_2 = getRuntime(currentScheduleTaskAndSuccessors, 0.0) - getRuntime(proposalTaskAndSuccessorMappings, additionalRSDataTransfer);
-                        double additionalRSCost_2 = getRuntime(proposalTaskAndSuccessorMappings, additionalRSDataTransfer) * (schedulerInput.getResourcesRSInstances().get(rs).get(Attributes.COST_PER_HOUR.name()) / 3600.0);
-                        double ac_2 = getCost(proposalTaskAndSuccessorMappings, additionalRSCost_2) - getCost(currentScheduleTaskAndSuccessors, 0.0);
-                        Proposal pTaskAndSuccessors = new Proposal(proposalTaskAndSuccessorMappings, ts_2, ac_2);
-                        pTaskAndSuccessors.setTsPlain(getRuntime(proposalTaskAndSuccessorMappings, 0.0));
-                        pTaskAndSuccessors.setAcPlain(additionalRSCost_2);
-                        pTaskAndSuccessors.setTaskIncludes(Stream.concat(Stream.of(task), GraphUtils.getSuccessorTaskNodes(specProvider.getEnactmentGraph(), task).stream()).collect(Collectors.toList()));
-                        taskProposals.add(pTaskAndSuccessors);
-                    }
-                }
-            }
-            proposals.addAll(taskProposals);
+        for(Task task: getInitialWindow()) {
+            proposals.addAll(createProposals(task, est, lft));
         }
 
         // Line 3: adjust proposals [O(n^2)].
@@ -200,8 +249,331 @@ public class SchedulerDApollo extends SchedulerAbstract {
             // Line 6: exit if cost limit is not sufficient [O(1)].
             LOGGER.log(Level.INFO, "No suitable schedule meeting cost restriction.");
         }
+    }
 
-        LOGGER.log(Level.FINER, "Current Cost = " + this.cost);
+    /**
+     * Create the proposals of a task (for mapping the task and for mapping the task
+     * and its successors to other resources).
+     * [O(n^2)]
+     *
+     * @param task the task to create proposals for.
+     * @param est the EST of each task.
+     * @param lft the LFT of each task.
+     *
+     * @return the proposals of the task.
+     */
+    private List<Proposal> createProposals(Task task, HashMap<Task, Double> est, HashMap<Task, Double> lft) {
+        List<Proposal> taskProposals = new ArrayList<>();
+
+        // Iterate over all possible mappings of the task.
+        for(Mapping<Task, Resource> taskMappingSpec: specificationProvider.getMappings().getMappings(task)) {
+
+            // Check if currently not on this resource
+            if(!taskMappingSpec.getTarget().equals(currentSchedule.get(task).getResource())) {
+
+                // Proposal for mapping only the task on another resource
+                Mapping_ proposalTaskMapping = new Mapping_(task, taskMappingSpec.getTarget(), schedulerInput.getLocationRS());
+                double ts_1 = getRuntime(currentSchedule.get(task)) - getRuntime(proposalTaskMapping);
+                double additionalRSCost_1 = (- 1.0) * ts_1 * (schedulerInput.getResourcesRSInstances().get(schedulerInput.getLocationRS()).get(Attributes.COST_PER_HOUR.name()) / 3600.0);
+                double ac_1 = getCost(proposalTaskMapping) - getCost(currentSchedule.get(task)) + additionalRSCost_1;
+                Proposal proposalTask = new Proposal(Collections.singletonList(proposalTaskMapping), ts_1, ac_1);
+                proposalTask.setTaskIncludes(Collections.singletonList(task));
+                taskProposals.add(proposalTask);
+
+                // Proposal for mapping the task and its successors
+                if(!GraphUtils.getExitTaskNodes(specificationProvider.getEnactmentGraph()).contains(task)) {
+                    String rs = resourceMinimizingCommunication(taskMappingSpec.getTarget());
+                    List<Mapping_> currentScheduleTaskAndSuccessors = new ArrayList<>(Collections.singletonList(currentSchedule.get(task)));
+                    double maxOutputSuccessors = 0.0;
+                    for(Task s: GraphUtils.getSuccessorTaskNodes(specificationProvider.getEnactmentGraph(), task)) {
+                        currentScheduleTaskAndSuccessors.add(currentSchedule.get(s));
+                        maxOutputSuccessors = Math.max(maxOutputSuccessors, s.getAttribute(Attributes.OUTPUT_MB.name()));
+                    }
+                    List<Mapping_> proposalTaskAndSuccessorMappings = new ArrayList<>(Collections.singletonList(new Mapping_(task, taskMappingSpec.getTarget(), rs)));
+                    for(Task s: GraphUtils.getSuccessorTaskNodes(specificationProvider.getEnactmentGraph(), task)) {
+                        proposalTaskAndSuccessorMappings.add(getCheapestTimelyMapping(s, rs, est, lft));
+                    }
+
+                    double additionalRSDataTransfer = getTransferTime(task.getAttribute(Attributes.INPUT_MB.name()), schedulerInput.getLocationRS(), rs) + getTransferTime(maxOutputSuccessors, schedulerInput.getLocationRS(), rs);
+                    double ts_2 = getRuntime(currentScheduleTaskAndSuccessors, 0.0) - getRuntime(proposalTaskAndSuccessorMappings, additionalRSDataTransfer);
+                    double additionalRSCost_2 = getRuntime(proposalTaskAndSuccessorMappings, additionalRSDataTransfer) * (schedulerInput.getResourcesRSInstances().get(rs).get(Attributes.COST_PER_HOUR.name()) / 3600.0);
+                    double ac_2 = getCost(proposalTaskAndSuccessorMappings, additionalRSCost_2) - getCost(currentScheduleTaskAndSuccessors, 0.0);
+                    Proposal pTaskAndSuccessors = new Proposal(proposalTaskAndSuccessorMappings, ts_2, ac_2);
+                    pTaskAndSuccessors.setTsPlain(getRuntime(proposalTaskAndSuccessorMappings, 0.0));
+                    pTaskAndSuccessors.setAcPlain(additionalRSCost_2);
+                    pTaskAndSuccessors.setTaskIncludes(Stream.concat(Stream.of(task), GraphUtils.getSuccessorTaskNodes(specificationProvider.getEnactmentGraph(), task).stream()).collect(Collectors.toList()));
+                    taskProposals.add(pTaskAndSuccessors);
+
+                    // Proposal for mapping a bounded sub-DAG (chain or fork-join region) rooted at the task
+                    if(schedulerInput.getClusterSize() > 1) {
+                        Proposal pCluster = createClusterProposal(task, taskMappingSpec.getTarget(), rs, est, lft);
+                        if(pCluster != null) {
+                            taskProposals.add(pCluster);
+                            clusterProposalCount++;
+                        }
+                    }
+                }
+            }
+        }
+        return taskProposals;
+    }
+
+    /**
+     * Get the cheapest mapping of the task (using the given rs instance) which still
+     * fits into the time the task has available.
+     * [O(m)]
+     *
+     * @param task the task to map.
+     * @param rs the rs instance resource.
+     * @param est the earliest starting times.
+     * @param lft the latest finishing times.
+     *
+     * @return the cheapest mapping (null if no mapping fits).
+     */
+    private Mapping_ getCheapestTimelyMapping(Task task, String rs, HashMap<Task, Double> est, HashMap<Task, Double> lft) {
+        double minDuration = Double.MAX_VALUE;
+        for(Mapping<Task, Resource> m: specificationProvider.getMappings().getMappings(task)) {
+            minDuration = Math.min(minDuration, getRuntime(new Mapping_(task, m.getTarget(), rs)));
+        }
+        double hasTime = lft.get(task) - est.get(task) - (getRuntime(currentSchedule.get(task)) - minDuration);
+        double minCost = Double.MAX_VALUE;
+        Mapping_ bestMapping = null;
+        for(Mapping<Task, Resource> m: specificationProvider.getMappings().getMappings(task)) {
+            if(getRuntime(new Mapping_(task, m.getTarget(), rs)) <= hasTime + TOLERANCE && getCost(new Mapping_(task, m.getTarget(), rs)) < minCost)  {
+                minCost = getCost(new Mapping_(task, m.getTarget(), rs));
+                bestMapping = new Mapping_(task, m.getTarget(), rs);
+            }
+        }
+        return bestMapping;
+    }
+
+    /**
+     * Get the cluster rooted at the given task: a sub-DAG following the successors
+     * in which every task besides the root only has predecessors inside the cluster
+     * (chains and fork-join regions), bounded by the cluster size.
+     * [O(c*n)]
+     *
+     * @param root the root task of the cluster.
+     *
+     * @return the tasks of the cluster (in breadth-first order, root first).
+     */
+    private List<Task> getCluster(Task root) {
+        List<Task> cluster = new ArrayList<>(Collections.singletonList(root));
+        Set<Task> members = new HashSet<>(cluster);
+        for(int i = 0; i < cluster.size() && cluster.size() < schedulerInput.getClusterSize(); i++) {
+            for(Task s: GraphUtils.getSuccessorTaskNodes(specificationProvider.getEnactmentGraph(), cluster.get(i))) {
+                if(cluster.size() >= schedulerInput.getClusterSize()) {
+                    break;
+                }
+                if(!members.contains(s) && members.containsAll(GraphUtils.getPredecessorTaskNodes(specificationProvider.getEnactmentGraph(), s))) {
+                    cluster.add(s);
+                    members.add(s);
+                }
+            }
+        }
+        return cluster;
+    }
+
+    /**
+     * Create the proposal for mapping the cluster rooted at the given task onto a
+     * single rs instance. Data is only transferred to the rs instance at the root
+     * and back at the exits of the cluster, and ts/ac are computed on the timing
+     * model of the whole cluster.
+     * [O(c^2*n)]
+     *
+     * @param task the root task of the cluster.
+     * @param target the resource of the root task.
+     * @param rs the rs instance resource of the cluster.
+     * @param est the earliest starting times.
+     * @param lft the latest finishing times.
+     *
+     * @return the cluster proposal (null if the cluster does not extend beyond
+     * the task and its successors or a task of the cluster can not be mapped).
+     */
+    private Proposal createClusterProposal(Task task, Resource target, String rs, HashMap<Task, Double> est, HashMap<Task, Double> lft) {
+        List<Task> cluster = getCluster(task);
+        Set<Task> taskAndSuccessors = new HashSet<>(GraphUtils.getSuccessorTaskNodes(specificationProvider.getEnactmentGraph(), task));
+        taskAndSuccessors.add(task);
+        if(cluster.size() < 2 || taskAndSuccessors.equals(new HashSet<>(cluster))) {
+            return null;
+        }
+        List<Mapping_> currentScheduleCluster = new ArrayList<>();
+        List<Mapping_> proposalClusterMappings = new ArrayList<>(Collections.singletonList(new Mapping_(task, target, rs)));
+        double maxOutputExits = 0.0;
+        for(Task t: cluster) {
+            currentScheduleCluster.add(currentSchedule.get(t));
+            if(t != task) {
+                Mapping_ bestMapping = getCheapestTimelyMapping(t, rs, est, lft);
+                if(bestMapping == null) {
+                    return null;
+                }
+                proposalClusterMappings.add(bestMapping);
+            }
+        }
+        for(Task t: getClusterExits(cluster)) {
+            maxOutputExits = Math.max(maxOutputExits, t.getAttribute(Attributes.OUTPUT_MB.name()));
+        }
+
+        double additionalRSDataTransfer = getTransferTime(task.getAttribute(Attributes.INPUT_MB.name()), schedulerInput.getLocationRS(), rs) + getTransferTime(maxOutputExits, schedulerInput.getLocationRS(), rs);
+        double runtimeCluster = getRuntime(proposalClusterMappings, additionalRSDataTransfer);
+        double ts = getRuntime(currentScheduleCluster, 0.0) - runtimeCluster;
+        double additionalRSCost = runtimeCluster * (schedulerInput.getResourcesRSInstances().get(rs).get(Attributes.COST_PER_HOUR.name()) / 3600.0);
+        double ac = getCost(proposalClusterMappings, additionalRSCost) - getCost(currentScheduleCluster, 0.0);
+        Proposal pCluster = new Proposal(proposalClusterMappings, ts, ac);
+        pCluster.setTsPlain(getRuntime(proposalClusterMappings, 0.0));
+        pCluster.setAcPlain(additionalRSCost);
+        pCluster.setTaskIncludes(cluster);
+        pCluster.setCluster(true);
+        return pCluster;
+    }
+
+    /**
+     * Get the exits of the cluster: the tasks of the cluster with a successor
+     * outside of the cluster or without successors (exits of the workflow).
+     * [O(c*n)]
+     *
+     * @param cluster the tasks of the cluster.
+     *
+     * @return the exits of the cluster.
+     */
+    private List<Task> getClusterExits(List<Task> cluster) {
+        List<Task> exits = new ArrayList<>();
+        for(Task t: cluster) {
+            Collection<Task> successors = GraphUtils.getSuccessorTaskNodes(specificationProvider.getEnactmentGraph(), t);
+            if(successors.isEmpty() || !cluster.containsAll(successors)) {
+                exits.add(t);
+            }
+        }
+        return exits;
+    }
+
+    /**
+     * Get the tasks for which proposals are created initially: all tasks, or, in
+     * lazy mode, the tasks within the horizon around the entry tasks.
+     * [O(n)]
+     *
+     * @return the tasks for which proposals are created initially.
+     */
+    private List<Task> getInitialWindow() {
+        List<Task> allTasks = GraphUtils.getTasks(specificationProvider.getEnactmentGraph());
+        if(schedulerInput.getProposalHorizon() < 0) {
+            return allTasks;
+        }
+        Set<Task> window = getWindow(GraphUtils.getEntryTaskNodes(specificationProvider.getEnactmentGraph()), schedulerInput.getProposalHorizon());
+        return allTasks.stream().filter(window::contains).collect(Collectors.toList());
+    }
+
+    /**
+     * Get the tasks within the given graph distance (following the successors)
+     * of the given tasks.
+     * [O(w)]
+     *
+     * @param start the tasks to start from.
+     * @param distance the maximal graph distance.
+     *
+     * @return the tasks within the distance (in breadth-first order).
+     */
+    private Set<Task> getWindow(Collection<Task> start, int distance) {
+        Set<Task> window = new LinkedHashSet<>(start);
+        List<Task> level = new ArrayList<>(start);
+        for(int d = 0; d < distance && !level.isEmpty(); d++) {
+            List<Task> next = new ArrayList<>();
+            for(Task t: level) {
+                for(Task s: GraphUtils.getSuccessorTaskNodes(specificationProvider.getEnactmentGraph(), t)) {
+                    if(window.add(s)) {
+                        next.add(s);
+                    }
+                }
+            }
+            level = next;
+        }
+        return window;
+    }
+
+    /**
+     * Create the proposals of the tasks which enter the window around the ready
+     * frontier when the given task is finalized (the task itself and its
+     * successors within the horizon).
+     * [O(w^2)]
+     *
+     * @param finalizedTask the finalized task.
+     */
+    private void materializeProposals(Task finalizedTask) {
+        List<Task> newTasks = new ArrayList<>();
+        for(Task t: getWindow(Collections.singletonList(finalizedTask), schedulerInput.getProposalHorizon() + 1)) {
+            if(materializedTasks.add(t) && (t.equals(finalizedTask) || (!currentSchedule.get(t).isFinalized() && !currentSchedule.get(t).isSetByOtherProposal()))) {
+                newTasks.add(t);
+            }
+        }
+        if(newTasks.isEmpty()) {
+            return;
+        }
+        // EST and LFT are only recalculated for the new tasks and their successors [O(w^2)].
+        updateWindowTiming(getWindow(newTasks, 1));
+        for(Task t: newTasks) {
+            proposals.addAll(createProposals(t, windowEst, windowLft));
+        }
+        proposalsUpdated = true;
+    }
+
+    /**
+     * Get the fingerprint of the scheduling problem, covering the structure of the
+     * enactment graph, the mappings, the attributes the planning depends on (data
+     * sizes of the tasks, runtimes of the mappings, cost, bandwidth, and acquisition
+     * delay of the resources), and the scheduler input.
+     * [O(n*r)]
+     *
+     * @param jsonInput input json object.
+     *
+     * @return the fingerprint.
+     */
+    private String getFingerprint(JsonObject jsonInput) {
+        StringBuilder description = new StringBuilder();
+        List<Task> vertices = new ArrayList<>(specificationProvider.getEnactmentGraph().getVertices());
+        vertices.sort(Comparator.comparing(Task::getId));
+        for(Task t: vertices) {
+            description.append(t.getId());
+            appendAttributes(description, t, Attributes.INPUT_MB, Attributes.OUTPUT_MB);
+            description.append('>');
+            specificationProvider.getEnactmentGraph().getSuccessors(t).stream().map(Task::getId).sorted()
+                .forEach(id -> description.append(id).append(','));
+            description.append('@');
+            if(!(t instanceof Communication)) {
+                List<Mapping<Task, Resource>> mappings = new ArrayList<>(specificationProvider.getMappings().getMappings(t));
+                mappings.sort(Comparator.comparing((Mapping<Task, Resource> m) -> m.getTarget().getId()).thenComparing(Mapping::getId));
+                for(Mapping<Task, Resource> m: mappings) {
+                    description.append(m.getTarget().getId());
+                    appendAttributes(description, m, Attributes.RUNTIME);
+                    description.append(',');
+                }
+            }
+            description.append(';');
+        }
+        List<Resource> resources = new ArrayList<>(specificationProvider.getResourceGraph().getVertices());
+        resources.sort(Comparator.comparing(Resource::getId));
+        for(Resource r: resources) {
+            description.append(r.getId());
+            appendAttributes(description, r, Attributes.ACQUISITION_DELAY, Attributes.BANDWIDTH, Attributes.COST_PER_HOUR);
+            description.append(';');
+        }
+        description.append(EXCLUDE_DATA_TRANSFER_COST).append(';').append(jsonInput);
+        return ScheduleCache.fingerprint(description.toString());
+    }
+
+    /**
+     * Append the given attributes (in the order of their names) of an element to
+     * the description of the scheduling problem.
+     * [O(1)]
+     *
+     * @param description the description of the scheduling problem.
+     * @param element the element.
+     * @param attributes the attributes to append.
+     */
+    private void appendAttributes(StringBuilder description, Element element, Attributes... attributes) {
+        Arrays.stream(attributes).map(Attributes::name).sorted().forEach(name -> {
+            Object value = element.getAttribute(name);
+            description.append('[').append(name).append('=').append(value).append(']');
+        });
     }
 
     /**
@@ -212,6 +584,9 @@ public class SchedulerDApollo extends SchedulerAbstract {
      */
     public void schedule(Task taskToSchedule) {
 
+        // Start of the step (the time budget covers all tasks scheduled in this step)
+        long stepStart = System.nanoTime();
+
         Queue<Task> toSchedule = new LinkedList<>(Collections.singletonList(taskToSchedule));
 
         // Iterate over each task that should be scheduled in this step (each task will be scheduled exactly once).
@@ -227,15 +602,31 @@ public class SchedulerDApollo extends SchedulerAbstract {
             // Schedule for task will be finalized
             currentSchedule.get(task).setFinalized(true);
 
+            // Create the proposals of the tasks entering the window around the frontier [O(w^2)].
+            if(schedulerInput.getProposalHorizon() >= 0) {
+                materializeProposals(task);
+            }
+
             // Line 8: update runtime of finished tasks [O(n)].
             updateRuntimeOfFinishedTasks();
 
             // Line 9: adjust proposals [O(n^2)].
+            Set<Proposal> evaluated = null;
             if(proposalsUpdated) {
-                adjustProposals(proposals);
+                evaluated = adjustProposals(proposals, stepStart, getStepTimeBudgetNs());
+                if(evaluated.size() < proposals.size()) {
+                    budgetExceededSteps++;
+                    skippedProposalEvaluations += proposals.size() - evaluated.size();
+                } else {
+                    evaluated = null;
+                    if(schedulerInput.isParetoPruning()) {
+                        pruneDominatedProposals();
+                    }
+                }
             }
 
             // Line 10: sort proposals by their ts / ac value [O(n*log(n))].
+            maxProposalCount = Math.max(maxProposalCount, proposals.size());
             proposals.sort(Comparator.comparing(Proposal::getTradeoff).reversed());
 
             // Line 11: identify subset of proposals [O(n^2)].
@@ -243,7 +634,7 @@ public class SchedulerDApollo extends SchedulerAbstract {
             List<Proposal> involvedProposals = new ArrayList<>();
             double tmpCost = cost;
             for (Proposal proposal : proposals) {
-                if ((proposal.getAc() + tmpCost <= schedulerInput.getCostLimit() || proposal.getAc() < 0) && !involvedProposals.contains(proposal)) {
+                if ((evaluated == null || evaluated.contains(proposal)) && (proposal.getAc() + tmpCost <= schedulerInput.getCostLimit() || proposal.getAc() < 0) && !involvedProposals.contains(proposal)) {
                     subset.add(proposal);
                     involvedProposals.add(proposal);
                     involvedProposals.addAll(proposal.getIncludesAll());
@@ -301,6 +692,10 @@ public class SchedulerDApollo extends SchedulerAbstract {
                 proposals = toKeep;
                 proposalsUpdated = true;
 
+                if(validProposal.isCluster()) {
+                    appliedClusterProposalCount++;
+                }
+
                 // Line 14: adjust cost [O(1)].
                 double costSavingsRSInstance = validProposal.getTs() * (schedulerInput.getResourcesRSInstances().get(schedulerInput.getLocationRS()).get(Attributes.COST_PER_HOUR.name()) / 3600);
                 cost += validProposal.getAc() - costSavingsRSInstance;
@@ -321,8 +716,89 @@ public class SchedulerDApollo extends SchedulerAbstract {
                 LOGGER.log(Level.FINER, "Keep " + getMappingString(Collections.singletonList(currentSchedule.get(task))) + ".");
             }
 
+            // Proposals which were not evaluated within the time budget have to be adjusted in the next step
+            if(evaluated != null) {
+                proposalsUpdated = true;
+            }
+
             LOGGER.log(Level.FINER, "Current Cost = " + this.cost);
         }
+        maxStepTimeMs = Math.max(maxStepTimeMs, (System.nanoTime() - stepStart) / 1E6);
+    }
+
+    /**
+     * Keep only the Pareto-efficient proposals (regarding ts and ac) per task and
+     * RS instance. Pruned proposals are restored as soon as the proposal dominating
+     * them is removed or does not dominate them anymore (after ts/ac changes).
+     * [O(n*log(n))]
+     */
+    private void pruneDominatedProposals() {
+
+        // Re-check the dominance of the pruned proposals [O(n)].
+        Set<Proposal> live = Collections.newSetFromMap(new IdentityHashMap<>());
+        live.addAll(proposals);
+        Iterator<Map.Entry<Proposal, Proposal>> iterator = prunedProposals.entrySet().iterator();
+        while(iterator.hasNext()) {
+            Map.Entry<Proposal, Proposal> entry = iterator.next();
+            if(!live.contains(entry.getValue()) || !dominates(entry.getValue(), entry.getKey())) {
+                iterator.remove();
+                if(entry.getKey().getMappings().stream().noneMatch(m -> currentSchedule.get(m.getTask()).isSetByOtherProposal())) {
+                    proposals.add(entry.getKey());
+                    proposalsUpdated = true;
+                }
+            }
+        }
+
+        // Group the proposals by task and RS instance [O(n)].
+        Map<String, List<Proposal>> groups = new HashMap<>();
+        for(Proposal p: proposals) {
+            groups.computeIfAbsent(p.getMappings().get(0).getTask().getId() + "--" + p.getMappings().get(0).getRSInstanceResource(),
+                k -> new ArrayList<>()).add(p);
+        }
+
+        // Sweep over each group in the order of decreasing ts [O(n*log(n))].
+        Set<Proposal> dominated = Collections.newSetFromMap(new IdentityHashMap<>());
+        for(List<Proposal> group: groups.values()) {
+            group.sort(Comparator.comparing(Proposal::getTs).reversed().thenComparing(Proposal::getAc));
+            Proposal best = null;
+            for(Proposal p: group) {
+                if(best != null && dominates(best, p)) {
+                    dominated.add(p);
+                    prunedProposals.put(p, best);
+                    pruningCount++;
+                } else if(best == null || p.getAc() < best.getAc()) {
+                    best = p;
+                }
+            }
+        }
+        if(!dominated.isEmpty()) {
+            proposals.removeIf(dominated::contains);
+        }
+    }
+
+    /**
+     * Check whether a proposal dominates another one (at least the same runtime
+     * savings at most the same additional cost, and strictly better in one of them).
+     * [O(1)]
+     *
+     * @param dominating the potentially dominating proposal.
+     * @param other the other proposal.
+     *
+     * @return true iff the first proposal dominates the other one.
+     */
+    private boolean dominates(Proposal dominating, Proposal other) {
+        return dominating.getTs() >= other.getTs() && dominating.getAc() <= other.getAc() &&
+            (dominating.getTs() > other.getTs() || dominating.getAc() < other.getAc());
+    }
+
+    /**
+     * Get the time budget of a scheduling step.
+     * [O(1)]
+     *
+     * @return the time budget in ns (Long.MAX_VALUE if the time is not limited).
+     */
+    private long getStepTimeBudgetNs() {
+        return schedulerInput.getStepTimeBudgetMs() > 0 ? (long) (schedulerInput.getStepTimeBudgetMs() * 1E6) : Long.MAX_VALUE;
     }
 
     /**
@@ -332,22 +808,65 @@ public class SchedulerDApollo extends SchedulerAbstract {
      * @param proposals to be adjusted
      */
     private void adjustProposals(List<Proposal> proposals) {
+        adjustProposals(proposals, System.nanoTime(), Long.MAX_VALUE);
+    }
 
-        // Alg. 2 - Line 1: calculate est and lft of the whole workflow O[n^2].
-        List<Task> allTasks = GraphUtils.getTasks(specificationProvider.getEnactmentGraph());
-        List<Task> exitTasks = GraphUtils.getExitTaskNodes(specificationProvider.getEnactmentGraph());
-        List<Task> entryTasks = GraphUtils.getEntryTaskNodes(specificationProvider.getEnactmentGraph());
-        List<Task> remainingTasks = allTasks.stream().filter(t -> !exitTasks.contains(t) && !entryTasks.contains(t)).collect(Collectors.toList());
-        HashMap<Task, Double> est = calculateEST(entryTasks, Stream.concat(remainingTasks.stream(), exitTasks.stream()).collect(Collectors.toList()));
-        HashMap<Task, Double> lft = calculateLFT(est, Stream.concat(remainingTasks.stream(), entryTasks.stream()).collect(Collectors.toList()), exitTasks);
+    /**
+     * Adjust proposals (Algorithm 2) within the given time budget. If the time is
+     * limited, the proposals are adjusted in the order of their (previous) trade-off
+     * until the budget runs out.
+     * [O(n^2), O(w^2) in lazy mode]
+     *
+     * @param proposals to be adjusted
+     * @param start the start of the budget (System.nanoTime()).
+     * @param budgetNs the time budget in ns (Long.MAX_VALUE if the time is not limited).
+     *
+     * @return the adjusted proposals.
+     */
+    private Set<Proposal> adjustProposals(List<Proposal> proposals, long start, long budgetNs) {
+
+        // Alg. 2 - Line 1: calculate est and lft of the whole workflow O[n^2] (in lazy mode,
+        // only within the window of the proposals O[w^2]).
+        HashMap<Task, Double> est;
+        HashMap<Task, Double> lft;
+        if(schedulerInput.getProposalHorizon() >= 0) {
+            Set<Task> window = new HashSet<>();
+            for(Proposal p: proposals) {
+                p.getMappings().forEach(m -> window.add(m.getTask()));
+            }
+            updateWindowTiming(window);
+            est = windowEst;
+            lft = windowLft;
+        } else {
+            List<Task> allTasks = GraphUtils.getTasks(specificationProvider.getEnactmentGraph());
+            List<Task> exitTasks = GraphUtils.getExitTaskNodes(specificationProvider.getEnactmentGraph());
+            List<Task> entryTasks = GraphUtils.getEntryTaskNodes(specificationProvider.getEnactmentGraph());
+            List<Task> remainingTasks = allTasks.stream().filter(t -> !exitTasks.contains(t) && !entryTasks.contains(t)).collect(Collectors.toList());
+            est = calculateEST(entryTasks, Stream.concat(remainingTasks.stream(), exitTasks.stream()).collect(Collectors.toList()));
+            lft = calculateLFT(est, Stream.concat(remainingTasks.stream(), entryTasks.stream()).collect(Collectors.toList()), exitTasks);
+        }
+
+        // Evaluation order: the most promising proposals first if the time is limited [O(n*log(n))].
+        List<Integer> order = IntStream.range(0, proposals.size()).boxed().collect(Collectors.toList());
+        if(budgetNs != Long.MAX_VALUE) {
+            order.sort(Comparator.comparing((Integer idx) -> proposals.get(idx).getTradeoff()).reversed());
+        }
+        Set<Proposal> adjusted = Collections.newSetFromMap(new IdentityHashMap<>());
 
         // Alg. 2 - Line 2: iterate over all proposals [O(n)].
-        for(int i = 0; i < proposals.size(); i++) {
+        for(int i: order) {
+            if(System.nanoTime() - start > budgetNs) {
+                break;
+            }
             double ts = proposals.get(i).getTsPlain();
             double ac = proposals.get(i).getAcPlain();
 
             // Calculate data transfer time of affected RS instances.
-            if(proposals.get(i).getMappings().size() > 1) {
+            if(proposals.get(i).isCluster()) {
+                double[] adjustedCluster = adjustClusterProposal(proposals.get(i), est, lft);
+                ts = adjustedCluster[0];
+                ac = adjustedCluster[1];
+            } else if(proposals.get(i).getMappings().size() > 1) {
                 String rs = proposals.get(i).getMappings().get(0).getRSInstanceResource();
                 Task t = proposals.get(i).getMappings().get(0).getTask();
                 double requiredDataTransferTimePredecessors = 0.0;
@@ -413,7 +932,62 @@ public class SchedulerDApollo extends SchedulerAbstract {
             proposals.get(i).setIncludes(includes);
             proposals.get(i).setIncludesAll(includesAll);
             proposals.get(i).calculateTradeOff();
+            adjusted.add(proposals.get(i));
         }
+        return adjusted;
+    }
+
+    /**
+     * Adjust the plain ts and ac of a cluster proposal to the current schedule:
+     * data is transferred to the rs instance of the cluster from the predecessors
+     * of the root and from the rs instance back to the successors of the cluster
+     * exits (or to the rs instance of the location for exits of the workflow).
+     * [O(c*n)]
+     *
+     * @param proposal the cluster proposal.
+     * @param est the EST of each task.
+     * @param lft the LFT of each task.
+     *
+     * @return the adjusted ts and ac of the proposal.
+     */
+    private double[] adjustClusterProposal(Proposal proposal, HashMap<Task, Double> est, HashMap<Task, Double> lft) {
+        String rs = proposal.getMappings().get(0).getRSInstanceResource();
+        Task root = proposal.getMappings().get(0).getTask();
+        List<Task> cluster = proposal.getTaskIncludes();
+
+        // Only the root has predecessors outside of the cluster [O(n)].
+        double requiredDataTransferTimePredecessors = 0.0;
+        for(Task p: GraphUtils.getPredecessorTaskNodes(specificationProvider.getEnactmentGraph(), root)) {
+            if(!currentSchedule.get(p).getRSInstanceResource().equals(rs)) {
+                requiredDataTransferTimePredecessors = Math.max(requiredDataTransferTimePredecessors, getTransferTime(root.getAttribute(Attributes.INPUT_MB.name()), currentSchedule.get(p).getRSInstanceResource(), rs));
+            }
+        }
+
+        // The output of the exits is transferred to the successors outside of the cluster [O(c*n)].
+        double requiredDataTransferTimeSuccessors = 0.0;
+        for(Task e: getClusterExits(cluster)) {
+            Collection<Task> successors = GraphUtils.getSuccessorTaskNodes(specificationProvider.getEnactmentGraph(), e);
+            if(successors.isEmpty()) {
+                requiredDataTransferTimeSuccessors = Math.max(requiredDataTransferTimeSuccessors, getTransferTime(e.getAttribute(Attributes.OUTPUT_MB.name()), schedulerInput.getLocationRS(), rs));
+            }
+            for(Task s: successors) {
+                if(!cluster.contains(s)) {
+                    requiredDataTransferTimeSuccessors = Math.max(requiredDataTransferTimeSuccessors, getTransferTime(e.getAttribute(Attributes.OUTPUT_MB.name()), currentSchedule.get(s).getRSInstanceResource(), rs));
+                }
+            }
+        }
+        double requiredDataTransferTime = requiredDataTransferTimePredecessors + requiredDataTransferTimeSuccessors;
+        double ac = (proposal.getTsPlain() + requiredDataTransferTime) * (schedulerInput.getResourcesRSInstances().get(rs).get(Attributes.COST_PER_HOUR.name()) / 3600.0);
+
+        // Runtime saving of the whole cluster minus the spare time of the cluster [O(c)].
+        double ts = proposal.getTsPlain();
+        if(!currentSchedule.get(root).getResource().equals(proposal.getMappings().get(0).getResource())) {
+            List<Mapping_> currentScheduleCluster = cluster.stream().map(currentSchedule::get).collect(Collectors.toList());
+            double runtimeCurrent = getRuntime(currentScheduleCluster, 0.0);
+            double spareTime = getLFT(lft, proposal) - getEST(est, proposal) - runtimeCurrent;
+            ts = runtimeCurrent - (proposal.getTsPlain() + requiredDataTransferTime) - spareTime;
+        }
+        return new double[]{ts, ac};
     }
 
     /**
@@ -481,6 +1055,65 @@ public class SchedulerDApollo extends SchedulerAbstract {
             resourcesRSInstances.put(RSResourceTypeObj.get("id").getAsString(), resourcesRSInstanceDetail);
         }
         schedulerInput.setResourcesRSInstances(resourcesRSInstances);
+
+        // Optional time budget per scheduling step
+        if(input.has("stepTimeBudgetMs")) {
+            schedulerInput.setStepTimeBudgetMs(input.get("stepTimeBudgetMs").getAsDouble());
+        }
+
+        // Optional pruning of dominated proposals
+        if(input.has("paretoPruning")) {
+            schedulerInput.setParetoPruning(input.get("paretoPruning").getAsBoolean());
+        }
+
+        // Optional lazy creation of proposals within a horizon around the ready frontier
+        if(input.has("proposalHorizon")) {
+            schedulerInput.setProposalHorizon(input.get("proposalHorizon").getAsInt());
+        }
+
+        // Optional proposals for clustered sub-DAGs
+        if(input.has("clusterSize")) {
+            schedulerInput.setClusterSize(input.get("clusterSize").getAsInt());
+        }
+
+        // Optional bandwidth and round-trip time per link between resources (task resources or RS instances)
+        if(input.has("links")) {
+            JsonObject linksObj = input.get("links").getAsJsonObject();
+            JsonArray linkEntries = linksObj.has("entries") ? linksObj.get("entries").getAsJsonArray() : new JsonArray();
+            List<String> linkResourceIds = new ArrayList<>();
+            for(JsonElement link: linkEntries) {
+                for(String endpoint: Arrays.asList("from", "to")) {
+                    String resourceId = link.getAsJsonObject().get(endpoint).getAsString();
+                    if(specificationProvider.getResourceGraph().getVertex(resourceId) == null && !resourcesRSInstances.containsKey(resourceId)) {
+                        throw new IllegalArgumentException("Unknown resource of a link: " + resourceId);
+                    }
+                    linkResourceIds.add(resourceId);
+                }
+            }
+            LinkMatrix linkMatrix = new LinkMatrix(linkResourceIds,
+                linksObj.has("defaultBandwidth") ? linksObj.get("defaultBandwidth").getAsDouble() : Double.NaN,
+                linksObj.has("defaultRtt") ? linksObj.get("defaultRtt").getAsDouble() : 0.0);
+            for(JsonElement link: linkEntries) {
+                JsonObject linkObj = link.getAsJsonObject();
+                linkMatrix.setLink(linkObj.get("from").getAsString(), linkObj.get("to").getAsString(),
+                    linkObj.get("bandwidth").getAsDouble(), linkObj.has("rtt") ? linkObj.get("rtt").getAsDouble() : Double.NaN);
+            }
+            schedulerInput.setLinkMatrix(linkMatrix);
+        }
+
+        // Optional contention of concurrent transfers over the same rs instance
+        if(input.has("transferContention")) {
+            schedulerInput.setTransferContention(input.get("transferContention").getAsBoolean());
+        }
+
+        // Optional cache for the initial planning
+        if(input.has("scheduleCache")) {
+            JsonObject scheduleCacheObj = input.get("scheduleCache").getAsJsonObject();
+            schedulerInput.setScheduleCacheSize(scheduleCacheObj.get("maxEntries").getAsInt());
+            if(scheduleCacheObj.has("directory")) {
+                schedulerInput.setScheduleCacheDirectory(scheduleCacheObj.get("directory").getAsString());
+            }
+        }
         return schedulerInput;
     }
 
@@ -594,6 +1227,13 @@ public class SchedulerDApollo extends SchedulerAbstract {
         double bandwidthResource = specificationProvider.getResourceGraph().getVertex(mapping.getResource().getId()).getAttribute(Attributes.BANDWIDTH.name());
         double bandwidthRSResource = schedulerInput.getResourcesRSInstances().get(mapping.getRSInstanceResource()).get(Attributes.BANDWIDTH.name());
 
+        if(schedulerInput.getLinkMatrix() != null) {
+            String resource = mapping.getResource().getId();
+            String rs = mapping.getRSInstanceResource();
+            return schedulerInput.getLinkMatrix().getTransferTime(inputMB, rs, bandwidthRSResource, resource, bandwidthResource) +
+                schedulerInput.getLinkMatrix().getTransferTime(outputMB, resource, bandwidthResource, rs, bandwidthRSResource);
+        }
+
         double transferTimeIn = inputMB / Math.min(bandwidthResource / 8.0, bandwidthRSResource / 8.0);
         double transferTimeOut = outputMB / Math.min(bandwidthResource / 8.0, bandwidthRSResource / 8.0);
         return transferTimeIn + transferTimeOut;
@@ -614,6 +1254,9 @@ public class SchedulerDApollo extends SchedulerAbstract {
         double bandwidthRS1 = schedulerInput.getResourcesRSInstances().get(rs1).get(Attributes.BANDWIDTH.name());
         double bandwidthRS2 = schedulerInput.getResourcesRSInstances().get(rs2).get(Attributes.BANDWIDTH.name());
 
+        if(schedulerInput.getLinkMatrix() != null) {
+            return schedulerInput.getLinkMatrix().getTransferTime(dataSize, rs1, bandwidthRS1, rs2, bandwidthRS2);
+        }
         return dataSize / Math.min(bandwidthRS1 / 8.0, bandwidthRS2 / 8.0);
     }
 
@@ -691,12 +1334,185 @@ public class SchedulerDApollo extends SchedulerAbstract {
     }
 
     /**
-     * Calculate the EST (Earliest Start Time) of each task in the workflow.
+     * Recalculate the EST and LFT of the tasks within the given window (lazy mode).
+     * Tasks outside of the window keep their last values and serve as the boundary
+     * of the recalculation (transfer contention is only considered among the tasks
+     * of the window). The values of all tasks are calculated once, when the window
+     * timing is used for the first time.
+     * [O(w^2)]
+     *
+     * @param window the tasks to recalculate the EST and LFT for.
+     */
+    private void updateWindowTiming(Collection<Task> window) {
+        if(windowEst == null) {
+            List<Task> allTasks = GraphUtils.getTasks(specificationProvider.getEnactmentGraph());
+            windowExitTasks = GraphUtils.getExitTaskNodes(specificationProvider.getEnactmentGraph());
+            List<Task> entryTasks = GraphUtils.getEntryTaskNodes(specificationProvider.getEnactmentGraph());
+            List<Task> remainingTasks = allTasks.stream().filter(t -> !windowExitTasks.contains(t) && !entryTasks.contains(t)).collect(Collectors.toList());
+            windowEst = calculateEST(entryTasks, Stream.concat(remainingTasks.stream(), windowExitTasks.stream()).collect(Collectors.toList()));
+            windowLft = calculateLFT(windowEst, Stream.concat(remainingTasks.stream(), entryTasks.stream()).collect(Collectors.toList()), windowExitTasks);
+            return;
+        }
+
+        // Topological order of the window [O(w^2)].
+        List<Task> order = getTopologicalOrder(window);
+
+        // EST in topological order, with the last values (and delays) of the predecessors outside of the window [O(w^2)].
+        updateWindowEST(order, contentionDelays);
+        if(schedulerInput.isTransferContention()) {
+            HashMap<Task, Double> estWindow = new HashMap<>();
+            order.forEach(t -> estWindow.put(t, windowEst.get(t)));
+            Map<Task, Double> delays = getContentionDelays(estWindow);
+            order.forEach(t -> contentionDelays.put(t, delays.getOrDefault(t, 0.0)));
+            updateWindowEST(order, contentionDelays);
+        }
+
+        // LFT in reverse topological order, with the last values of the successors outside of the window [O(w^2)].
+        double makespan = 0.0;
+        for(Task e: windowExitTasks) {
+            makespan = Math.max(makespan, windowEst.get(e) + getRuntime(currentSchedule.get(e)) + contentionDelays.getOrDefault(e, 0.0));
+        }
+        for(int i = order.size() - 1; i >= 0; i--) {
+            Task t = order.get(i);
+            Collection<Task> successors = GraphUtils.getSuccessorTaskNodes(specification.getEnactmentGraph(), t);
+            double lft = successors.isEmpty() ? makespan : Double.MAX_VALUE;
+            for(Task s: successors) {
+                lft = Math.min(lft, windowLft.get(s) - getRuntime(currentSchedule.get(s)) - contentionDelays.getOrDefault(s, 0.0));
+            }
+            windowLft.put(t, lft);
+        }
+    }
+
+    /**
+     * Recalculate the EST of the given tasks (in topological order).
+     * [O(w^2)]
+     *
+     * @param order the tasks in topological order.
+     * @param delays additional delay of the tasks (e.g. caused by transfer contention).
+     */
+    private void updateWindowEST(List<Task> order, Map<Task, Double> delays) {
+        for(Task t: order) {
+            Collection<Task> predecessors = GraphUtils.getPredecessorTaskNodes(specification.getEnactmentGraph(), t);
+            double est;
+            if(predecessors.isEmpty()) {
+                est = getTransferTime(new Mapping_(t, currentSchedule.get(t).getResource(), schedulerInput.getLocationRS()), true, false);
+            } else {
+                est = 0.0;
+                for(Task p: predecessors) {
+                    double additionalRSDataTransfer = 0.0;
+                    if(!currentSchedule.get(t).getRSInstanceResource().equals(currentSchedule.get(p).getRSInstanceResource())) {
+                        additionalRSDataTransfer += getTransferTime(t.getAttribute(Attributes.INPUT_MB.name()), currentSchedule.get(t).getRSInstanceResource(), currentSchedule.get(p).getRSInstanceResource());
+                    }
+                    est = Math.max(est, windowEst.get(p) + getRuntime(currentSchedule.get(p)) + delays.getOrDefault(p, 0.0) + additionalRSDataTransfer);
+                }
+            }
+            windowEst.put(t, est);
+        }
+    }
+
+    /**
+     * Get the given tasks in topological order (regarding the dependencies among
+     * the given tasks).
+     * [O(w^2)]
+     *
+     * @param tasks the tasks to order.
+     *
+     * @return the tasks in topological order.
+     */
+    private List<Task> getTopologicalOrder(Collection<Task> tasks) {
+        Set<Task> members = new HashSet<>(tasks);
+        Map<Task, Integer> inDegree = new HashMap<>();
+        Queue<Task> queue = new LinkedList<>();
+        for(Task t: members) {
+            int degree = (int) GraphUtils.getPredecessorTaskNodes(specification.getEnactmentGraph(), t).stream().filter(members::contains).count();
+            inDegree.put(t, degree);
+            if(degree == 0) {
+                queue.add(t);
+            }
+        }
+        List<Task> order = new ArrayList<>();
+        while(!queue.isEmpty()) {
+            Task t = queue.poll();
+            order.add(t);
+            for(Task s: GraphUtils.getSuccessorTaskNodes(specification.getEnactmentGraph(), t)) {
+                if(members.contains(s) && inDegree.merge(s, -1, Integer::sum) == 0) {
+                    queue.add(s);
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Calculate the EST (Earliest Start Time) of each task in the workflow. If
+     * transfer contention is enabled, the EST values are recalculated with the
+     * transfers slowed down by the transfers they share an rs instance with (the
+     * resulting delays are kept for the LFT calculation).
      * [O(n^2)]
      *
      * @return EST of each task.
      */
     private HashMap<Task, Double> calculateEST(List<Task> entryTasks, List<Task> remaining){
+        HashMap<Task, Double> est = calculateEST(entryTasks, remaining, Collections.emptyMap());
+        contentionDelays = new HashMap<>();
+        if(schedulerInput.isTransferContention()) {
+            contentionDelays.putAll(getContentionDelays(est));
+            est = calculateEST(entryTasks, remaining, contentionDelays);
+        }
+        return est;
+    }
+
+    /**
+     * Get the delay of each task caused by its transfers sharing the bandwidth of
+     * the rs instance with concurrent transfers (based on the given EST values).
+     * [O(n*log(n))]
+     *
+     * @param est the EST values without contention.
+     *
+     * @return the contention delay of each task.
+     */
+    private Map<Task, Double> getContentionDelays(HashMap<Task, Double> est) {
+
+        // Input and output transfer intervals of the tasks, grouped by rs instance [O(n)].
+        Map<String, List<Task>> transferTasks = new HashMap<>();
+        Map<String, List<double[]>> transferIntervals = new HashMap<>();
+        for(Map.Entry<Task, Double> entry: est.entrySet()) {
+            Mapping_ mapping = currentSchedule.get(entry.getKey());
+            double transferIn = getTransferTime(mapping, true, false);
+            double transferOut = getTransferTime(mapping, false, true);
+            double startIn = entry.getValue() + specificationProvider.getResourceGraph().getVertex(mapping.getResource().getId()).<Double>getAttribute(Attributes.ACQUISITION_DELAY.name());
+            double endOut = entry.getValue() + getRuntime(mapping);
+            List<Task> tasks = transferTasks.computeIfAbsent(mapping.getRSInstanceResource(), rs -> new ArrayList<>());
+            List<double[]> intervals = transferIntervals.computeIfAbsent(mapping.getRSInstanceResource(), rs -> new ArrayList<>());
+            tasks.add(entry.getKey());
+            intervals.add(new double[]{startIn, startIn + transferIn});
+            tasks.add(entry.getKey());
+            intervals.add(new double[]{endOut - transferOut, endOut});
+        }
+
+        // Sweep over the overlapping intervals of each rs instance [O(n*log(n))].
+        Map<Task, Double> delays = new HashMap<>();
+        for(Map.Entry<String, List<double[]>> entry: transferIntervals.entrySet()) {
+            List<double[]> intervals = entry.getValue();
+            double[] start = intervals.stream().mapToDouble(interval -> interval[0]).toArray();
+            double[] end = intervals.stream().mapToDouble(interval -> interval[1]).toArray();
+            double[] slowdowns = TransferContention.getSlowdowns(start, end);
+            for(int i = 0; i < intervals.size(); i++) {
+                delays.merge(transferTasks.get(entry.getKey()).get(i), (slowdowns[i] - 1.0) * (end[i] - start[i]), Double::sum);
+            }
+        }
+        return delays;
+    }
+
+    /**
+     * Calculate the EST (Earliest Start Time) of each task in the workflow.
+     * [O(n^2)]
+     *
+     * @param delays additional delay of the tasks (e.g. caused by transfer contention).
+     *
+     * @return EST of each task.
+     */
+    private HashMap<Task, Double> calculateEST(List<Task> entryTasks, List<Task> remaining, Map<Task, Double> delays){
 
         HashMap<Task, Double> est = new HashMap<>();
 
@@ -731,7 +1547,7 @@ public class SchedulerDApollo extends SchedulerAbstract {
                 if(!currentSchedule.get(t).getRSInstanceResource().equals(currentSchedule.get(p).getRSInstanceResource())) {
                     additionalRSDataTransfer += getTransferTime(t.getAttribute(Attributes.INPUT_MB.name()), currentSchedule.get(t).getRSInstanceResource(), currentSchedule.get(p).getRSInstanceResource());
                 }
-                est.replace(t, Math.max(est.get(p) + getRuntime(currentSchedule.get(p)) + additionalRSDataTransfer, est.get(t)));
+                est.replace(t, Math.max(est.get(p) + getRuntime(currentSchedule.get(p)) + delays.getOrDefault(p, 0.0) + additionalRSDataTransfer, est.get(t)));
             }
 
             // Continue with the successor nodes, if those are not exit tasks
@@ -742,7 +1558,9 @@ public class SchedulerDApollo extends SchedulerAbstract {
     }
 
     /**
-     * Calculate the LFT (Latest Finish Time) of each task in the workflow.
+     * Calculate the LFT (Latest Finish Time) of each task in the workflow. The
+     * finish time of a task includes its contention delay from the last EST
+     * calculation.
      * [O(n^2)]
      *
      * @return LFT of each task.
@@ -757,7 +1575,7 @@ public class SchedulerDApollo extends SchedulerAbstract {
         for (Task t : exitTasks) { // O(n)
             lft.put(t, 0.0);
             for (Task ti : tasksToConsider) {
-                lft.replace(t, Math.max(est.get(ti) + getRuntime(currentSchedule.get(ti)), lft.get(t)));
+                lft.replace(t, Math.max(est.get(ti) + getRuntime(currentSchedule.get(ti)) + contentionDelays.getOrDefault(ti, 0.0), lft.get(t)));
             }
             queue.addAll(GraphUtils.getPredecessorTaskNodes(specification.getEnactmentGraph(), t).stream().filter(tasksToConsider::contains).collect(Collectors.toList())); // O(n)
         }
@@ -780,7 +1598,7 @@ public class SchedulerDApollo extends SchedulerAbstract {
             // Calculate the LFT value
             lft.put(t, Double.MAX_VALUE);
             for (Task s : GraphUtils.getSuccessorTaskNodes(specification.getEnactmentGraph(), t).stream().filter(tasksToConsider::contains).collect(Collectors.toList())) { // O(n)
-                lft.replace(t, Math.min(lft.get(s) - getRuntime(currentSchedule.get(s)), lft.get(t)));
+                lft.replace(t, Math.min(lft.get(s) - getRuntime(currentSchedule.get(s)) - contentionDelays.getOrDefault(s, 0.0), lft.get(t)));
             }
 
             // Continue with the successor nodes
@@ -808,7 +1626,8 @@ public class SchedulerDApollo extends SchedulerAbstract {
             currentSchedule.replace(mapping.getTask(), mapping);
         }
 
-        // calculate est and lft
+        // calculate est and lft (keeping the contention delays of the current schedule)
+        HashMap<Task, Double> delaysBackup = contentionDelays;
         List<Task> tasksToConsider = mappings.stream().map(Mapping_::getTask).collect(Collectors.toList());
         ArrayList<Task> exitTasks = new ArrayList<>();
         ArrayList<Task> entryTasks = new ArrayList<>();
@@ -824,6 +1643,7 @@ public class SchedulerDApollo extends SchedulerAbstract {
         }
         HashMap<Task, Double> est = calculateEST(entryTasks, Stream.concat(exitTasks.stream(), remainingTasks.stream()).collect(Collectors.toList()));
         HashMap<Task, Double> lft = calculateLFT(est, Stream.concat(entryTasks.stream(), remainingTasks.stream()).collect(Collectors.toList()), exitTasks);
+        contentionDelays = delaysBackup;
 
         // Undo temporal mappings
         for(Mapping_ mapping: backup) {
@@ -956,6 +1776,13 @@ public class SchedulerDApollo extends SchedulerAbstract {
         // Set statistics
         statistics.setCost(cost);
         statistics.setRuntime(runtime);
+        statistics.setBudgetExceededSteps(budgetExceededSteps);
+        statistics.setSkippedProposalEvaluations(skippedProposalEvaluations);
+        statistics.setMaxStepTimeMs(maxStepTimeMs);
+        statistics.setPrunedProposals(pruningCount);
+        statistics.setMaxProposalCount(maxProposalCount);
+        statistics.setClusterProposals(clusterProposalCount);
+        statistics.setAppliedClusterProposals(appliedClusterProposalCount);
 
         LOGGER.log(Level.INFO, "Workflow results: cost=" + statistics.getCost() + ", runtime=" + statistics.getRuntime());
 
@@ -1,16 +1,16 @@
 package at.uibk.dps.sc.core.scheduler;
 
+import java.util.Arrays;
 import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.opt4j.core.start.Constant;
-import com.google.gson.JsonObject;
 import com.google.inject.Inject;
 import at.uibk.dps.ee.guice.starter.VertxProvider;
 import at.uibk.dps.ee.model.graph.SpecificationProvider;
-import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
 import at.uibk.dps.ee.model.properties.PropertyServiceMapping;
 import at.uibk.dps.ee.model.properties.PropertyServiceMapping.EnactmentMode;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiter;
 import at.uibk.dps.sc.core.capacity.CapacityCalculator;
 import net.sf.opendse.model.Mapping;
 import net.sf.opendse.model.Resource;
@@ -41,16 +41,39 @@ public class SchedulerDataSize extends SchedulerRandom {
           value = "mappingsToPick") final int mappingsToPick,
       @Constant(namespace = SchedulerDataSize.class,
           value = "sizeThreshold") final int sizeThreshold,
-      final CapacityCalculator capCalc, final VertxProvider vProv) {
-    super(specProvider, random, mappingsToPick, capCalc, vProv);
+      final CapacityCalculator capCalc, final VertxProvider vProv,
+      final ResourceArbiter arbiter) {
+    super(specProvider, random, mappingsToPick, capCalc, vProv, arbiter);
     this.sizeThresholdKb = sizeThreshold;
   }
 
   @Override
   protected Set<Mapping<Task, Resource>> chooseMappingSubset(final Task task,
       final Set<Mapping<Task, Resource>> mappingOptions) {
+    // the input size is determined once for all mapping options
+    final long byteSize = getInputSize(task);
     return super.chooseMappingSubset(task, mappingOptions.stream()
-        .filter(mapping -> !excludeMapping(mapping, task)).collect(Collectors.toSet()));
+        .filter(mapping -> !excludeMapping(mapping, byteSize)).collect(Collectors.toSet()));
+  }
+
+  /**
+   * Tasks are only equivalent if their inputs are on the same side of the size
+   * threshold.
+   */
+  @Override
+  protected Object getTemplateKey(final Task task) {
+    return Arrays.asList(super.getTemplateKey(task),
+        getInputSize(task) > (sizeThresholdKb * 1000));
+  }
+
+  /**
+   * Returns the size (in bytes) of the serialized input of the given task.
+   * 
+   * @param process the given task
+   * @return the size (in bytes) of the serialized input of the given task
+   */
+  protected long getInputSize(final Task process) {
+    return JsonSizeEstimator.getInputSize(process);
   }
 
   /**
@@ -62,8 +85,18 @@ public class SchedulerDataSize extends SchedulerRandom {
    *         the defined threshold
    */
   protected boolean excludeMapping(final Mapping<Task, Resource> mapping, final Task process) {
-    final JsonObject input = PropertyServiceFunction.getInput(process);
-    final int byteSize = input.toString().getBytes().length;
+    return excludeMapping(mapping, getInputSize(process));
+  }
+
+  /**
+   * Returns true iff the given mapping is to be excluded for a task with an
+   * input of the given size.
+   * 
+   * @param mapping the given mapping
+   * @param byteSize the size (in bytes) of the serialized task input
+   * @return true iff the given mapping is to be excluded
+   */
+  protected boolean excludeMapping(final Mapping<Task, Resource> mapping, final long byteSize) {
     final boolean overThreshold = byteSize > (sizeThresholdKb * 1000);
     final boolean overAndServerless = overThreshold
         && PropertyServiceMapping.getEnactmentMode(mapping).equals(EnactmentMode.Serverless);
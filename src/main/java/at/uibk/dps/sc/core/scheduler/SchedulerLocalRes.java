@@ -12,6 +12,7 @@ import at.uibk.dps.ee.guice.starter.VertxProvider;
 import at.uibk.dps.ee.model.graph.SpecificationProvider;
 import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
 import at.uibk.dps.ee.model.properties.PropertyServiceResource;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiter;
 import at.uibk.dps.sc.core.capacity.CapacityCalculator;
 import net.sf.opendse.model.Mapping;
 import net.sf.opendse.model.Resource;
@@ -34,8 +35,9 @@ public class SchedulerLocalRes extends SchedulerAbstract {
    */
   @Inject
   public SchedulerLocalRes(final SpecificationProvider specProvider,
-      final CapacityCalculator capacityCalculator, final VertxProvider vertProv, final Rand rand) {
-    super(specProvider, capacityCalculator, vertProv);
+      final CapacityCalculator capacityCalculator, final VertxProvider vertProv, final Rand rand,
+      final ResourceArbiter arbiter) {
+    super(specProvider, capacityCalculator, vertProv, arbiter);
     this.rand = rand;
   }
 
@@ -0,0 +1,213 @@
+package at.uibk.dps.sc.core.scheduler;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.opt4j.core.common.random.Rand;
+import org.opt4j.core.start.Constant;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import at.uibk.dps.ee.guice.starter.VertxProvider;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
+import at.uibk.dps.sc.core.PropertyServiceScheduling;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiter;
+import at.uibk.dps.sc.core.capacity.CapacityCalculator;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * Local-first variant of the {@link SchedulerLocalRes}. Tasks are placed on the
+ * least-loaded local resource (resource with limited capacity). When the local
+ * capacity is exhausted, the tasks wait for the local resources unless the
+ * projected local queueing delay exceeds the cost of a remote execution
+ * (runtime plus acquisition delay). To avoid tasks flapping between local and
+ * remote resources under oscillating load, the spill-over is switched on (per
+ * function type) only if the local delay exceeds the remote cost by the
+ * hysteresis margin and switched off only if it falls below the remote cost by
+ * the same margin.
+ */
+@Singleton
+public class SchedulerLocalResSpillOver extends SchedulerLocalRes {
+
+  /**
+   * The runtime (in s) assumed for mappings without annotated runtime.
+   */
+  protected static final double defaultRuntime = 1.0;
+
+  protected final double hysteresis;
+
+  // the spill-over state per function type (only accessed while holding the
+  // capacity lock)
+  protected final Map<String, Boolean> spillStates = new ConcurrentHashMap<>();
+
+  /**
+   * Injection constructor.
+   * 
+   * @param specProvider the specification provider
+   * @param capacityCalculator the capacity calculator
+   * @param vertProv the vertx provider
+   * @param rand the random number generator
+   * @param arbiter the resource arbiter
+   * @param hysteresis the relative margin around the remote cost used to switch
+   *        the spill-over on and off
+   */
+  @Inject
+  public SchedulerLocalResSpillOver(final SpecificationProvider specProvider,
+      final CapacityCalculator capacityCalculator, final VertxProvider vertProv, final Rand rand,
+      final ResourceArbiter arbiter,
+      @Constant(namespace = SchedulerLocalResSpillOver.class,
+          value = "hysteresis") final double hysteresis) {
+    super(specProvider, capacityCalculator, vertProv, rand, arbiter);
+    if (hysteresis < 0) {
+      throw new IllegalArgumentException("The hysteresis must not be negative.");
+    }
+    this.hysteresis = hysteresis;
+  }
+
+  @Override
+  protected Set<Mapping<Task, Resource>> chooseMappingSubset(final Task task,
+      final Set<Mapping<Task, Resource>> mappingOptions) {
+    final Set<Mapping<Task, Resource>> localOptions =
+        mappingOptions.stream().filter(this::isCapacityMapping).collect(Collectors.toSet());
+    final Mapping<Task, Resource> chosen;
+    if (localOptions.isEmpty()) {
+      chosen = mappingOptions.stream()
+          .min(Comparator.comparingDouble(this::getRemoteCost).thenComparing(Mapping::getId))
+          .get();
+    } else {
+      chosen = localOptions.stream()
+          .min(Comparator.comparingDouble(this::getOccupiedShare)
+              .thenComparingInt(m -> getWaitingNumber(m.getTarget()))
+              .thenComparing(Mapping::getId))
+          .get();
+    }
+    final Set<Mapping<Task, Resource>> result = new HashSet<>();
+    result.add(chosen);
+    return result;
+  }
+
+  /**
+   * Updates the spill-over state of the function type of the given task, once
+   * per scheduling decision and before its mapping options are filtered.
+   */
+  @Override
+  protected void prepareDecision(final Task task) {
+    updateSpillState(task);
+  }
+
+  /**
+   * Local mappings are valid as soon as the task fits. Remote mappings are only
+   * valid if the task has no local option or if the spill-over is active for the
+   * function type of the task.
+   */
+  @Override
+  protected boolean isValidMapping(final Mapping<Task, Resource> mapping) {
+    if (!super.isValidMapping(mapping)) {
+      return false;
+    }
+    if (isCapacityMapping(mapping)) {
+      return true;
+    }
+    final Task task = mapping.getSource();
+    return getMappingOptions(task).stream().noneMatch(this::isCapacityMapping)
+        || spillStates.getOrDefault(PropertyServiceFunction.getTypeId(task), false);
+  }
+
+  /**
+   * Updates the spill-over state of the function type of the given task by
+   * comparing the projected delay of the best local option to the cost of the
+   * best remote option. Has to be called while holding the capacity lock.
+   * 
+   * @param task the given task
+   * @return true iff tasks of this function type are to be spilled to remote
+   *         resources
+   */
+  protected boolean updateSpillState(final Task task) {
+    final Set<Mapping<Task, Resource>> options = getMappingOptions(task);
+    final List<Mapping<Task, Resource>> localOptions =
+        options.stream().filter(this::isCapacityMapping).collect(Collectors.toList());
+    final OptionalDouble remoteCost = options.stream().filter(m -> !isCapacityMapping(m))
+        .mapToDouble(this::getRemoteCost).min();
+    if (localOptions.isEmpty() || !remoteCost.isPresent()) {
+      return localOptions.isEmpty();
+    }
+    final double localDelay = localOptions.stream().mapToDouble(this::getProjectedLocalDelay)
+        .min().getAsDouble();
+    final double bestRemoteCost = remoteCost.getAsDouble();
+    final String typeId = PropertyServiceFunction.getTypeId(task);
+    boolean spilling = spillStates.getOrDefault(typeId, false);
+    if (spilling && localDelay < bestRemoteCost * (1.0 - hysteresis)) {
+      spilling = false;
+    } else if (!spilling && localDelay > bestRemoteCost * (1.0 + hysteresis)) {
+      spilling = true;
+    }
+    spillStates.put(typeId, spilling);
+    return spilling;
+  }
+
+  /**
+   * Returns the projected delay (in s) until a task processed with the given
+   * local mapping is finished: its runtime plus the time needed to process the
+   * tasks waiting for the resource (processed in parallel to the tasks currently
+   * running there).
+   * 
+   * @param localMapping the given local mapping
+   * @return the projected delay of the given local mapping
+   */
+  protected double getProjectedLocalDelay(final Mapping<Task, Resource> localMapping) {
+    final Resource res = localMapping.getTarget();
+    final double runtime = getRuntime(localMapping);
+    if (super.isValidMapping(localMapping)) {
+      return runtime;
+    }
+    final int parallelism = Math.max(1, occupancy.getTaskNumber(res));
+    return runtime * (1.0 + (double) getWaitingNumber(res) / parallelism);
+  }
+
+  /**
+   * Returns the cost (in s) of processing a task with the given remote mapping,
+   * i.e., its runtime plus the acquisition delay of the remote resource.
+   * 
+   * @param remoteMapping the given remote mapping
+   * @return the cost of processing a task with the given remote mapping
+   */
+  protected double getRemoteCost(final Mapping<Task, Resource> remoteMapping) {
+    final Resource res = remoteMapping.getTarget();
+    final double acquisitionDelay = PropertyServiceScheduling.hasAcquisitionDelay(res)
+        ? PropertyServiceScheduling.getAcquisitionDelay(res)
+        : 0.0;
+    return getRuntime(remoteMapping) + acquisitionDelay;
+  }
+
+  /**
+   * Returns the share of the capacity of the target of the given mapping which
+   * is currently occupied.
+   * 
+   * @param mapping the given mapping
+   * @return the occupied share of the target capacity
+   */
+  protected double getOccupiedShare(final Mapping<Task, Resource> mapping) {
+    final Resource res = mapping.getTarget();
+    return occupancy.getOccupied(res).getDominantShare(capacityCalculator.getCapacity(res));
+  }
+
+  /**
+   * Returns the annotated runtime of the given mapping (or the default runtime
+   * if no runtime is annotated).
+   * 
+   * @param mapping the given mapping
+   * @return the runtime of the given mapping
+   */
+  protected double getRuntime(final Mapping<Task, Resource> mapping) {
+    return PropertyServiceScheduling.hasRuntime(mapping)
+        ? PropertyServiceScheduling.getRuntime(mapping)
+        : defaultRuntime;
+  }
+}
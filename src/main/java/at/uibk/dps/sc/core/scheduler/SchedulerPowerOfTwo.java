@@ -0,0 +1,114 @@
+package at.uibk.dps.sc.core.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.opt4j.core.common.random.Rand;
+import org.opt4j.core.start.Constant;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import at.uibk.dps.ee.guice.starter.VertxProvider;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.ee.model.properties.PropertyServiceResource;
+import at.uibk.dps.sc.core.PropertyServiceScheduling;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiter;
+import at.uibk.dps.sc.core.capacity.CapacityCalculator;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * The {@link SchedulerPowerOfTwo} balances the load with the power-of-two-choices
+ * strategy: two of the mapping options are sampled at random and the one with
+ * the lower expected delay is picked. The expected delay of a mapping is its
+ * expected runtime, stretched by the occupancy of the target (M/M/1-like, based
+ * on the running occupancy totals) and by the number of tasks waiting for the
+ * target. Resources without capacity limitation do not delay the tasks. Apart
+ * from copying the (usually few) options for the sampling, the decision takes
+ * constant time.
+ */
+@Singleton
+public class SchedulerPowerOfTwo extends SchedulerAbstract {
+
+  /**
+   * The maximal occupancy considered when stretching the runtime (to avoid
+   * division by zero).
+   */
+  protected static final double maxOccupancy = 0.99;
+
+  protected final Rand rand;
+  protected final double defaultRuntime;
+
+  /**
+   * Injection constructor.
+   * 
+   * @param specProvider the specification provider
+   * @param capacityCalculator the capacity calculator
+   * @param vertProv the vertx provider
+   * @param rand the random number generator
+   * @param arbiter the resource arbiter
+   * @param defaultRuntime the runtime (in seconds) assumed for mappings without
+   *        annotated runtime (the same prior as for the transfer-time scheduling)
+   */
+  @Inject
+  public SchedulerPowerOfTwo(final SpecificationProvider specProvider,
+      final CapacityCalculator capacityCalculator, final VertxProvider vertProv, final Rand rand,
+      final ResourceArbiter arbiter, @Constant(namespace = SchedulerTransferTime.class,
+          value = "defaultRuntime") final double defaultRuntime) {
+    super(specProvider, capacityCalculator, vertProv, arbiter);
+    this.rand = rand;
+    this.defaultRuntime = defaultRuntime;
+  }
+
+  @Override
+  protected Set<Mapping<Task, Resource>> chooseMappingSubset(final Task task,
+      final Set<Mapping<Task, Resource>> mappingOptions) {
+    final List<Mapping<Task, Resource>> options = new ArrayList<>(mappingOptions);
+    final Set<Mapping<Task, Resource>> result = new HashSet<>();
+    if (options.size() == 1) {
+      result.add(options.get(0));
+      return result;
+    }
+    final int firstIdx = rand.nextInt(options.size());
+    int secondIdx = rand.nextInt(options.size() - 1);
+    if (secondIdx >= firstIdx) {
+      secondIdx++;
+    }
+    final Mapping<Task, Resource> first = options.get(firstIdx);
+    final Mapping<Task, Resource> second = options.get(secondIdx);
+    // pessimistic prior: at least the runtime known for the other sampled option
+    double prior = defaultRuntime;
+    for (final Mapping<Task, Resource> sampled : Arrays.asList(first, second)) {
+      if (PropertyServiceScheduling.hasRuntime(sampled)) {
+        prior = Math.max(prior, PropertyServiceScheduling.getRuntime(sampled));
+      }
+    }
+    result.add(
+        getExpectedDelay(first, prior) <= getExpectedDelay(second, prior) ? first : second);
+    return result;
+  }
+
+  /**
+   * Returns the expected delay until the task of the given mapping is processed
+   * (stretched runtime). Has to be called while holding the capacity lock.
+   * 
+   * @param mapping the given mapping
+   * @param prior the runtime assumed if the mapping is not annotated with its
+   *        runtime
+   * @return the expected delay of the given mapping
+   */
+  protected double getExpectedDelay(final Mapping<Task, Resource> mapping, final double prior) {
+    final double runtime = PropertyServiceScheduling.hasRuntime(mapping)
+        ? PropertyServiceScheduling.getRuntime(mapping)
+        : prior;
+    final Resource res = mapping.getTarget();
+    if (!PropertyServiceResource.hasLimitedCapacity(res)) {
+      return runtime;
+    }
+    final double occupiedShare = Math.min(maxOccupancy,
+        occupancy.getOccupied(res).getDominantShare(capacityCalculator.getCapacity(res)));
+    return runtime * (1 + getWaitingNumber(res)) / (1.0 - occupiedShare);
+  }
+}
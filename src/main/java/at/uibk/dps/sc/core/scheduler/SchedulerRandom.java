@@ -11,6 +11,7 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import at.uibk.dps.ee.guice.starter.VertxProvider;
 import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiter;
 import at.uibk.dps.sc.core.capacity.CapacityCalculator;
 import net.sf.opendse.model.Mapping;
 import net.sf.opendse.model.Resource;
@@ -34,13 +35,17 @@ public class SchedulerRandom extends SchedulerAbstract {
    * @param specProvider the specification provider
    * @param random the random number generator
    * @param mappingsToPick the number of mappings to pick
+   * @param capCalc the capacity calculator
+   * @param vProv the vertx provider
+   * @param arbiter the resource arbiter
    */
   @Inject
   public SchedulerRandom(final SpecificationProvider specProvider, final Random random,
       @Constant(namespace = SchedulerRandom.class,
           value = "mappingsToPick") final int mappingsToPick,
-      final CapacityCalculator capCalc, final VertxProvider vProv) {
-    super(specProvider, capCalc, vProv);
+      final CapacityCalculator capCalc, final VertxProvider vProv,
+      final ResourceArbiter arbiter) {
+    super(specProvider, capCalc, vProv, arbiter);
     this.random = random;
     this.mappingsToPick = mappingsToPick;
   }
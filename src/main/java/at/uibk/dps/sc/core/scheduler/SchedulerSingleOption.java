@@ -6,6 +6,7 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import at.uibk.dps.ee.guice.starter.VertxProvider;
 import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiter;
 import at.uibk.dps.sc.core.capacity.CapacityCalculator;
 import net.sf.opendse.model.Mapping;
 import net.sf.opendse.model.Resource;
@@ -26,8 +27,9 @@ public class SchedulerSingleOption extends SchedulerAbstract {
    */
   @Inject
   public SchedulerSingleOption(final SpecificationProvider specProvider,
-      final CapacityCalculator capCalc, final VertxProvider vProv) {
-    super(specProvider, capCalc, vProv);
+      final CapacityCalculator capCalc, final VertxProvider vProv,
+      final ResourceArbiter arbiter) {
+    super(specProvider, capCalc, vProv, arbiter);
   }
 
   @Override
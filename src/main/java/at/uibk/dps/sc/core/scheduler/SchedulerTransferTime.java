@@ -0,0 +1,169 @@
+package at.uibk.dps.sc.core.scheduler;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import org.opt4j.core.start.Constant;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import at.uibk.dps.ee.guice.starter.VertxProvider;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
+import at.uibk.dps.sc.core.ExecutionStatistics;
+import at.uibk.dps.sc.core.PropertyServiceScheduling;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiter;
+import at.uibk.dps.sc.core.capacity.CapacityCalculator;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+/**
+ * The {@link SchedulerTransferTime} picks the mapping with the earliest
+ * estimated completion, i.e., the lowest sum of (a) the time to transfer the
+ * task input over the link of the resource (from the input size and the
+ * resource bandwidth), (b) the acquisition delay of the resource, and (c) the
+ * expected runtime of the mapping. The bandwidth, the acquisition delay, and
+ * the runtime are read from the attributes also used by the
+ * {@link SchedulerDApollo} (and are only set when parsing its input); resources
+ * without bandwidth annotation (e.g., the local machine) require no transfer,
+ * which is logged once per resource. Mappings without annotated runtime use the
+ * observed runtime (if any). Otherwise, a pessimistic prior is assumed: the
+ * configured default runtime, but at least the largest runtime known for the
+ * other options, so that unknown options are not preferred.
+ */
+@Singleton
+public class SchedulerTransferTime extends SchedulerAbstract {
+
+  private static final Logger LOGGER = Logger.getLogger(SchedulerTransferTime.class.getName());
+
+  protected final ExecutionStatistics statistics;
+  protected final double defaultRuntime;
+  protected final Set<String> reportedResources = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Injection constructor.
+   * 
+   * @param specProvider the specification provider
+   * @param capCalc the capacity calculator
+   * @param vProv the vertx provider
+   * @param arbiter the resource arbiter
+   * @param statistics the statistics of the observed executions
+   * @param defaultRuntime the runtime (in seconds) assumed for mappings without
+   *        annotated or observed runtime
+   */
+  @Inject
+  public SchedulerTransferTime(final SpecificationProvider specProvider,
+      final CapacityCalculator capCalc, final VertxProvider vProv, final ResourceArbiter arbiter,
+      final ExecutionStatistics statistics, @Constant(namespace = SchedulerTransferTime.class,
+          value = "defaultRuntime") final double defaultRuntime) {
+    super(specProvider, capCalc, vProv, arbiter);
+    this.statistics = statistics;
+    this.defaultRuntime = defaultRuntime;
+  }
+
+  @Override
+  protected Set<Mapping<Task, Resource>> chooseMappingSubset(final Task task,
+      final Set<Mapping<Task, Resource>> mappingOptions) {
+    final double inputMb = JsonSizeEstimator.getInputSize(task) / 1E6;
+    final Map<Mapping<Task, Resource>, Double> runtimes = new HashMap<>();
+    double maxKnownRuntime = defaultRuntime;
+    for (final Mapping<Task, Resource> option : mappingOptions) {
+      final double runtime = getExpectedRuntime(task, option);
+      runtimes.put(option, runtime);
+      if (!Double.isNaN(runtime)) {
+        maxKnownRuntime = Math.max(maxKnownRuntime, runtime);
+      }
+    }
+    final double prior = maxKnownRuntime;
+    runtimes.replaceAll((option, runtime) -> Double.isNaN(runtime) ? prior : runtime);
+    final Mapping<Task, Resource> fastest = mappingOptions.stream()
+        .min(Comparator
+            .comparingDouble(
+                (Mapping<Task, Resource> m) -> getCompletionTime(m, inputMb, runtimes.get(m)))
+            .thenComparing(Mapping::getId))
+        .orElseThrow(() -> new IllegalArgumentException(
+            "No mapping options provided for task " + task.getId()));
+    final Set<Mapping<Task, Resource>> result = new HashSet<>();
+    result.add(fastest);
+    return result;
+  }
+
+  /**
+   * Tasks are only equivalent if their inputs are of the same order of magnitude
+   * (power of two), since the transfer time depends on the input size.
+   */
+  @Override
+  protected Object getTemplateKey(final Task task) {
+    final long byteSize = JsonSizeEstimator.getInputSize(task);
+    return Arrays.asList(super.getTemplateKey(task), 63 - Long.numberOfLeadingZeros(byteSize));
+  }
+
+  /**
+   * Returns the estimated time (in seconds) until the task is completed when
+   * processed with the given mapping.
+   * 
+   * @param mapping the given mapping
+   * @param inputMb the size (in MB) of the task input
+   * @param runtime the expected runtime (in seconds) of the mapping
+   * @return the estimated completion time in seconds
+   */
+  protected double getCompletionTime(final Mapping<Task, Resource> mapping, final double inputMb,
+      final double runtime) {
+    final Resource res = mapping.getTarget();
+    double transferTime = 0.0;
+    if (PropertyServiceScheduling.hasBandwidth(res)) {
+      transferTime = inputMb / (PropertyServiceScheduling.getBandwidth(res) / 8.0);
+    } else {
+      reportMissingAnnotation(res, "bandwidth", "no transfer time");
+    }
+    double acquisitionDelay = 0.0;
+    if (PropertyServiceScheduling.hasAcquisitionDelay(res)) {
+      acquisitionDelay = PropertyServiceScheduling.getAcquisitionDelay(res);
+    } else {
+      reportMissingAnnotation(res, "acquisition delay", "no acquisition delay");
+    }
+    return transferTime + acquisitionDelay + runtime;
+  }
+
+  /**
+   * Logs (once per resource and annotation) that the given resource is not
+   * annotated with the given attribute.
+   * 
+   * @param res the given resource
+   * @param attribute the name of the missing attribute
+   * @param assumption the assumption made instead
+   */
+  protected void reportMissingAnnotation(final Resource res, final String attribute,
+      final String assumption) {
+    if (reportedResources.add(res.getId() + "--" + attribute)) {
+      LOGGER.warning("Resource " + res.getId() + " is not annotated with its " + attribute
+          + " (only set when parsing the input of the dApollo scheduler); assuming "
+          + assumption + ".");
+    }
+  }
+
+  /**
+   * Returns the expected runtime (in seconds) of the given mapping.
+   * 
+   * @param task the scheduled task
+   * @param mapping the given mapping
+   * @return the expected runtime (in seconds) of the given mapping (NaN if
+   *         neither annotated nor observed)
+   */
+  protected double getExpectedRuntime(final Task task, final Mapping<Task, Resource> mapping) {
+    if (PropertyServiceScheduling.hasRuntime(mapping)) {
+      return PropertyServiceScheduling.getRuntime(mapping);
+    }
+    final String typeId = PropertyServiceFunction.getTypeId(task);
+    final String resId = mapping.getTarget().getId();
+    if (statistics.getObservationNumber(typeId, resId) > 0) {
+      return statistics.getEstimate(typeId, resId).getRuntimeMs() / 1000.0;
+    }
+    return Double.NaN;
+  }
+}
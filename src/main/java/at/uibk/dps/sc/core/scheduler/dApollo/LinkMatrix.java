@@ -0,0 +1,124 @@
+package at.uibk.dps.sc.core.scheduler.dApollo;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bandwidth (in Mbit/s) and round-trip time (in seconds) of the links between
+ * pairs of resources, identified by their ids (the ids of the task resources of
+ * the resource graph and of the RS instances). Links are stored in dense
+ * matrices, links which are not configured fall back to the default values.
+ */
+public class LinkMatrix {
+
+    /**
+     * The matrix index of each resource id.
+     */
+    private final Map<String, Integer> index = new HashMap<>();
+
+    /**
+     * The bandwidth of the links (NaN if not configured).
+     */
+    private final double[][] bandwidth;
+
+    /**
+     * The round-trip time of the links (NaN if not configured).
+     */
+    private final double[][] rtt;
+
+    /**
+     * The bandwidth of the links which are not configured (NaN to use the minimal
+     * bandwidth of the two resources).
+     */
+    private final double defaultBandwidth;
+
+    /**
+     * The round-trip time of the links which are not configured.
+     */
+    private final double defaultRtt;
+
+    /**
+     * Default constructor.
+     *
+     * @param resourceIds the ids of the resources between which links are configured.
+     * @param defaultBandwidth the bandwidth of links which are not configured (NaN
+     *        to use the minimal bandwidth of the two resources).
+     * @param defaultRtt the round-trip time of links which are not configured.
+     */
+    public LinkMatrix(Collection<String> resourceIds, double defaultBandwidth, double defaultRtt) {
+        for(String resourceId: resourceIds) {
+            index.putIfAbsent(resourceId, index.size());
+        }
+        this.bandwidth = new double[index.size()][index.size()];
+        this.rtt = new double[index.size()][index.size()];
+        for(int i = 0; i < index.size(); i++) {
+            Arrays.fill(bandwidth[i], Double.NaN);
+            Arrays.fill(rtt[i], Double.NaN);
+        }
+        this.defaultBandwidth = defaultBandwidth;
+        this.defaultRtt = defaultRtt;
+    }
+
+    /**
+     * Configure the (symmetric) link between two resources.
+     * [O(1)]
+     *
+     * @param from the id of the first resource.
+     * @param to the id of the second resource.
+     * @param bandwidth the bandwidth of the link.
+     * @param rtt the round-trip time of the link.
+     */
+    public void setLink(String from, String to, double bandwidth, double rtt) {
+        int i = getIndex(from);
+        int j = getIndex(to);
+        this.bandwidth[i][j] = this.bandwidth[j][i] = bandwidth;
+        this.rtt[i][j] = this.rtt[j][i] = rtt;
+    }
+
+    /**
+     * Get the time to transfer a specific amount of data between two resources.
+     * [O(1)]
+     *
+     * @param dataSize the amount of data (in MB).
+     * @param from the id of the resource the data is transferred from.
+     * @param bandwidthFrom the bandwidth of the resource the data is transferred from.
+     * @param to the id of the resource the data is transferred to.
+     * @param bandwidthTo the bandwidth of the resource the data is transferred to.
+     *
+     * @return transfer time (0 if there is no data to transfer).
+     */
+    public double getTransferTime(double dataSize, String from, double bandwidthFrom, String to, double bandwidthTo) {
+        if(dataSize <= 0.0) {
+            return 0.0;
+        }
+        Integer i = index.get(from);
+        Integer j = index.get(to);
+        double linkBandwidth = i != null && j != null ? bandwidth[i][j] : Double.NaN;
+        double linkRtt = i != null && j != null ? rtt[i][j] : Double.NaN;
+        if(Double.isNaN(linkBandwidth)) {
+            linkBandwidth = Double.isNaN(defaultBandwidth) ? Math.min(bandwidthFrom, bandwidthTo) : defaultBandwidth;
+        }
+        if(Double.isNaN(linkRtt)) {
+            linkRtt = defaultRtt;
+        }
+        return dataSize / (linkBandwidth / 8.0) + linkRtt;
+    }
+
+    /**
+     * Get the matrix index of a resource.
+     * [O(1)]
+     *
+     * @param resourceId the id of the resource.
+     *
+     * @return the matrix index.
+     */
+    private int getIndex(String resourceId) {
+        Integer i = index.get(resourceId);
+        if(i == null) {
+            throw new IllegalArgumentException("Unknown resource of a link: " + resourceId);
+        }
+        return i;
+    }
+}
@@ -52,6 +52,11 @@ public class Proposal {
      */
     private List<Task> taskIncludes;
 
+    /**
+     * True iff the proposal maps a cluster (sub-DAG) of tasks onto one rs instance.
+     */
+    private boolean cluster;
+
     /**
      * Default constructor.
      *
@@ -154,4 +159,12 @@ public class Proposal {
     public void setTaskIncludes(List<Task> taskIncludes) {
         this.taskIncludes = taskIncludes;
     }
+
+    public boolean isCluster() {
+        return cluster;
+    }
+
+    public void setCluster(boolean cluster) {
+        this.cluster = cluster;
+    }
 }
@@ -0,0 +1,238 @@
+package at.uibk.dps.sc.core.scheduler.dApollo;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Least recently used cache of the initial planning (schedule and adjusted
+ * proposals) of the dApollo scheduler, keyed by the fingerprint of the
+ * scheduling problem. Entries are kept in memory and, if a directory is
+ * configured, persisted as JSON files so that they survive restarts.
+ */
+public class ScheduleCache {
+
+    /**
+     * Default logger for the {@link ScheduleCache} class.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ScheduleCache.class.getName());
+
+    /**
+     * The caches shared by the scheduler instances of a JVM (per directory).
+     */
+    private static final Map<String, ScheduleCache> SHARED_CACHES = new HashMap<>();
+
+    /**
+     * The file extension of the cache entries stored on disk.
+     */
+    private static final String FILE_EXTENSION = ".json";
+
+    /**
+     * The maximal number of entries (in memory and on disk).
+     */
+    private final int maxEntries;
+
+    /**
+     * The directory where the entries are stored (null for an in-memory cache).
+     */
+    private final Path directory;
+
+    /**
+     * The entries kept in memory (in LRU order).
+     */
+    private final LinkedHashMap<String, ScheduleSnapshot> entries;
+
+    /**
+     * The number of look ups which found a stored snapshot.
+     */
+    private int hits;
+
+    /**
+     * The number of look ups which did not find a stored snapshot.
+     */
+    private int misses;
+
+    /**
+     * Used to (de)serialize the entries stored on disk.
+     */
+    private final Gson gson = new GsonBuilder().serializeSpecialFloatingPointValues().create();
+
+    /**
+     * Default constructor.
+     *
+     * @param maxEntries the maximal number of entries.
+     * @param directory the directory where the entries are stored (null for an in-memory cache).
+     */
+    public ScheduleCache(int maxEntries, Path directory) {
+        if(maxEntries < 1) {
+            throw new IllegalArgumentException("The schedule cache must hold at least one entry.");
+        }
+        this.maxEntries = maxEntries;
+        this.directory = directory;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ScheduleSnapshot> eldest) {
+                return size() > ScheduleCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the cache shared by all schedulers using the given directory (an empty
+     * directory string denotes the shared in-memory cache).
+     *
+     * @param maxEntries the maximal number of entries (has to match the size of
+     *        the shared cache if it already exists).
+     * @param directory the directory where the entries are stored.
+     *
+     * @return the shared cache.
+     */
+    public static synchronized ScheduleCache getShared(int maxEntries, String directory) {
+        ScheduleCache cache = SHARED_CACHES.computeIfAbsent(directory,
+            d -> new ScheduleCache(maxEntries, d.isEmpty() ? null : Paths.get(d)));
+        if(cache.maxEntries != maxEntries) {
+            throw new IllegalArgumentException("The shared schedule cache of the directory '" + directory
+                + "' already holds up to " + cache.maxEntries + " entries (requested: " + maxEntries + ").");
+        }
+        return cache;
+    }
+
+    /**
+     * Get the snapshot stored for the given fingerprint.
+     * [O(1) in memory, O(s) from disk]
+     *
+     * @param fingerprint the fingerprint of the scheduling problem.
+     *
+     * @return the stored snapshot, null if there is none.
+     */
+    public synchronized ScheduleSnapshot get(String fingerprint) {
+        ScheduleSnapshot snapshot = entries.get(fingerprint);
+        if(snapshot == null && directory != null) {
+            Path file = directory.resolve(fingerprint + FILE_EXTENSION);
+            if(Files.isRegularFile(file)) {
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    snapshot = gson.fromJson(reader, ScheduleSnapshot.class);
+                    Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                    entries.put(fingerprint, snapshot);
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Failed to read schedule cache entry " + file, e);
+                    snapshot = null;
+                }
+            }
+        }
+        if(snapshot != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Store the snapshot for the given fingerprint.
+     *
+     * @param fingerprint the fingerprint of the scheduling problem.
+     * @param snapshot the snapshot to store.
+     */
+    public synchronized void put(String fingerprint, ScheduleSnapshot snapshot) {
+        entries.put(fingerprint, snapshot);
+        if(directory != null) {
+            try {
+                Files.createDirectories(directory);
+                try (Writer writer = Files.newBufferedWriter(directory.resolve(fingerprint + FILE_EXTENSION), StandardCharsets.UTF_8)) {
+                    gson.toJson(snapshot, writer);
+                }
+                evictFiles();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to write schedule cache entry " + fingerprint, e);
+            }
+        }
+    }
+
+    /**
+     * Delete the least recently used files exceeding the maximal number of entries.
+     *
+     * @throws IOException if the directory cannot be listed.
+     */
+    private void evictFiles() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(p -> p.getFileName().toString().endsWith(FILE_EXTENSION)).collect(Collectors.toList());
+        }
+        if(files.size() <= maxEntries) {
+            return;
+        }
+        files.sort(Comparator.comparing(p -> p.toFile().lastModified()));
+        for(Path file: files.subList(0, files.size() - maxEntries)) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Get the number of look ups which found a stored snapshot.
+     *
+     * @return number of cache hits.
+     */
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    /**
+     * Get the number of look ups which did not find a stored snapshot.
+     *
+     * @return number of cache misses.
+     */
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    /**
+     * Get the number of entries kept in memory.
+     *
+     * @return number of entries kept in memory.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Compute the fingerprint (SHA-256 hex digest) of the given description of a scheduling problem.
+     *
+     * @param description the description of the scheduling problem.
+     *
+     * @return the fingerprint.
+     */
+    public static String fingerprint(String description) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(description.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for(byte b: digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available.", e);
+        }
+    }
+}
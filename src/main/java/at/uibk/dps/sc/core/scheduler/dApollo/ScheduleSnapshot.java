@@ -0,0 +1,170 @@
+package at.uibk.dps.sc.core.scheduler.dApollo;
+
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import net.sf.opendse.model.Task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Serializable snapshot of the initial planning of the dApollo scheduler. Tasks
+ * and resources are referenced by their IDs and resolved against the
+ * specification when the planning is restored.
+ */
+public class ScheduleSnapshot {
+
+    /**
+     * The cost of the initial schedule.
+     */
+    private double cost;
+
+    /**
+     * The initial schedule (a mapping for each task).
+     */
+    private List<MappingEntry> schedule;
+
+    /**
+     * The (adjusted) initial proposals.
+     */
+    private List<ProposalEntry> proposals;
+
+    /**
+     * Serializable representation of a {@link Mapping_}.
+     */
+    static class MappingEntry {
+
+        private String task;
+        private String resource;
+        private String rsInstanceResource;
+
+        MappingEntry() { }
+
+        MappingEntry(Mapping_ mapping) {
+            this.task = mapping.getTask().getId();
+            this.resource = mapping.getResource().getId();
+            this.rsInstanceResource = mapping.getRSInstanceResource();
+        }
+
+        Mapping_ restore(SpecificationProvider specificationProvider) {
+            return new Mapping_(specificationProvider.getEnactmentGraph().getVertex(task),
+                specificationProvider.getResourceGraph().getVertex(resource), rsInstanceResource);
+        }
+    }
+
+    /**
+     * Serializable representation of a {@link Proposal}. References to other
+     * proposals are stored as indices into the proposal list.
+     */
+    static class ProposalEntry {
+
+        private List<MappingEntry> mappings;
+        private double ts;
+        private double ac;
+        private double tsPlain;
+        private double acPlain;
+        private double tradeoff;
+        private List<Integer> includes;
+        private List<Integer> includesAll;
+        private List<String> taskIncludes;
+        private boolean cluster;
+    }
+
+    /**
+     * Default constructor (used for deserialization).
+     */
+    public ScheduleSnapshot() { }
+
+    /**
+     * Create a snapshot of the given planning result.
+     *
+     * @param currentSchedule the initial schedule.
+     * @param proposals the initial proposals.
+     * @param cost the cost of the initial schedule.
+     */
+    public ScheduleSnapshot(Map<Task, Mapping_> currentSchedule, List<Proposal> proposals, double cost) {
+        this.cost = cost;
+        this.schedule = currentSchedule.values().stream().map(MappingEntry::new).collect(Collectors.toList());
+        Map<Proposal, Integer> indices = new IdentityHashMap<>();
+        for(int i = 0; i < proposals.size(); i++) {
+            indices.put(proposals.get(i), i);
+        }
+        this.proposals = new ArrayList<>();
+        for(Proposal proposal: proposals) {
+            ProposalEntry entry = new ProposalEntry();
+            entry.mappings = proposal.getMappings().stream().map(MappingEntry::new).collect(Collectors.toList());
+            entry.ts = proposal.getTs();
+            entry.ac = proposal.getAc();
+            entry.tsPlain = proposal.getTsPlain();
+            entry.acPlain = proposal.getAcPlain();
+            entry.tradeoff = proposal.getTradeoff();
+            entry.includes = proposal.getIncludes().stream().map(indices::get).collect(Collectors.toList());
+            entry.includesAll = proposal.getIncludesAll().stream().map(indices::get).collect(Collectors.toList());
+            entry.taskIncludes = proposal.getTaskIncludes().stream().map(Task::getId).collect(Collectors.toList());
+            entry.cluster = proposal.isCluster();
+            this.proposals.add(entry);
+        }
+    }
+
+    /**
+     * Restore the initial schedule.
+     * [O(n)]
+     *
+     * @param specificationProvider the specification providing the tasks and resources.
+     *
+     * @return the initial schedule.
+     */
+    public HashMap<Task, Mapping_> restoreSchedule(SpecificationProvider specificationProvider) {
+        HashMap<Task, Mapping_> result = new HashMap<>();
+        for(MappingEntry entry: schedule) {
+            Mapping_ mapping = entry.restore(specificationProvider);
+            result.put(mapping.getTask(), mapping);
+        }
+        return result;
+    }
+
+    /**
+     * Restore the initial proposals.
+     * [O(n^2)]
+     *
+     * @param specificationProvider the specification providing the tasks and resources.
+     *
+     * @return the initial proposals.
+     */
+    public List<Proposal> restoreProposals(SpecificationProvider specificationProvider) {
+        List<Proposal> result = new ArrayList<>();
+        for(ProposalEntry entry: proposals) {
+            Proposal proposal = new Proposal(entry.mappings.stream().map(m -> m.restore(specificationProvider))
+                .collect(Collectors.toList()), entry.ts, entry.ac);
+            proposal.setTsPlain(entry.tsPlain);
+            proposal.setAcPlain(entry.acPlain);
+            proposal.setTradeoff(entry.tradeoff);
+            proposal.setTaskIncludes(entry.taskIncludes.stream().map(id -> specificationProvider.getEnactmentGraph().getVertex(id))
+                .collect(Collectors.toList()));
+            proposal.setCluster(entry.cluster);
+            result.add(proposal);
+        }
+        for(int i = 0; i < proposals.size(); i++) {
+            result.get(i).setIncludes(proposals.get(i).includes.stream().map(result::get).collect(Collectors.toList()));
+            result.get(i).setIncludesAll(proposals.get(i).includesAll.stream().map(result::get).collect(Collectors.toList()));
+        }
+        return result;
+    }
+
+    /** Getter and Setter */
+
+    public double getCost() {
+        return cost;
+    }
+
+    public void setCost(double cost) {
+        this.cost = cost;
+    }
+
+    public int getProposalCount() {
+        return proposals.size();
+    }
+}
@@ -19,6 +19,49 @@ public class SchedulerInput {
      */
     private HashMap<String, HashMap<String, Double>> resourcesRSInstances;
 
+    /**
+     * The time budget of a scheduling step in ms (0 if the time is not limited).
+     */
+    private double stepTimeBudgetMs;
+
+    /**
+     * Whether Pareto-dominated proposals are pruned.
+     */
+    private boolean paretoPruning;
+
+    /**
+     * The graph distance from the ready frontier within which proposals are created
+     * (negative if proposals are created for all tasks upfront).
+     */
+    private int proposalHorizon = -1;
+
+    /**
+     * The maximal number of tasks of a clustered sub-DAG proposal (at most 1 if no
+     * cluster proposals are created).
+     */
+    private int clusterSize;
+
+    /**
+     * The bandwidth and round-trip time of the links between resource types (null
+     * if the transfers are limited by the bandwidth of the resources only).
+     */
+    private LinkMatrix linkMatrix;
+
+    /**
+     * Whether concurrent transfers over the same rs instance share its bandwidth.
+     */
+    private boolean transferContention;
+
+    /**
+     * The maximal number of entries of the schedule cache (0 if no cache is used).
+     */
+    private int scheduleCacheSize;
+
+    /**
+     * The directory where the schedule cache is stored (empty for an in-memory cache).
+     */
+    private String scheduleCacheDirectory = "";
+
     /**
      * Default constructor.
      */
@@ -50,4 +93,68 @@ public class SchedulerInput {
     public void setResourcesRSInstances(HashMap<String, HashMap<String, Double>> resourcesRSInstances) {
         this.resourcesRSInstances = resourcesRSInstances;
     }
+
+    public int getScheduleCacheSize() {
+        return scheduleCacheSize;
+    }
+
+    public void setScheduleCacheSize(int scheduleCacheSize) {
+        this.scheduleCacheSize = scheduleCacheSize;
+    }
+
+    public String getScheduleCacheDirectory() {
+        return scheduleCacheDirectory;
+    }
+
+    public void setScheduleCacheDirectory(String scheduleCacheDirectory) {
+        this.scheduleCacheDirectory = scheduleCacheDirectory;
+    }
+
+    public double getStepTimeBudgetMs() {
+        return stepTimeBudgetMs;
+    }
+
+    public void setStepTimeBudgetMs(double stepTimeBudgetMs) {
+        this.stepTimeBudgetMs = stepTimeBudgetMs;
+    }
+
+    public boolean isParetoPruning() {
+        return paretoPruning;
+    }
+
+    public void setParetoPruning(boolean paretoPruning) {
+        this.paretoPruning = paretoPruning;
+    }
+
+    public int getProposalHorizon() {
+        return proposalHorizon;
+    }
+
+    public void setProposalHorizon(int proposalHorizon) {
+        this.proposalHorizon = proposalHorizon;
+    }
+
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    public void setClusterSize(int clusterSize) {
+        this.clusterSize = clusterSize;
+    }
+
+    public LinkMatrix getLinkMatrix() {
+        return linkMatrix;
+    }
+
+    public void setLinkMatrix(LinkMatrix linkMatrix) {
+        this.linkMatrix = linkMatrix;
+    }
+
+    public boolean isTransferContention() {
+        return transferContention;
+    }
+
+    public void setTransferContention(boolean transferContention) {
+        this.transferContention = transferContention;
+    }
 }
@@ -12,6 +12,41 @@ public class Statistics {
      */
     private double runtime;
 
+    /**
+     * The number of scheduling steps in which the time budget ran out.
+     */
+    private int budgetExceededSteps;
+
+    /**
+     * The number of proposal evaluations skipped due to the time budget.
+     */
+    private long skippedProposalEvaluations;
+
+    /**
+     * The maximal duration of a scheduling step in ms.
+     */
+    private double maxStepTimeMs;
+
+    /**
+     * The number of times a proposal was pruned as Pareto-dominated.
+     */
+    private int prunedProposals;
+
+    /**
+     * The maximal number of proposals considered in a scheduling step.
+     */
+    private int maxProposalCount;
+
+    /**
+     * The number of cluster proposals created.
+     */
+    private int clusterProposals;
+
+    /**
+     * The number of cluster proposals applied.
+     */
+    private int appliedClusterProposals;
+
     /**
      * Default constructor.
      */
@@ -34,4 +69,60 @@ public class Statistics {
     public void setRuntime(double runtime) {
         this.runtime = runtime;
     }
+
+    public int getBudgetExceededSteps() {
+        return budgetExceededSteps;
+    }
+
+    public void setBudgetExceededSteps(int budgetExceededSteps) {
+        this.budgetExceededSteps = budgetExceededSteps;
+    }
+
+    public long getSkippedProposalEvaluations() {
+        return skippedProposalEvaluations;
+    }
+
+    public void setSkippedProposalEvaluations(long skippedProposalEvaluations) {
+        this.skippedProposalEvaluations = skippedProposalEvaluations;
+    }
+
+    public double getMaxStepTimeMs() {
+        return maxStepTimeMs;
+    }
+
+    public void setMaxStepTimeMs(double maxStepTimeMs) {
+        this.maxStepTimeMs = maxStepTimeMs;
+    }
+
+    public int getPrunedProposals() {
+        return prunedProposals;
+    }
+
+    public void setPrunedProposals(int prunedProposals) {
+        this.prunedProposals = prunedProposals;
+    }
+
+    public int getMaxProposalCount() {
+        return maxProposalCount;
+    }
+
+    public void setMaxProposalCount(int maxProposalCount) {
+        this.maxProposalCount = maxProposalCount;
+    }
+
+    public int getClusterProposals() {
+        return clusterProposals;
+    }
+
+    public void setClusterProposals(int clusterProposals) {
+        this.clusterProposals = clusterProposals;
+    }
+
+    public int getAppliedClusterProposals() {
+        return appliedClusterProposals;
+    }
+
+    public void setAppliedClusterProposals(int appliedClusterProposals) {
+        this.appliedClusterProposals = appliedClusterProposals;
+    }
 }
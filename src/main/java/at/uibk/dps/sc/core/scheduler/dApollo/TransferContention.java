@@ -0,0 +1,72 @@
+package at.uibk.dps.sc.core.scheduler.dApollo;
+
+import java.util.Arrays;
+
+/**
+ * Models the contention of data transfers which share the bandwidth of a
+ * resource. Each transfer is slowed down by the time-averaged number of
+ * transfers it overlaps with (including itself), which is computed with a
+ * single sweep over the interval endpoints.
+ */
+public class TransferContention {
+
+    /**
+     * Get the slowdown of each transfer interval caused by the overlapping
+     * transfer intervals.
+     * [O(m*log(m))]
+     *
+     * @param start the start times of the transfers.
+     * @param end the end times of the transfers (without contention).
+     *
+     * @return the slowdown of each transfer (1 if the transfer does not overlap
+     * with any other transfer).
+     */
+    public static double[] getSlowdowns(double[] start, double[] end) {
+        if(start.length != end.length) {
+            throw new IllegalArgumentException("Each transfer requires a start and an end time.");
+        }
+        int m = start.length;
+
+        // Distinct interval endpoints in ascending order [O(m*log(m))].
+        double[] points = new double[2 * m];
+        System.arraycopy(start, 0, points, 0, m);
+        System.arraycopy(end, 0, points, m, m);
+        Arrays.sort(points);
+        int q = 0;
+        for(int i = 0; i < points.length; i++) {
+            if(q == 0 || points[i] != points[q - 1]) {
+                points[q++] = points[i];
+            }
+        }
+        points = Arrays.copyOf(points, q);
+
+        // Change of the number of concurrent transfers at each endpoint [O(m*log(m))].
+        int[] delta = new int[q + 1];
+        for(int i = 0; i < m; i++) {
+            if(end[i] > start[i]) {
+                delta[Arrays.binarySearch(points, start[i])]++;
+                delta[Arrays.binarySearch(points, end[i])]--;
+            }
+        }
+
+        // Sweep: integral of the number of concurrent transfers up to each endpoint [O(m)].
+        double[] integral = new double[q];
+        int concurrent = 0;
+        for(int j = 0; j + 1 < q; j++) {
+            concurrent += delta[j];
+            integral[j + 1] = integral[j] + concurrent * (points[j + 1] - points[j]);
+        }
+
+        // Average number of concurrent transfers within each interval [O(m*log(m))].
+        double[] slowdowns = new double[m];
+        for(int i = 0; i < m; i++) {
+            if(end[i] > start[i]) {
+                double area = integral[Arrays.binarySearch(points, end[i])] - integral[Arrays.binarySearch(points, start[i])];
+                slowdowns[i] = Math.max(1.0, area / (end[i] - start[i]));
+            } else {
+                slowdowns[i] = 1.0;
+            }
+        }
+        return slowdowns;
+    }
+}
@@ -0,0 +1,61 @@
+package at.uibk.dps.sc.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.sc.core.ExecutionStatistics.Estimate;
+
+class ExecutionStatisticsTest {
+
+  @Test
+  void testEstimate() {
+    ExecutionStatistics tested = new ExecutionStatistics(0.5, 10);
+    assertEquals(0, tested.getObservationNumber("type", "res"));
+    assertThrows(IllegalArgumentException.class, () -> tested.getEstimate("type", "res"));
+    tested.recordExecution("type", "res", 100.0, 50.0);
+    Estimate estimate = tested.getEstimate("type", "res");
+    assertEquals(100.0, estimate.getRuntimeMs(), 0.0);
+    assertEquals(0.5, estimate.getCpuUtilization(), 0.0);
+    assertEquals(0.0, estimate.getRuntimeStdDeviation(), 0.0);
+    tested.recordExecution("type", "res", 200.0, 0.0);
+    estimate = tested.getEstimate("type", "res");
+    assertEquals(150.0, estimate.getRuntimeMs(), 0.0);
+    assertEquals(25.0, estimate.getCpuTimeMs(), 0.0);
+    assertEquals(2, estimate.getObservationNumber());
+    assertTrue(estimate.getRuntimeStdDeviation() > 0.0);
+    // the returned estimate is a snapshot
+    tested.recordExecution("type", "res", 200.0, 0.0);
+    assertEquals(2, estimate.getObservationNumber());
+    assertEquals(0, tested.getObservationNumber("type", "otherRes"));
+  }
+
+  @Test
+  void testUnknownCpuTime() {
+    ExecutionStatistics tested = new ExecutionStatistics(0.5, 10);
+    tested.recordExecution("type", "res", 100.0);
+    assertEquals(1, tested.getObservationNumber("type", "res"));
+    assertEquals(0, tested.getCpuObservationNumber("type", "res"));
+    tested.recordExecution("type", "res", 300.0, 150.0);
+    Estimate estimate = tested.getEstimate("type", "res");
+    assertEquals(200.0, estimate.getRuntimeMs(), 0.0);
+    assertEquals(0.5, estimate.getCpuUtilization(), 0.0);
+    assertEquals(1, estimate.getCpuObservationNumber());
+  }
+
+  @Test
+  void testBoundedMemory() {
+    ExecutionStatistics tested = new ExecutionStatistics(0.5, 2);
+    tested.recordExecution("first", "res", 1.0, 1.0);
+    tested.recordExecution("second", "res", 1.0, 1.0);
+    // access makes first the most recently used
+    tested.getObservationNumber("first", "res");
+    tested.recordExecution("third", "res", 1.0, 1.0);
+    assertEquals(1, tested.getObservationNumber("first", "res"));
+    assertEquals(0, tested.getObservationNumber("second", "res"));
+    assertEquals(1, tested.getObservationNumber("third", "res"));
+  }
+
+  @Test
+  void testInvalidSmoothing() {
+    assertThrows(IllegalArgumentException.class, () -> new ExecutionStatistics(0.0, 2));
+  }
+}
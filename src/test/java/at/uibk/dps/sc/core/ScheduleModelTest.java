@@ -1,9 +1,14 @@
 package at.uibk.dps.sc.core;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import java.util.HashSet;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.model.properties.PropertyServiceResource;
+import at.uibk.dps.sc.core.scheduler.Scheduler;
 import net.sf.opendse.model.Mapping;
 import net.sf.opendse.model.Resource;
 import net.sf.opendse.model.Task;
@@ -25,8 +30,60 @@ public class ScheduleModelTest {
     tested.setTaskSchedule(task, schedule);
     assertTrue(tested.isScheduled(task));
     assertEquals(schedule, tested.getTaskSchedule(task));
+    assertTrue(PropertyServiceResource.getUsingTaskIds(res1).contains(task.getId()));
     tested.resetTaskSchedule(task);
     assertFalse(tested.isScheduled(task));
+    assertFalse(PropertyServiceResource.getUsingTaskIds(res1).contains(task.getId()));
+    assertFalse(PropertyServiceResource.getUsingTaskIds(res2).contains(task.getId()));
+  }
+
+  @Test
+  public void testReleaseTaskWithoutScheduler() {
+    ScheduleModel tested = new ScheduleModel();
+    Task task = new Task("task");
+    Resource res = new Resource("res");
+    Set<Mapping<Task, Resource>> schedule = new HashSet<>();
+    schedule.add(new Mapping<Task, Resource>("m", task, res));
+    tested.setTaskSchedule(task, schedule);
+    tested.releaseTask(task);
+    assertFalse(tested.isScheduled(task));
+    assertFalse(PropertyServiceResource.getUsingTaskIds(res).contains(task.getId()));
+  }
+
+  @Test
+  public void testReleaseTask() {
+    Scheduler scheduler = mock(Scheduler.class);
+    ScheduleModel tested = new ScheduleModel(() -> scheduler);
+    Task task = new Task("task");
+    Resource res = new Resource("res");
+    Set<Mapping<Task, Resource>> schedule = new HashSet<>();
+    schedule.add(new Mapping<Task, Resource>("m", task, res));
+    tested.setTaskSchedule(task, schedule);
+    tested.releaseTask(task);
+    assertFalse(tested.isScheduled(task));
+    tested.releaseTask(task);
+    verify(scheduler, times(1)).releaseCapacity(task, res);
+  }
+
+  @Test
+  public void testResetSchedule() {
+    Scheduler scheduler = mock(Scheduler.class);
+    ScheduleModel tested = new ScheduleModel(() -> scheduler);
+    Task task1 = new Task("task1");
+    Task task2 = new Task("task2");
+    Resource res = new Resource("res");
+    Set<Mapping<Task, Resource>> schedule1 = new HashSet<>();
+    schedule1.add(new Mapping<Task, Resource>("m1", task1, res));
+    Set<Mapping<Task, Resource>> schedule2 = new HashSet<>();
+    schedule2.add(new Mapping<Task, Resource>("m2", task2, res));
+    tested.setTaskSchedule(task1, schedule1);
+    tested.setTaskSchedule(task2, schedule2);
+    tested.resetTaskSchedule(task1);
+    verify(scheduler, times(1)).releaseCapacity(task1, res);
+    tested.resetSchedule();
+    assertFalse(tested.isScheduled(task2));
+    verify(scheduler, times(1)).releaseCapacity(task2, res);
+    verify(scheduler, times(1)).releaseCapacity(task1, res);
   }
 
   @Test
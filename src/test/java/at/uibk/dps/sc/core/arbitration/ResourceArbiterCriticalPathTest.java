@@ -0,0 +1,53 @@
+package at.uibk.dps.sc.core.arbitration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.graph.EnactmentSpecification;
+import at.uibk.dps.ee.model.graph.MappingsConcurrent;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.sc.core.PropertyServiceScheduling;
+import net.sf.opendse.model.Communication;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+class ResourceArbiterCriticalPathTest {
+
+  @Test
+  void test() {
+    // first -> comm -> second; third is independent and long-running
+    Task first = new Task("first");
+    Task second = new Task("second");
+    Task third = new Task("third");
+    Communication comm = new Communication("comm");
+    Resource res = new Resource("res");
+    EnactmentGraph eGraph = mock(EnactmentGraph.class);
+    when(eGraph.getVertices()).thenReturn(Arrays.asList(first, comm, second, third));
+    when(eGraph.getSuccessors(first)).thenReturn(Arrays.asList(comm));
+    when(eGraph.getSuccessors(comm)).thenReturn(Arrays.asList(second));
+    when(eGraph.getPredecessors(second)).thenReturn(Arrays.asList(comm));
+    when(eGraph.getPredecessors(comm)).thenReturn(Arrays.asList(first));
+    MappingsConcurrent mappings = new MappingsConcurrent();
+    Mapping<Task, Resource> thirdMapping = new Mapping<>("m3", third, res);
+    PropertyServiceScheduling.setRuntime(thirdMapping, 5.0);
+    mappings.addMapping(thirdMapping);
+    EnactmentSpecification spec = mock(EnactmentSpecification.class);
+    when(spec.getEnactmentGraph()).thenReturn(eGraph);
+    when(spec.getMappings()).thenReturn(mappings);
+    SpecificationProvider specProvider = mock(SpecificationProvider.class);
+    when(specProvider.getSpecification()).thenReturn(spec);
+
+    ResourceArbiterCriticalPath tested = new ResourceArbiterCriticalPath(specProvider);
+    List<Task> input = new ArrayList<>(Arrays.asList(second, first, third));
+    List<Task> result = tested.prioritizeTasks(input, res);
+    assertEquals(third, result.get(0));
+    assertEquals(first, result.get(1));
+    assertEquals(second, result.get(2));
+  }
+}
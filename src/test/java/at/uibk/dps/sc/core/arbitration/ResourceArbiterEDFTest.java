@@ -0,0 +1,80 @@
+package at.uibk.dps.sc.core.arbitration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.sc.core.PropertyServiceScheduling;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+class ResourceArbiterEDFTest {
+
+  protected static class ArbiterMock extends ResourceArbiterEDF {
+
+    protected long time;
+
+    protected ArbiterMock(double agingFactor) {
+      super(mock(SpecificationProvider.class), agingFactor, 100);
+    }
+
+    @Override
+    protected long getCurrentTime() {
+      return time;
+    }
+  }
+
+  @Test
+  void testEarliestDeadline() {
+    Task relaxed = new Task("relaxed");
+    Task urgent = new Task("urgent");
+    PropertyServiceScheduling.setDeadline(relaxed, 1000);
+    PropertyServiceScheduling.setDeadline(urgent, 500);
+    ArbiterMock tested = new ArbiterMock(0);
+    List<Task> result = tested.prioritizeTasks(Arrays.asList(relaxed, urgent), new Resource("res"));
+    assertEquals(Arrays.asList(urgent, relaxed), result);
+  }
+
+  @Test
+  void testAging() {
+    Task waiting = new Task("waiting");
+    Task newcomer = new Task("newcomer");
+    PropertyServiceScheduling.setDeadline(waiting, 5000);
+    PropertyServiceScheduling.setDeadline(newcomer, 2000);
+    Resource res = new Resource("res");
+
+    ArbiterMock noAging = new ArbiterMock(0);
+    noAging.prioritizeTasks(Arrays.asList(waiting), res);
+    noAging.time = 1000;
+    assertEquals(Arrays.asList(newcomer, waiting),
+        noAging.prioritizeTasks(Arrays.asList(waiting, newcomer), res));
+
+    ArbiterMock aging = new ArbiterMock(4);
+    aging.prioritizeTasks(Arrays.asList(waiting), res);
+    aging.time = 1000;
+    assertEquals(Arrays.asList(waiting, newcomer),
+        aging.prioritizeTasks(Arrays.asList(waiting, newcomer), res));
+  }
+
+  @Test
+  void testParkTime() {
+    Task parked = new Task("parked");
+    Task later = new Task("later");
+    Resource res = new Resource("res");
+    ArbiterMock tested = new ArbiterMock(0);
+    tested.taskParked(parked, res);
+    tested.time = 1000;
+    tested.taskParked(later, res);
+    // the default deadline is relative to the park time
+    List<Task> result = new ArrayList<>();
+    tested.getPrioritizedTasks(Arrays.asList(parked, later), res).forEach(result::add);
+    assertEquals(Arrays.asList(parked, later), result);
+    tested.taskUnparked(parked, res);
+    result.clear();
+    tested.getPrioritizedTasks(Arrays.asList(later), res).forEach(result::add);
+    assertEquals(Arrays.asList(later), result);
+  }
+}
@@ -0,0 +1,121 @@
+package at.uibk.dps.sc.core.arbitration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.model.graph.EnactmentSpecification;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.sc.core.PropertyServiceScheduling;
+import at.uibk.dps.sc.core.capacity.CapacityCalculator;
+import at.uibk.dps.sc.core.capacity.CapacityVector;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+class ResourceArbiterFairShareTest {
+
+  Task a1;
+  Task a2;
+  Task a3;
+  Task b1;
+  Resource res;
+  SpecificationProvider specProvider;
+  CapacityCalculator capCalc;
+
+  @Test
+  void testEqualWeights() {
+    ResourceArbiterFairShare tested = new ResourceArbiterFairShare(specProvider, capCalc, "");
+    List<Task> result = tested.prioritizeTasks(Arrays.asList(a1, a2, a3, b1), res);
+    assertEquals(Arrays.asList(a1, b1, a2, a3), result);
+  }
+
+  @Test
+  void testOccupiedShare() {
+    ResourceArbiterFairShare tested = new ResourceArbiterFairShare(specProvider, capCalc, "");
+    tested.taskPlaced(a1, res);
+    assertEquals(0.25, tested.getTenantShare(res, "A"), 0.0001);
+    List<Task> result = tested.prioritizeTasks(Arrays.asList(a2, a3, b1), res);
+    assertEquals(Arrays.asList(b1, a2, a3), result);
+    tested.taskReleased(a1, res);
+    assertEquals(0.0, tested.getTenantShare(res, "A"), 0.0001);
+    // releasing twice does not change anything
+    tested.taskReleased(a1, res);
+    assertEquals(0.0, tested.getTenantShare(res, "A"), 0.0001);
+  }
+
+  @Test
+  void testWeights() {
+    ResourceArbiterFairShare tested =
+        new ResourceArbiterFairShare(specProvider, capCalc, "A=2; B=1");
+    List<Task> result = tested.prioritizeTasks(Arrays.asList(a1, a2, a3, b1), res);
+    assertEquals(Arrays.asList(a1, a2, b1, a3), result);
+  }
+
+  @Test
+  void testDominantShare() {
+    // a task using half of the CPU costs more than its slot share
+    when(capCalc.getDemand(a1, res)).thenReturn(new CapacityVector(4.0, 0.0, 0.25));
+    ResourceArbiterFairShare tested = new ResourceArbiterFairShare(specProvider, capCalc, "");
+    tested.taskPlaced(a1, res);
+    assertEquals(0.5, tested.getTenantShare(res, "A"), 0.0001);
+  }
+
+  @Test
+  void testPersistentDeficits() {
+    ResourceArbiterFairShare tested =
+        new ResourceArbiterFairShare(specProvider, capCalc, "A=0.5; B=1");
+    assertEquals(Arrays.asList(b1, a1), tested.prioritizeTasks(Arrays.asList(a1, b1), res));
+    // the credit of the round is kept
+    assertEquals(0.125, tested.getDeficit(res, "A"), 0.0001);
+    assertEquals(0.25, tested.getDeficit(res, "B"), 0.0001);
+    tested.taskPlaced(b1, res);
+    assertEquals(0.0, tested.getDeficit(res, "B"), 0.0001);
+    // A was waiting before and gets served first now
+    assertEquals(Arrays.asList(a1), tested.prioritizeTasks(Arrays.asList(a1), res));
+    assertEquals(0.25, tested.getDeficit(res, "A"), 0.0001);
+    // B is not waiting anymore and keeps no credit
+    assertEquals(0.0, tested.getDeficit(res, "B"), 0.0001);
+  }
+
+  @Test
+  void testSmallWeight() {
+    ResourceArbiterFairShare tested =
+        new ResourceArbiterFairShare(specProvider, capCalc, "A=0.0001");
+    // the rounds without service are skipped
+    assertEquals(Arrays.asList(b1, a1, a2), tested.prioritizeTasks(Arrays.asList(a1, a2, b1), res));
+    assertEquals(Arrays.asList(a1, a2), tested.prioritizeTasks(Arrays.asList(a1, a2), res));
+  }
+
+  @Test
+  void testMalformedWeights() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new ResourceArbiterFairShare(specProvider, capCalc, "A:2"));
+    assertThrows(IllegalArgumentException.class,
+        () -> new ResourceArbiterFairShare(specProvider, capCalc, "A=0"));
+  }
+
+  @BeforeEach
+  void setup() {
+    a1 = new Task("a1");
+    a2 = new Task("a2");
+    a3 = new Task("a3");
+    b1 = new Task("b1");
+    PropertyServiceScheduling.setTenant(a1, "A");
+    PropertyServiceScheduling.setTenant(a2, "A");
+    PropertyServiceScheduling.setTenant(a3, "A");
+    PropertyServiceScheduling.setTenant(b1, "B");
+    res = new Resource("res");
+    EnactmentSpecification spec = mock(EnactmentSpecification.class);
+    specProvider = mock(SpecificationProvider.class);
+    when(specProvider.getSpecification()).thenReturn(spec);
+    capCalc = mock(CapacityCalculator.class);
+    when(capCalc.getCapacity(res)).thenReturn(new CapacityVector(8.0, 1024.0, 1.0));
+    when(capCalc.getDemand(a1, res)).thenReturn(CapacityVector.slotsOnly(0.25));
+    when(capCalc.getDemand(a2, res)).thenReturn(CapacityVector.slotsOnly(0.25));
+    when(capCalc.getDemand(a3, res)).thenReturn(CapacityVector.slotsOnly(0.25));
+    when(capCalc.getDemand(b1, res)).thenReturn(CapacityVector.slotsOnly(0.25));
+  }
+}
@@ -0,0 +1,52 @@
+package at.uibk.dps.sc.core.arbitration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.model.graph.EnactmentSpecification;
+import at.uibk.dps.ee.model.graph.MappingsConcurrent;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.sc.core.PropertyServiceScheduling;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+class ResourceArbiterShortestRuntimeTest {
+
+  @Test
+  void test() {
+    Task slow = new Task("slow");
+    Task fast = new Task("fast");
+    Task unknown = new Task("unknown");
+    Task late = new Task("late");
+    Resource res = new Resource("res");
+    Resource otherRes = new Resource("otherRes");
+    Mapping<Task, Resource> slowMapping = new Mapping<>("m1", slow, res);
+    Mapping<Task, Resource> fastMapping = new Mapping<>("m2", fast, res);
+    Mapping<Task, Resource> otherMapping = new Mapping<>("m3", slow, otherRes);
+    Mapping<Task, Resource> lateMapping = new Mapping<>("m4", late, res);
+    PropertyServiceScheduling.setRuntime(slowMapping, 10.0);
+    PropertyServiceScheduling.setRuntime(fastMapping, 2.0);
+    PropertyServiceScheduling.setRuntime(otherMapping, 1.0);
+    PropertyServiceScheduling.setRuntime(lateMapping, 5.0);
+    MappingsConcurrent mappings = new MappingsConcurrent();
+    mappings.addMapping(slowMapping);
+    mappings.addMapping(fastMapping);
+    mappings.addMapping(otherMapping);
+    mappings.addMapping(lateMapping);
+    EnactmentSpecification spec = mock(EnactmentSpecification.class);
+    when(spec.getMappings()).thenReturn(mappings);
+    SpecificationProvider specProvider = mock(SpecificationProvider.class);
+    when(specProvider.getSpecification()).thenReturn(spec);
+
+    ResourceArbiterShortestRuntime tested = new ResourceArbiterShortestRuntime(specProvider);
+    List<Task> result = tested.prioritizeTasks(Arrays.asList(slow, unknown, fast), res);
+    assertEquals(Arrays.asList(fast, slow, unknown), result);
+    // fast was placed, late arrived
+    result = tested.prioritizeTasks(Arrays.asList(slow, unknown, late), res);
+    assertEquals(Arrays.asList(late, slow, unknown), result);
+  }
+}
@@ -0,0 +1,35 @@
+package at.uibk.dps.sc.core.capacity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUser;
+import at.uibk.dps.sc.core.ExecutionStatistics;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+class CapacityCalculatorObservedLoadTest {
+
+  @Test
+  void test() {
+    Task cpuBound = PropertyServiceFunctionUser.createUserTask("cpuBound", "cpuType");
+    Task ioBound = PropertyServiceFunctionUser.createUserTask("ioBound", "ioType");
+    Task unknown = PropertyServiceFunctionUser.createUserTask("unknown", "unknownType");
+    Resource res = new Resource("res");
+    ExecutionStatistics statistics = new ExecutionStatistics(0.5, 10);
+    statistics.recordExecution("cpuType", "res", 100.0, 100.0);
+    statistics.recordExecution("cpuType", "res", 100.0, 100.0);
+    statistics.recordExecution("ioType", "res", 100.0, 0.0);
+    statistics.recordExecution("ioType", "res", 100.0, 0.0);
+    CapacityCalculatorObservedLoad tested =
+        new CapacityCalculatorObservedLoad(statistics, 4, 2);
+    assertEquals(0.25, tested.getNonTrivialCapacityFraction(cpuBound, res), 0.0001);
+    assertEquals(0.025, tested.getNonTrivialCapacityFraction(ioBound, res), 0.0001);
+    assertEquals(0.25, tested.getNonTrivialCapacityFraction(unknown, res), 0.0001);
+    // not enough observations
+    tested = new CapacityCalculatorObservedLoad(statistics, 4, 3);
+    assertEquals(0.25, tested.getNonTrivialCapacityFraction(ioBound, res), 0.0001);
+    // executions without reported CPU time do not count
+    statistics.recordExecution("ioType", "res", 100.0);
+    assertEquals(0.25, tested.getNonTrivialCapacityFraction(ioBound, res), 0.0001);
+  }
+}
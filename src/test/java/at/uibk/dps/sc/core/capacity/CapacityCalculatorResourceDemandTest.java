@@ -0,0 +1,44 @@
+package at.uibk.dps.sc.core.capacity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.model.graph.EnactmentSpecification;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
+import at.uibk.dps.ee.model.properties.PropertyServiceResource;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+class CapacityCalculatorResourceDemandTest {
+
+  @Test
+  void test() {
+    Task task = new Task("task");
+    PropertyServiceFunction.annotateNonNegligibleWorkload(task);
+    PropertyServiceCapacity.setCpuDemand(task, 1.0);
+    PropertyServiceCapacity.setMemoryDemand(task, 2048.0);
+    Resource limited = new Resource("limited");
+    PropertyServiceCapacity.setCpuCapacity(limited, 4.0);
+    PropertyServiceCapacity.setMemoryCapacity(limited, 4096.0);
+    Resource unlimited = new Resource("unlimited");
+    PropertyServiceResource.annotateUnlimitedCapacity(unlimited);
+    SpecificationProvider specProvider = mock(SpecificationProvider.class);
+    when(specProvider.getSpecification()).thenReturn(mock(EnactmentSpecification.class));
+
+    CapacityCalculatorResourceDemand tested = new CapacityCalculatorResourceDemand(specProvider, 8);
+    CapacityVector demand = tested.getDemand(task, limited);
+    assertEquals(1.0, demand.getCpu(), 0.0);
+    assertEquals(2048.0, demand.getMemory(), 0.0);
+    assertEquals(0.125, demand.getSlots(), 0.0);
+    // memory is the dominant dimension
+    assertEquals(0.5, tested.getCapacityFraction(task, limited), 0.0);
+    assertEquals(0.0, tested.getCapacityFraction(task, unlimited), 0.0);
+    assertEquals(CapacityVector.ZERO, tested.getDemand(task, unlimited));
+    CapacityVector capacity = tested.getCapacity(limited);
+    assertEquals(4.0, capacity.getCpu(), 0.0);
+    assertEquals(4096.0, capacity.getMemory(), 0.0);
+    assertEquals(1.0, capacity.getSlots(), 0.0);
+  }
+}
@@ -0,0 +1,47 @@
+package at.uibk.dps.sc.core.capacity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class CapacityVectorTest {
+
+  @Test
+  void testArithmetic() {
+    CapacityVector first = new CapacityVector(1.0, 512.0, 0.25);
+    CapacityVector second = new CapacityVector(2.0, 1024.0, 0.5);
+    CapacityVector sum = first.add(second);
+    assertEquals(3.0, sum.getCpu(), 0.0);
+    assertEquals(1536.0, sum.getMemory(), 0.0);
+    assertEquals(0.75, sum.getSlots(), 0.0);
+    CapacityVector difference = sum.subtract(first);
+    assertEquals(2.0, difference.getCpu(), 0.0);
+    assertEquals(1024.0, difference.getMemory(), 0.0);
+    assertEquals(0.5, difference.getSlots(), 0.0);
+  }
+
+  @Test
+  void testFit() {
+    CapacityVector capacity = new CapacityVector(4.0, Double.POSITIVE_INFINITY, 1.0);
+    assertTrue(new CapacityVector(4.0, 100000.0, 1.0).fitsInto(capacity));
+    assertTrue(new CapacityVector(0.1 + 0.2, 0.0, 0.1 * 10).fitsInto(capacity));
+    assertFalse(new CapacityVector(4.5, 0.0, 0.5).fitsInto(capacity));
+    assertFalse(new CapacityVector(1.0, 0.0, 1.25).fitsInto(capacity));
+  }
+
+  @Test
+  void testDominantShare() {
+    CapacityVector capacity = new CapacityVector(4.0, Double.POSITIVE_INFINITY, 1.0);
+    assertEquals(0.5, new CapacityVector(2.0, 100000.0, 0.25).getDominantShare(capacity), 0.0);
+    assertEquals(0.75, new CapacityVector(1.0, 0.0, 0.75).getDominantShare(capacity), 0.0);
+    assertEquals(0.0, CapacityVector.ZERO.getDominantShare(capacity), 0.0);
+  }
+
+  @Test
+  void testFittingNumber() {
+    CapacityVector free = new CapacityVector(4.0, Double.POSITIVE_INFINITY, 1.0);
+    assertEquals(3, free.getFittingNumber(new CapacityVector(1.0, 512.0, 0.3), 10));
+    assertEquals(2, free.getFittingNumber(new CapacityVector(2.0, 0.0, 0.1), 10));
+    assertEquals(5, free.getFittingNumber(CapacityVector.ZERO, 5));
+    assertEquals(0, new CapacityVector(0.0, 0.0, -0.5).getFittingNumber(CapacityVector.ZERO, 5));
+  }
+}
@@ -0,0 +1,36 @@
+package at.uibk.dps.sc.core.capacity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+class ResourceOccupancyTest {
+
+  @Test
+  void test() {
+    Task first = new Task("first");
+    Task second = new Task("second");
+    Resource res = new Resource("res");
+    CapacityVector capacity = new CapacityVector(2.0, 1024.0, 1.0);
+    CapacityVector demand = new CapacityVector(1.0, 512.0, 0.1);
+    ResourceOccupancy tested = new ResourceOccupancy();
+    assertTrue(tested.fits(res, demand, capacity));
+    tested.charge(first, res, demand);
+    assertTrue(tested.fits(res, demand, capacity));
+    tested.charge(second, res, demand);
+    assertEquals(2, tested.getTaskNumber(res));
+    assertEquals(1024.0, tested.getOccupied(res).getMemory(), 0.0);
+    assertFalse(tested.fits(res, demand, capacity));
+    // charging the same task again does not count twice
+    tested.charge(second, res, demand);
+    assertEquals(2.0, tested.getOccupied(res).getCpu(), 0.0);
+    tested.release(first, res);
+    assertTrue(tested.fits(res, demand, capacity));
+    // releasing an uncharged task has no effect
+    tested.release(first, res);
+    assertEquals(1, tested.getTaskNumber(res));
+    tested.release(second, res);
+    assertEquals(CapacityVector.ZERO, tested.getOccupied(res));
+  }
+}
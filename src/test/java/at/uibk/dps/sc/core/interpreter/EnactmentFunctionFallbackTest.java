@@ -0,0 +1,82 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import com.google.gson.JsonObject;
+import at.uibk.dps.ee.core.function.EnactmentFunction;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+class EnactmentFunctionFallbackTest {
+
+  static Vertx vertx;
+
+  @BeforeAll
+  static void setup() {
+    vertx = Vertx.vertx();
+  }
+
+  @Test
+  void testTimeout() throws InterruptedException {
+    JsonObject input = new JsonObject();
+    JsonObject output = new JsonObject();
+    EnactmentFunction overloaded = mock(EnactmentFunction.class);
+    when(overloaded.processInput(input)).thenReturn(Promise.<JsonObject>promise().future());
+    EnactmentFunction cloud = mock(EnactmentFunction.class);
+    when(cloud.processInput(input)).thenReturn(Future.succeededFuture(output));
+    EnactmentFunctionFallback tested =
+        new EnactmentFunctionFallback(Arrays.asList(overloaded, cloud), Arrays.asList(50L, 0L),
+            vertx);
+    CountDownLatch latch = new CountDownLatch(1);
+    tested.processInput(input).onComplete(asyncRes -> {
+      if (asyncRes.succeeded() && asyncRes.result() == output) {
+        latch.countDown();
+      }
+    });
+    assertTrue(latch.await(1, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testError() {
+    JsonObject input = new JsonObject();
+    EnactmentFunction broken = mock(EnactmentFunction.class);
+    when(broken.processInput(input))
+        .thenReturn(Future.failedFuture(new IllegalStateException("broken")));
+    EnactmentFunction cloud = mock(EnactmentFunction.class);
+    when(cloud.processInput(input)).thenReturn(Future.succeededFuture(new JsonObject()));
+    Vertx vertxMock = mock(Vertx.class);
+    when(vertxMock.setTimer(anyLong(), any())).thenReturn(1L);
+    EnactmentFunctionFallback tested = new EnactmentFunctionFallback(
+        Arrays.asList(broken, cloud), Arrays.asList(10000L, 0L), vertxMock);
+    // failover without waiting for the timeout, which is cancelled
+    assertTrue(tested.processInput(input).succeeded());
+    verify(vertxMock).cancelTimer(1L);
+  }
+
+  @Test
+  void testAllFail() {
+    JsonObject input = new JsonObject();
+    EnactmentFunction broken = mock(EnactmentFunction.class);
+    when(broken.processInput(input))
+        .thenReturn(Future.failedFuture(new IllegalStateException("broken")));
+    EnactmentFunction cloud = mock(EnactmentFunction.class);
+    when(cloud.processInput(input))
+        .thenReturn(Future.failedFuture(new IllegalStateException("cloud")));
+    EnactmentFunctionFallback tested = new EnactmentFunctionFallback(
+        Arrays.asList(broken, cloud), Arrays.asList(10000L, 0L), vertx);
+    Future<JsonObject> result = tested.processInput(input);
+    assertTrue(result.failed());
+    assertEquals("cloud", result.cause().getMessage());
+    verify(cloud).processInput(input);
+  }
+}
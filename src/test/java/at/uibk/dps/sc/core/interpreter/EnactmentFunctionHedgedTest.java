@@ -0,0 +1,146 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import com.google.gson.JsonObject;
+import at.uibk.dps.ee.core.function.EnactmentFunction;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+class EnactmentFunctionHedgedTest {
+
+  static Vertx vertx;
+
+  @BeforeAll
+  static void setup() {
+    vertx = Vertx.vertx();
+  }
+
+  @Test
+  void testStraggler() throws InterruptedException {
+    JsonObject input = new JsonObject();
+    JsonObject output = new JsonObject();
+    EnactmentFunction straggler = mock(EnactmentFunction.class);
+    when(straggler.processInput(input)).thenReturn(Promise.<JsonObject>promise().future());
+    EnactmentFunction fast = mock(EnactmentFunction.class);
+    when(fast.processInput(input)).thenReturn(Future.succeededFuture(output));
+    LatencyTracker tracker = new LatencyTracker();
+    EnactmentFunctionHedged tested = new EnactmentFunctionHedged(
+        Arrays.asList(straggler, fast), Arrays.asList("slowRes", "fastRes"), "type", 50, vertx,
+        tracker);
+    CountDownLatch latch = new CountDownLatch(1);
+    tested.processInput(input).onComplete(asyncRes -> {
+      if (asyncRes.succeeded() && asyncRes.result() == output) {
+        latch.countDown();
+      }
+    });
+    assertTrue(latch.await(1, TimeUnit.SECONDS));
+    assertEquals(1, tracker.getSampleNumber("type", "fastRes"));
+  }
+
+  @Test
+  void testPrimarySucceeds() throws InterruptedException {
+    JsonObject input = new JsonObject();
+    EnactmentFunction primary = mock(EnactmentFunction.class);
+    when(primary.processInput(input)).thenReturn(Future.succeededFuture(new JsonObject()));
+    EnactmentFunction secondary = mock(EnactmentFunction.class);
+    EnactmentFunctionHedged tested = new EnactmentFunctionHedged(
+        Arrays.asList(primary, secondary), Arrays.asList("res1", "res2"), "type", 20, vertx,
+        new LatencyTracker());
+    assertTrue(tested.processInput(input).succeeded());
+    Thread.sleep(100);
+    verify(secondary, never()).processInput(input);
+  }
+
+  @Test
+  void testFailureReschedulesHedges() {
+    JsonObject input = new JsonObject();
+    Promise<JsonObject> firstPromise = Promise.promise();
+    EnactmentFunction first = mock(EnactmentFunction.class);
+    when(first.processInput(input)).thenReturn(firstPromise.future());
+    EnactmentFunction second = mock(EnactmentFunction.class);
+    when(second.processInput(input)).thenReturn(Promise.<JsonObject>promise().future());
+    EnactmentFunction third = mock(EnactmentFunction.class);
+    Vertx vertxMock = mock(Vertx.class);
+    when(vertxMock.setTimer(anyLong(), any())).thenReturn(1L, 2L, 3L);
+    EnactmentFunctionHedged tested =
+        new EnactmentFunctionHedged(Arrays.asList(first, second, third),
+            Arrays.asList("res1", "res2", "res3"), "type", 100, vertxMock, new LatencyTracker());
+    tested.processInput(input);
+    verify(vertxMock).setTimer(eq(100L), any());
+    verify(vertxMock).setTimer(eq(200L), any());
+    firstPromise.fail(new IllegalStateException("first"));
+    // the pending hedges are cancelled and the third attempt is rescheduled
+    verify(vertxMock).cancelTimer(1L);
+    verify(vertxMock).cancelTimer(2L);
+    verify(second).processInput(input);
+    verify(vertxMock, times(2)).setTimer(eq(100L), any());
+    verify(third, never()).processInput(input);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testSettledAfterLateAttempt() {
+    JsonObject input = new JsonObject();
+    Promise<JsonObject> slowPromise = Promise.promise();
+    EnactmentFunction slow = mock(EnactmentFunction.class);
+    when(slow.processInput(input)).thenReturn(slowPromise.future());
+    EnactmentFunction fast = mock(EnactmentFunction.class);
+    when(fast.processInput(input)).thenReturn(Future.succeededFuture(new JsonObject()));
+    Vertx vertxMock = mock(Vertx.class);
+    when(vertxMock.setTimer(anyLong(), any())).thenReturn(1L);
+    LatencyTracker tracker = new LatencyTracker();
+    EnactmentFunctionHedged tested = new EnactmentFunctionHedged(Arrays.asList(slow, fast),
+        Arrays.asList("slowRes", "fastRes"), "type", 100, vertxMock, tracker);
+    Promise<Void> settled = Promise.promise();
+    Future<JsonObject> result = tested.processInput(input, settled);
+    ArgumentCaptor<Handler<Long>> hedge = ArgumentCaptor.forClass(Handler.class);
+    verify(vertxMock).setTimer(eq(100L), hedge.capture());
+    hedge.getValue().handle(1L);
+    assertTrue(result.succeeded());
+    // the slow attempt is still running
+    assertFalse(settled.future().isComplete());
+    slowPromise.fail(new IllegalStateException("slow"));
+    assertTrue(settled.future().succeeded());
+    // the late failure neither sets new timers nor changes the result
+    verify(vertxMock, times(1)).setTimer(anyLong(), any());
+    assertTrue(result.succeeded());
+    assertEquals(0, tracker.getSampleNumber("type", "slowRes"));
+  }
+
+  @Test
+  void testAllFail() throws InterruptedException {
+    JsonObject input = new JsonObject();
+    EnactmentFunction first = mock(EnactmentFunction.class);
+    when(first.processInput(input))
+        .thenReturn(Future.failedFuture(new IllegalStateException("first")));
+    EnactmentFunction second = mock(EnactmentFunction.class);
+    when(second.processInput(input))
+        .thenReturn(Future.failedFuture(new IllegalStateException("second")));
+    // the failure of the primary triggers the secondary without waiting
+    EnactmentFunctionHedged tested = new EnactmentFunctionHedged(Arrays.asList(first, second),
+        Arrays.asList("res1", "res2"), "type", 10000, vertx, new LatencyTracker());
+    CountDownLatch latch = new CountDownLatch(1);
+    tested.processInput(input).onComplete(asyncRes -> {
+      if (asyncRes.failed() && asyncRes.cause().getMessage().equals("second")) {
+        latch.countDown();
+      }
+    });
+    assertTrue(latch.await(1, TimeUnit.SECONDS));
+  }
+}
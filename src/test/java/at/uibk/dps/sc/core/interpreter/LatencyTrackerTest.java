@@ -0,0 +1,25 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class LatencyTrackerTest {
+
+  @Test
+  void test() {
+    LatencyTracker tested = new LatencyTracker(4);
+    assertEquals(0, tested.getSampleNumber("type", "res"));
+    assertThrows(IllegalArgumentException.class, () -> tested.getPercentile("type", "res", 50));
+    tested.recordLatency("type", "res", 40.0);
+    tested.recordLatency("type", "res", 10.0);
+    tested.recordLatency("type", "res", 30.0);
+    tested.recordLatency("type", "res", 20.0);
+    assertEquals(20.0, tested.getPercentile("type", "res", 50), 0.0);
+    assertEquals(40.0, tested.getPercentile("type", "res", 99), 0.0);
+    assertEquals(10.0, tested.getPercentile("type", "res", 0), 0.0);
+    // the oldest sample (40) is dropped
+    tested.recordLatency("type", "res", 15.0);
+    assertEquals(4, tested.getSampleNumber("type", "res"));
+    assertEquals(30.0, tested.getPercentile("type", "res", 100), 0.0);
+  }
+}
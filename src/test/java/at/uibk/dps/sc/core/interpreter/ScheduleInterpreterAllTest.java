@@ -5,10 +5,14 @@ import at.uibk.dps.ee.core.function.EnactmentFunction;
 import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUser;
 import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUtilityCollections;
 import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUtilityCollections.CollectionOperation;
+import at.uibk.dps.sc.core.ScheduleModel;
+import com.google.gson.JsonObject;
+import io.vertx.core.Future;
 import net.sf.opendse.model.Mapping;
 import net.sf.opendse.model.Resource;
 import net.sf.opendse.model.Task;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import java.util.HashSet;
 import java.util.Set;
@@ -39,4 +43,30 @@ public class ScheduleInterpreterAllTest {
     assertEquals(eeFunction, tested.interpretSchedule(eeTask, eeSchedule));
     assertEquals(userFunction, tested.interpretSchedule(userTask, userSchedule));
   }
+
+  @Test
+  public void testReleaseOnCompletion() {
+    ScheduleInterpreterUser mockInterpreterUser = mock(ScheduleInterpreterUser.class);
+    Task userTask = PropertyServiceFunctionUser.createUserTask("usertask", "addition");
+    Resource res = new Resource("res");
+    Mapping<Task, Resource> mapping = new Mapping<Task, Resource>("mapping", userTask, res);
+    Set<Mapping<Task, Resource>> userSchedule = new HashSet<>();
+    userSchedule.add(mapping);
+    EnactmentFunction userFunction = mock(EnactmentFunction.class);
+    JsonObject input = new JsonObject();
+    when(userFunction.processInput(input)).thenReturn(Future.succeededFuture(new JsonObject()));
+    when(mockInterpreterUser.interpretSchedule(userTask, userSchedule)).thenReturn(userFunction);
+    ScheduleModel scheduleModel = mock(ScheduleModel.class);
+    when(scheduleModel.isScheduled(userTask)).thenReturn(false);
+
+    ScheduleInterpreterAll tested =
+        new ScheduleInterpreterAll(mock(ScheduleInterpreterEE.class), mockInterpreterUser);
+    tested.setTaskSchedules(scheduleModel);
+    EnactmentFunction result = tested.interpretSchedule(userTask, userSchedule);
+    assertTrue(result instanceof EnactmentFunctionReleasing);
+    assertEquals(userFunction, ((EnactmentFunctionReleasing) result).getDecorated());
+    verify(scheduleModel).setTaskSchedule(userTask, userSchedule);
+    assertTrue(result.processInput(input).succeeded());
+    verify(scheduleModel).releaseTask(userTask);
+  }
 }
@@ -0,0 +1,86 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import com.google.gson.JsonObject;
+import at.uibk.dps.ee.core.function.EnactmentFunction;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUser;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUtilityCollections;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUtilityCollections.CollectionOperation;
+import at.uibk.dps.sc.core.ConstantsScheduling;
+import at.uibk.dps.sc.core.ExecutionStatistics;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+class ScheduleInterpreterMonitoredTest {
+
+  @Test
+  void testUserTask() {
+    Task userTask = PropertyServiceFunctionUser.createUserTask("userTask", "addition");
+    Resource res = new Resource("res");
+    Set<Mapping<Task, Resource>> schedule = new HashSet<>();
+    schedule.add(new Mapping<>("mapping", userTask, res));
+    EnactmentFunction function = mock(EnactmentFunction.class);
+    JsonObject input = new JsonObject();
+    when(function.processInput(input)).thenReturn(Future.succeededFuture(new JsonObject()));
+    ScheduleInterpreterAll interpreterAll = mock(ScheduleInterpreterAll.class);
+    when(interpreterAll.interpretSchedule(userTask, schedule)).thenReturn(function);
+    ExecutionStatistics statistics = new ExecutionStatistics();
+
+    ScheduleInterpreterMonitored tested =
+        new ScheduleInterpreterMonitored(interpreterAll, statistics);
+    EnactmentFunction result = tested.interpretSchedule(userTask, schedule);
+    assertTrue(result instanceof EnactmentFunctionMonitored);
+    assertEquals(function, ((EnactmentFunctionMonitored) result).getDecorated());
+    assertEquals(0, statistics.getObservationNumber("addition", "res"));
+    assertTrue(result.processInput(input).succeeded());
+    assertEquals(1, statistics.getObservationNumber("addition", "res"));
+    assertEquals(0, statistics.getCpuObservationNumber("addition", "res"));
+  }
+
+  @Test
+  void testReportedCpuTime() {
+    Task userTask = PropertyServiceFunctionUser.createUserTask("userTask", "addition");
+    Resource res = new Resource("res");
+    Set<Mapping<Task, Resource>> schedule = new HashSet<>();
+    schedule.add(new Mapping<>("mapping", userTask, res));
+    EnactmentFunction function = mock(EnactmentFunction.class);
+    JsonObject input = new JsonObject();
+    JsonObject output = new JsonObject();
+    output.addProperty(ConstantsScheduling.jsonKeyCpuTime, 5.0);
+    Promise<JsonObject> promise = Promise.promise();
+    when(function.processInput(input)).thenReturn(promise.future());
+    ScheduleInterpreterAll interpreterAll = mock(ScheduleInterpreterAll.class);
+    when(interpreterAll.interpretSchedule(userTask, schedule)).thenReturn(function);
+    ExecutionStatistics statistics = new ExecutionStatistics();
+    ScheduleInterpreterMonitored tested =
+        new ScheduleInterpreterMonitored(interpreterAll, statistics);
+    Future<JsonObject> result = tested.interpretSchedule(userTask, schedule).processInput(input);
+    // recorded on completion, not on invocation
+    assertEquals(0, statistics.getObservationNumber("addition", "res"));
+    promise.complete(output);
+    assertTrue(result.succeeded());
+    assertEquals(1, statistics.getCpuObservationNumber("addition", "res"));
+    assertEquals(5.0, statistics.getEstimate("addition", "res").getCpuTimeMs(), 0.0);
+  }
+
+  @Test
+  void testEETask() {
+    Task eeTask = PropertyServiceFunctionUtilityCollections.createCollectionOperation("bla",
+        "blabla", CollectionOperation.Block);
+    Set<Mapping<Task, Resource>> schedule = new HashSet<>();
+    EnactmentFunction function = mock(EnactmentFunction.class);
+    ScheduleInterpreterAll interpreterAll = mock(ScheduleInterpreterAll.class);
+    when(interpreterAll.interpretSchedule(eeTask, schedule)).thenReturn(function);
+    ScheduleInterpreterMonitored tested =
+        new ScheduleInterpreterMonitored(interpreterAll, new ExecutionStatistics());
+    assertEquals(function, tested.interpretSchedule(eeTask, schedule));
+  }
+}
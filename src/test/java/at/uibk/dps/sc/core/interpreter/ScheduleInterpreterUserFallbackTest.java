@@ -0,0 +1,66 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.core.function.EnactmentFunction;
+import at.uibk.dps.ee.enactables.FactoryInputUser;
+import at.uibk.dps.ee.enactables.FunctionFactoryUser;
+import at.uibk.dps.ee.guice.starter.VertxProvider;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUser;
+import at.uibk.dps.ee.model.properties.PropertyServiceResource;
+import at.uibk.dps.sc.core.ExecutionStatistics;
+import io.vertx.core.Vertx;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+class ScheduleInterpreterUserFallbackTest {
+
+  @Test
+  void test() {
+    Task task = PropertyServiceFunctionUser.createUserTask("task", "addition");
+    Resource edge = new Resource("edge");
+    Resource cloud = new Resource("cloud");
+    PropertyServiceResource.annotateUnlimitedCapacity(cloud);
+    Mapping<Task, Resource> edgeMapping = new Mapping<>("m1", task, edge);
+    Mapping<Task, Resource> cloudMapping = new Mapping<>("m2", task, cloud);
+    EnactmentFunction edgeFunction = mock(EnactmentFunction.class);
+    EnactmentFunction cloudFunction = mock(EnactmentFunction.class);
+    FunctionFactoryUser factory = mock(FunctionFactoryUser.class);
+    FactoryInputUser edgeInput = new FactoryInputUser(task, edgeMapping);
+    FactoryInputUser cloudInput = new FactoryInputUser(task, cloudMapping);
+    when(factory.isApplicable(edgeInput)).thenReturn(true);
+    when(factory.isApplicable(cloudInput)).thenReturn(true);
+    when(factory.makeFunction(edgeInput)).thenReturn(edgeFunction);
+    when(factory.makeFunction(cloudInput)).thenReturn(cloudFunction);
+    Set<FunctionFactoryUser> factories = new HashSet<>();
+    factories.add(factory);
+    ExecutionStatistics statistics = new ExecutionStatistics();
+    // the cloud is faster, but the edge is preferred
+    statistics.recordExecution("addition", "edge", 100.0, 0.0);
+    statistics.recordExecution("addition", "cloud", 50.0, 0.0);
+    ScheduleInterpreterUserFallback tested = new ScheduleInterpreterUserFallback(factories,
+        new VertxProvider(mock(Vertx.class)), statistics, 3.0, 5000);
+
+    Set<Mapping<Task, Resource>> single = new HashSet<>();
+    single.add(cloudMapping);
+    assertEquals(cloudFunction, tested.interpretSchedule(task, single));
+
+    Set<Mapping<Task, Resource>> both = new HashSet<>(single);
+    both.add(edgeMapping);
+    EnactmentFunction result = tested.interpretSchedule(task, both);
+    assertTrue(result instanceof EnactmentFunctionFallback);
+    EnactmentFunctionFallback fallback = (EnactmentFunctionFallback) result;
+    assertEquals(edgeFunction,
+        ((EnactmentFunctionMonitored) fallback.getChain().get(0)).getDecorated());
+    assertEquals(cloudFunction,
+        ((EnactmentFunctionMonitored) fallback.getChain().get(1)).getDecorated());
+    assertEquals(300L, fallback.getTimeoutsMs().get(0).longValue());
+    // unknown runtime -> default timeout
+    assertEquals(5000L, tested.getTimeout("addition", "unknown"));
+  }
+}
@@ -0,0 +1,61 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.core.function.EnactmentFunction;
+import at.uibk.dps.ee.enactables.FactoryInputUser;
+import at.uibk.dps.ee.enactables.FunctionFactoryUser;
+import at.uibk.dps.ee.guice.starter.VertxProvider;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUser;
+import io.vertx.core.Vertx;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+class ScheduleInterpreterUserHedgedTest {
+
+  @Test
+  void test() {
+    Task task = PropertyServiceFunctionUser.createUserTask("task", "addition");
+    Resource slowRes = new Resource("slowRes");
+    Resource fastRes = new Resource("fastRes");
+    Mapping<Task, Resource> slowMapping = new Mapping<>("m1", task, slowRes);
+    Mapping<Task, Resource> fastMapping = new Mapping<>("m2", task, fastRes);
+    EnactmentFunction slowFunction = mock(EnactmentFunction.class);
+    EnactmentFunction fastFunction = mock(EnactmentFunction.class);
+    FunctionFactoryUser factory = mock(FunctionFactoryUser.class);
+    FactoryInputUser slowInput = new FactoryInputUser(task, slowMapping);
+    FactoryInputUser fastInput = new FactoryInputUser(task, fastMapping);
+    when(factory.isApplicable(slowInput)).thenReturn(true);
+    when(factory.isApplicable(fastInput)).thenReturn(true);
+    when(factory.makeFunction(slowInput)).thenReturn(slowFunction);
+    when(factory.makeFunction(fastInput)).thenReturn(fastFunction);
+    Set<FunctionFactoryUser> factories = new HashSet<>();
+    factories.add(factory);
+    LatencyTracker tracker = new LatencyTracker();
+    for (int i = 0; i < 10; i++) {
+      tracker.recordLatency("addition", "fastRes", 10.0 * (i + 1));
+    }
+    tracker.recordLatency("addition", "slowRes", 1000.0);
+    ScheduleInterpreterUserHedged tested = new ScheduleInterpreterUserHedged(factories,
+        new VertxProvider(mock(Vertx.class)), tracker, 200, 90.0);
+
+    Set<Mapping<Task, Resource>> single = new HashSet<>();
+    single.add(slowMapping);
+    assertEquals(slowFunction, tested.interpretSchedule(task, single));
+
+    Set<Mapping<Task, Resource>> both = new HashSet<>(single);
+    both.add(fastMapping);
+    EnactmentFunction result = tested.interpretSchedule(task, both);
+    assertTrue(result instanceof EnactmentFunctionHedged);
+    EnactmentFunctionHedged hedged = (EnactmentFunctionHedged) result;
+    // the faster mapping is the primary, the delay is its 90th percentile
+    assertEquals(fastFunction, hedged.getAttempts().get(0));
+    assertEquals(slowFunction, hedged.getAttempts().get(1));
+    assertEquals(90, hedged.getHedgeDelayMs());
+  }
+}
@@ -0,0 +1,111 @@
+package at.uibk.dps.sc.core.interpreter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import com.google.gson.JsonObject;
+import at.uibk.dps.ee.core.function.EnactmentFunction;
+import at.uibk.dps.ee.enactables.FunctionFactoryUser;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUser;
+import io.vertx.core.Promise;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+class ScheduleInterpreterUserPooledTest {
+
+  @Test
+  void test() {
+    Task first = PropertyServiceFunctionUser.createUserTask("first", "addition");
+    Task second = PropertyServiceFunctionUser.createUserTask("second", "addition");
+    Task other = PropertyServiceFunctionUser.createUserTask("other", "subtraction");
+    Resource res = new Resource("res");
+    Mapping<Task, Resource> firstMapping = new Mapping<>("m1", first, res);
+    Mapping<Task, Resource> secondMapping = new Mapping<>("m2", second, res);
+    Mapping<Task, Resource> otherMapping = new Mapping<>("m3", other, res);
+    List<Promise<JsonObject>> executions = new ArrayList<>();
+    FunctionFactoryUser factory = mock(FunctionFactoryUser.class);
+    when(factory.isApplicable(any())).thenReturn(true);
+    when(factory.makeFunction(any())).thenAnswer(invocation -> {
+      EnactmentFunction function = mock(EnactmentFunction.class);
+      when(function.processInput(any())).thenAnswer(execution -> {
+        Promise<JsonObject> promise = Promise.promise();
+        executions.add(promise);
+        return promise.future();
+      });
+      return function;
+    });
+    Set<FunctionFactoryUser> factories = new HashSet<>();
+    factories.add(factory);
+
+    ScheduleInterpreterUserPooled tested = new ScheduleInterpreterUserPooled(factories, 1, 2);
+    EnactmentFunction firstFunction = tested.getFunctionForMapping(first, firstMapping);
+    EnactmentFunction secondFunction = tested.getFunctionForMapping(second, secondMapping);
+    // each task gets its own function, the created function is pooled
+    assertTrue(firstFunction instanceof EnactmentFunctionPooled);
+    assertNotSame(firstFunction, secondFunction);
+    verify(factory, times(1)).makeFunction(any());
+    // concurrent executions do not share a function
+    firstFunction.processInput(new JsonObject());
+    secondFunction.processInput(new JsonObject());
+    verify(factory, times(2)).makeFunction(any());
+    executions.forEach(promise -> promise.complete(new JsonObject()));
+    // pool size 1 -> only one of the functions is kept
+    FunctionPool pool = tested.functionPools.get(tested.getPoolKey(first, firstMapping));
+    assertEquals(1, pool.getIdleNumber());
+    secondFunction.processInput(new JsonObject());
+    verify(factory, times(2)).makeFunction(any());
+    // other type -> other pool
+    tested.getFunctionForMapping(other, otherMapping);
+    verify(factory, times(3)).makeFunction(any());
+    assertEquals(2, tested.functionPools.size());
+    // a third pair evicts the least recently used pool
+    tested.getFunctionForMapping(first, firstMapping);
+    Task third = PropertyServiceFunctionUser.createUserTask("third", "multiplication");
+    tested.getFunctionForMapping(third, new Mapping<>("m4", third, res));
+    assertEquals(2, tested.functionPools.size());
+    assertTrue(tested.functionPools.containsKey(tested.getPoolKey(first, firstMapping)));
+    assertFalse(tested.functionPools.containsKey(tested.getPoolKey(other, otherMapping)));
+  }
+
+  @Test
+  void testWarmReuse() {
+    FunctionPool pool = new FunctionPool(2);
+    EnactmentFunction cold = mock(EnactmentFunction.class);
+    EnactmentFunction warm = mock(EnactmentFunction.class);
+    pool.giveBack(cold);
+    pool.giveBack(warm);
+    // the most recently given back function is reused first
+    assertSame(warm, pool.borrow(() -> null));
+    assertSame(cold, pool.borrow(() -> null));
+  }
+
+  @Test
+  void testFailedExecution() {
+    FunctionPool pool = new FunctionPool(2);
+    EnactmentFunction failing = mock(EnactmentFunction.class);
+    Promise<JsonObject> promise = Promise.promise();
+    when(failing.processInput(any())).thenReturn(promise.future());
+    EnactmentFunctionPooled tested = new EnactmentFunctionPooled(pool, () -> failing, failing);
+    tested.processInput(new JsonObject());
+    promise.fail(new IllegalStateException("connection broken"));
+    // the failed function is not reused
+    assertEquals(0, pool.getIdleNumber());
+  }
+
+  @Test
+  void testInvalidPoolSize() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new ScheduleInterpreterUserPooled(new HashSet<>(), 0, 1));
+    assertThrows(IllegalArgumentException.class,
+        () -> new ScheduleInterpreterUserPooled(new HashSet<>(), 1, 0));
+  }
+}
@@ -13,6 +13,8 @@ import net.sf.opendse.model.Task;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.times;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ScheduleInterpreterUserTest {
@@ -61,6 +63,18 @@ public class ScheduleInterpreterUserTest {
     assertEquals(function, result);
   }
 
+  @Test
+  public void testFactoryResolvedOnce() {
+    InterpreterMock tested = new InterpreterMock(userFactories);
+    tested.getFunctionForMapping(factoryInput.getTask(), factoryInput.getMapping());
+    EnactmentFunction result =
+        tested.getFunctionForMapping(factoryInput.getTask(), factoryInput.getMapping());
+    assertEquals(function, result);
+    verify(factoryApplicable, times(1)).isApplicable(factoryInput);
+    verify(factoryUnapplicable, times(1)).isApplicable(factoryInput);
+    verify(factoryApplicable, times(2)).makeFunction(factoryInput);
+  }
+
   @Test
   public void testGetSchedulerForMappingNoFactory() {
     assertThrows(IllegalStateException.class, () -> {
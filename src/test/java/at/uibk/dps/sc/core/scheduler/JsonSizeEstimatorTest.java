@@ -0,0 +1,86 @@
+package at.uibk.dps.sc.core.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUser;
+import at.uibk.dps.sc.core.PropertyServiceScheduling;
+import net.sf.opendse.model.Task;
+
+class JsonSizeEstimatorTest {
+
+  @Test
+  void testPrimitives() {
+    JsonObject object = new JsonObject();
+    object.addProperty("int", 42);
+    object.addProperty("double", 3.14);
+    object.addProperty("negative", -1.5E-10);
+    object.addProperty("bool", true);
+    object.addProperty("false", false);
+    object.add("null", JsonNull.INSTANCE);
+    object.addProperty("string", "text");
+    assertSameSize(object);
+  }
+
+  @Test
+  void testNested() {
+    JsonObject object = new JsonObject();
+    JsonArray array = new JsonArray();
+    array.add(1);
+    array.add("two");
+    array.add(new JsonArray());
+    array.add(new JsonObject());
+    JsonObject inner = new JsonObject();
+    inner.add("array", array);
+    object.add("inner", inner);
+    object.add("empty", new JsonObject());
+    assertSameSize(object);
+    assertSameSize(new JsonObject());
+    assertSameSize(JsonParser.parseString("[[1,2],[3,[4,{\"a\":null}]]]"));
+  }
+
+  @Test
+  void testEscapesAndUnicode() {
+    JsonObject object = new JsonObject();
+    object.addProperty("quote\"d", "back\\slash");
+    object.addProperty("control", "tab\tnew\nline\r\b\f\u0001\u001f");
+    object.addProperty("html", "<a href='x'>&amp;</a>=");
+    object.addProperty("umlaut", "Gr\u00fc\u00dfe");
+    object.addProperty("cjk", "\u6570\u636e");
+    object.addProperty("emoji", "\uD83D\uDE00");
+    object.addProperty("separators", "\u2028\u2029");
+    object.addProperty("lone", "\uD83D");
+    assertSameSize(object);
+  }
+
+  @Test
+  void testInputSizeAnnotation() {
+    Task task = PropertyServiceFunctionUser.createUserTask("task", "addition");
+    JsonObject input = new JsonObject();
+    input.addProperty("key", "value");
+    PropertyServiceFunction.setInput(task, input);
+    assertFalse(PropertyServiceScheduling.hasInputSize(task, input));
+    long size = JsonSizeEstimator.getInputSize(task);
+    assertEquals(input.toString().getBytes(StandardCharsets.UTF_8).length, size);
+    assertTrue(PropertyServiceScheduling.hasInputSize(task, input));
+    assertEquals(size, PropertyServiceScheduling.getInputSize(task));
+    // a new input (e.g., the next loop iteration) is measured again
+    JsonObject nextInput = new JsonObject();
+    nextInput.addProperty("key", "a longer value");
+    PropertyServiceFunction.setInput(task, nextInput);
+    assertFalse(PropertyServiceScheduling.hasInputSize(task, nextInput));
+    assertEquals(nextInput.toString().getBytes(StandardCharsets.UTF_8).length,
+        JsonSizeEstimator.getInputSize(task));
+  }
+
+  protected void assertSameSize(JsonElement element) {
+    assertEquals(element.toString().getBytes(StandardCharsets.UTF_8).length,
+        JsonSizeEstimator.getSerializedSize(element));
+  }
+}
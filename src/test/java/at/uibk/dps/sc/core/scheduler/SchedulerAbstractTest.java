@@ -1,9 +1,16 @@
 package at.uibk.dps.sc.core.scheduler;
 
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import at.uibk.dps.ee.guice.starter.VertxProvider;
@@ -16,17 +23,23 @@ import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUser;
 import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUtilityCollections;
 import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUtilityCollections.CollectionOperation;
 import at.uibk.dps.ee.model.properties.PropertyServiceResource;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiterFCFS;
 import at.uibk.dps.sc.core.capacity.CapacityCalculator;
 import at.uibk.dps.sc.core.capacity.CapacityCalculatorNone;
+import at.uibk.dps.sc.core.capacity.CapacityVector;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import net.sf.opendse.model.Mapping;
 import net.sf.opendse.model.Resource;
 import net.sf.opendse.model.Task;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.spy;;
 
 public class SchedulerAbstractTest {
@@ -34,7 +47,7 @@ public class SchedulerAbstractTest {
   protected static class SchedulerMock extends SchedulerAbstract {
 
     public SchedulerMock(SpecificationProvider specProvider, VertxProvider vProv) {
-      super(specProvider, new CapacityCalculatorNone(), vProv);
+      super(specProvider, new CapacityCalculatorNone(), vProv, new ResourceArbiterFCFS());
     }
 
     @Override
@@ -50,14 +63,13 @@ public class SchedulerAbstractTest {
 
     public SchedulerCapMock(SpecificationProvider specProvider, CapacityCalculator capCal,
         VertxProvider vProv) {
-      super(specProvider, capCal, vProv);
+      super(specProvider, capCal, vProv, new ResourceArbiterFCFS());
     }
 
     @Override
     protected Set<Mapping<Task, Resource>> chooseMappingSubset(Task task,
         Set<Mapping<Task, Resource>> mappingOptions) {
-      // not used
-      return null;
+      return new HashSet<>(mappingOptions);
     }
   }
 
@@ -79,6 +91,8 @@ public class SchedulerAbstractTest {
     when(capCalc.getCapacityFraction(task50, targetRes)).thenReturn(.5);
     Task scheduledTask = new Task("t");
     when(capCalc.getCapacityFraction(scheduledTask, targetRes)).thenReturn(.25);
+    when(capCalc.getDemand(any(), any())).thenCallRealMethod();
+    when(capCalc.getCapacity(any())).thenCallRealMethod();
     SpecificationProvider mockProv = mock(SpecificationProvider.class);
     EnactmentGraph graph = new EnactmentGraph();
     graph.addVertex(scheduledTask);
@@ -89,10 +103,88 @@ public class SchedulerAbstractTest {
     when(mockProv.getSpecification()).thenReturn(mockSpec);
     SchedulerCapMock tested = new SchedulerCapMock(mockProv, capCalc, vProv);
     Mapping<Task, Resource> mapping = new Mapping<>("map", scheduledTask, targetRes);
+    // tasks annotated outside of the scheduler are charged on reconciliation
     PropertyServiceResource.addUsingTask(task50, targetRes);
+    tested.reconcileOccupancy(targetRes);
     assertTrue(tested.isValidMapping(mapping));
     PropertyServiceResource.addUsingTask(task30, targetRes);
+    tested.reconcileOccupancy(targetRes);
     assertFalse(tested.isValidMapping(mapping));
+    PropertyServiceResource.removeUsingTask(task30, targetRes);
+    tested.reconcileOccupancy(targetRes);
+    assertTrue(tested.isValidMapping(mapping));
+    // same number of annotated tasks, but a different task
+    PropertyServiceResource.removeUsingTask(task50, targetRes);
+    PropertyServiceResource.addUsingTask(task30, targetRes);
+    tested.reconcileOccupancy(targetRes);
+    assertEquals(1, tested.occupancy.getTaskNumber(targetRes));
+    assertTrue(tested.occupancy.getChargedTasks(targetRes).contains(task30));
+  }
+
+  @Test
+  public void testIsMappingValidMultiDimensional() {
+    Task bigTask = new Task("big");
+    Task smallTask = new Task("small");
+    Resource targetRes = new Resource("res");
+    CapacityCalculator capCalc = mock(CapacityCalculator.class);
+    when(capCalc.getDemand(bigTask, targetRes)).thenReturn(new CapacityVector(1.0, 3000.0, .25));
+    when(capCalc.getDemand(smallTask, targetRes)).thenReturn(new CapacityVector(1.0, 500.0, .25));
+    when(capCalc.getCapacity(targetRes)).thenReturn(new CapacityVector(4.0, 4096.0, 1.0));
+    SpecificationProvider mockProv = mock(SpecificationProvider.class);
+    when(mockProv.getSpecification()).thenReturn(mock(EnactmentSpecification.class));
+    SchedulerCapMock tested = new SchedulerCapMock(mockProv, capCalc, vProv);
+    Mapping<Task, Resource> bigMapping = new Mapping<>("big", bigTask, targetRes);
+    Mapping<Task, Resource> smallMapping = new Mapping<>("small", smallTask, targetRes);
+    tested.chargeCapacity(bigTask, targetRes);
+    // enough CPU and slots left, but not enough memory for a second big task
+    assertFalse(tested.isValidMapping(bigMapping));
+    assertTrue(tested.isValidMapping(smallMapping));
+    PropertyServiceResource.removeUsingTask(bigTask, targetRes);
+    tested.reconcileOccupancy(targetRes);
+    assertTrue(tested.isValidMapping(bigMapping));
+  }
+
+  @Test
+  public void testWaitList() throws InterruptedException {
+    Task first = PropertyServiceFunctionUser.createUserTask("first", "addition");
+    Task second = PropertyServiceFunctionUser.createUserTask("second", "addition");
+    Resource res = new Resource("limitedRes");
+    MappingsConcurrent mappings = new MappingsConcurrent();
+    mappings.addMapping(new Mapping<Task, Resource>("m1", first, res));
+    mappings.addMapping(new Mapping<Task, Resource>("m2", second, res));
+    EnactmentGraph eGraph = new EnactmentGraph();
+    eGraph.addVertex(first);
+    eGraph.addVertex(second);
+    EnactmentSpecification spec =
+        new EnactmentSpecification(eGraph, new ResourceGraph(), mappings, "");
+    SpecificationProvider providerMock = mock(SpecificationProvider.class);
+    when(providerMock.getSpecification()).thenReturn(spec);
+    CapacityCalculator capCalc = mock(CapacityCalculator.class);
+    when(capCalc.getCapacityFraction(first, res)).thenReturn(1.0);
+    when(capCalc.getCapacityFraction(second, res)).thenReturn(1.0);
+    when(capCalc.getDemand(any(), any())).thenCallRealMethod();
+    when(capCalc.getCapacity(any())).thenCallRealMethod();
+    SchedulerCapMock tested = new SchedulerCapMock(providerMock, capCalc, vProv);
+
+    CountDownLatch firstScheduled = new CountDownLatch(1);
+    tested.scheduleTask(first).onComplete(asyncRes -> {
+      if (asyncRes.succeeded()) {
+        firstScheduled.countDown();
+      }
+    });
+    assertTrue(firstScheduled.await(1, TimeUnit.SECONDS));
+
+    CountDownLatch secondScheduled = new CountDownLatch(1);
+    tested.scheduleTask(second).onComplete(asyncRes -> {
+      if (asyncRes.succeeded()) {
+        secondScheduled.countDown();
+      } else {
+        fail("The waiting task should not fail.");
+      }
+    });
+    assertFalse(secondScheduled.await(100, TimeUnit.MILLISECONDS));
+    tested.releaseCapacity(first, res);
+    assertTrue(secondScheduled.await(1, TimeUnit.SECONDS));
   }
 
   @Test
@@ -163,4 +255,160 @@ public class SchedulerAbstractTest {
     assertTrue(result.isEmpty());
     verify(testedSpy, never()).chooseMappingSubset(task, expected);
   }
+
+  @Test
+  public void testMappingOptionCache() {
+    Task task = PropertyServiceFunctionUser.createUserTask("task", "addition");
+    Resource res = new Resource("res");
+    Resource res2 = new Resource("res2");
+    Mapping<Task, Resource> mapping = new Mapping<Task, Resource>("m", task, res);
+    Mapping<Task, Resource> mapping2 = new Mapping<Task, Resource>("m2", task, res2);
+    MappingsConcurrent mappings = new MappingsConcurrent();
+    mappings.addMapping(mapping);
+    EnactmentSpecification spec =
+        new EnactmentSpecification(new EnactmentGraph(), new ResourceGraph(), mappings, "");
+    SpecificationProvider providerMock = mock(SpecificationProvider.class);
+    when(providerMock.getSpecification()).thenReturn(spec);
+    SchedulerMock tested = new SchedulerMock(providerMock, vProv);
+
+    Set<Mapping<Task, Resource>> options = tested.getMappingOptions(task);
+    assertEquals(1, options.size());
+    assertSame(task, tested.resolveOriginalTask(task));
+    assertSame(options, tested.refreshMappingOptions(task));
+    mappings.addMapping(mapping2);
+    // cached within a decision, rebuilt at the start of the next one
+    assertSame(options, tested.getMappingOptions(task));
+    assertEquals(2, tested.refreshMappingOptions(task).size());
+    assertEquals(2, tested.getMappingOptions(task).size());
+    tested.invalidateMappingOptions();
+    assertEquals(2, tested.getMappingOptions(task).size());
+    assertThrows(UnsupportedOperationException.class,
+        () -> tested.getMappingOptions(task).remove(mapping));
+  }
+
+  @Test
+  public void testScheduleTasks() throws InterruptedException {
+    Task first = PropertyServiceFunctionUser.createUserTask("first", "addition");
+    Task second = PropertyServiceFunctionUser.createUserTask("second", "addition");
+    Task utility = PropertyServiceFunctionUtilityCollections.createCollectionOperation("utility",
+        "bla", CollectionOperation.Block);
+    Resource res = new Resource("limitedRes");
+    MappingsConcurrent mappings = new MappingsConcurrent();
+    mappings.addMapping(new Mapping<Task, Resource>("m1", first, res));
+    mappings.addMapping(new Mapping<Task, Resource>("m2", second, res));
+    EnactmentSpecification spec =
+        new EnactmentSpecification(new EnactmentGraph(), new ResourceGraph(), mappings, "");
+    SpecificationProvider providerMock = mock(SpecificationProvider.class);
+    when(providerMock.getSpecification()).thenReturn(spec);
+    CapacityCalculator capCalc = mock(CapacityCalculator.class);
+    when(capCalc.getCapacityFraction(first, res)).thenReturn(1.0);
+    when(capCalc.getCapacityFraction(second, res)).thenReturn(1.0);
+    when(capCalc.getDemand(any(), any())).thenCallRealMethod();
+    when(capCalc.getCapacity(any())).thenCallRealMethod();
+    SchedulerCapMock tested = new SchedulerCapMock(providerMock, capCalc, vProv);
+
+    List<Task> batch = new ArrayList<>();
+    batch.add(first);
+    batch.add(second);
+    batch.add(utility);
+    Map<Task, Future<Set<Mapping<Task, Resource>>>> futures = tested.scheduleTasks(batch);
+    assertEquals(batch, new ArrayList<>(futures.keySet()));
+    assertTrue(futures.get(utility).result().isEmpty());
+    CountDownLatch firstScheduled = new CountDownLatch(1);
+    futures.get(first).onSuccess(schedule -> firstScheduled.countDown());
+    assertTrue(firstScheduled.await(1, TimeUnit.SECONDS));
+    CountDownLatch secondScheduled = new CountDownLatch(1);
+    futures.get(second).onSuccess(schedule -> secondScheduled.countDown());
+    assertFalse(secondScheduled.await(100, TimeUnit.MILLISECONDS));
+    tested.releaseCapacity(first, res);
+    assertTrue(secondScheduled.await(1, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testTemplateScheduling() {
+    Task first = PropertyServiceFunctionUser.createUserTask("first", "addition");
+    Task second = PropertyServiceFunctionUser.createUserTask("second", "addition");
+    Task third = PropertyServiceFunctionUser.createUserTask("third", "addition");
+    Resource res = new Resource("limitedRes");
+    Mapping<Task, Resource> template = new Mapping<Task, Resource>("m1", first, res);
+    MappingsConcurrent mappings = new MappingsConcurrent();
+    mappings.addMapping(template);
+    mappings.addMapping(new Mapping<Task, Resource>("m2", second, res));
+    mappings.addMapping(new Mapping<Task, Resource>("m3", third, res));
+    EnactmentSpecification spec =
+        new EnactmentSpecification(new EnactmentGraph(), new ResourceGraph(), mappings, "");
+    SpecificationProvider providerMock = mock(SpecificationProvider.class);
+    when(providerMock.getSpecification()).thenReturn(spec);
+    CapacityCalculator capCalc = mock(CapacityCalculator.class);
+    when(capCalc.getCapacityFraction(any(), any())).thenReturn(0.5);
+    when(capCalc.getDemand(any(), any())).thenCallRealMethod();
+    when(capCalc.getCapacity(any())).thenCallRealMethod();
+    SchedulerCapMock tested = spy(new SchedulerCapMock(providerMock, capCalc, vProv) {
+      @Override
+      protected Object getTemplateKey(Task task) {
+        return "group";
+      }
+    });
+    tested.setTemplateScheduling(true);
+
+    Map<Task, Promise<Set<Mapping<Task, Resource>>>> batch = new LinkedHashMap<>();
+    batch.put(first, Promise.promise());
+    batch.put(second, Promise.promise());
+    batch.put(third, Promise.promise());
+    tested.placeTasks(batch);
+    Set<Mapping<Task, Resource>> expected = new HashSet<>();
+    expected.add(template);
+    assertEquals(expected, batch.get(first).future().result());
+    assertEquals(expected, batch.get(second).future().result());
+    assertFalse(batch.get(third).future().isComplete());
+    assertTrue(tested.waitingTasks.get(res).containsKey(third));
+    // the policy is consulted once for the whole group
+    verify(tested, times(1)).chooseMappingSubset(any(), any());
+  }
+
+  @Test
+  public void testTemplateSchedulingUncapacitated() {
+    List<Task> group = new ArrayList<>();
+    MappingsConcurrent mappings = new MappingsConcurrent();
+    Resource res1 = new Resource("res1");
+    Resource res2 = new Resource("res2");
+    for (int i = 0; i < 4; i++) {
+      Task replica = PropertyServiceFunctionUser.createUserTask("replica" + i, "addition");
+      mappings.addMapping(new Mapping<Task, Resource>("m1_" + i, replica, res1));
+      mappings.addMapping(new Mapping<Task, Resource>("m2_" + i, replica, res2));
+      group.add(replica);
+    }
+    EnactmentSpecification spec =
+        new EnactmentSpecification(new EnactmentGraph(), new ResourceGraph(), mappings, "");
+    SpecificationProvider providerMock = mock(SpecificationProvider.class);
+    when(providerMock.getSpecification()).thenReturn(spec);
+    SchedulerCapMock tested =
+        spy(new SchedulerCapMock(providerMock, new CapacityCalculatorNone(), vProv) {
+          @Override
+          protected Object getTemplateKey(Task task) {
+            return "group";
+          }
+
+          @Override
+          protected Set<Mapping<Task, Resource>> chooseMappingSubset(Task task,
+              Set<Mapping<Task, Resource>> mappingOptions) {
+            // least-loaded policy
+            Mapping<Task, Resource> chosen = mappingOptions.stream()
+                .min(Comparator.comparingInt(
+                    (Mapping<Task, Resource> m) -> occupancy.getTaskNumber(m.getTarget()))
+                    .thenComparing(Mapping::getId))
+                .get();
+            return new HashSet<>(Collections.singleton(chosen));
+          }
+        });
+    tested.setTemplateScheduling(true);
+    Map<Task, Promise<Set<Mapping<Task, Resource>>>> batch = new LinkedHashMap<>();
+    group.forEach(replica -> batch.put(replica, Promise.promise()));
+    tested.placeTasks(batch);
+    assertTrue(batch.values().stream().allMatch(promise -> promise.future().succeeded()));
+    // all replicas follow the single decision of the policy
+    assertEquals(4, tested.occupancy.getTaskNumber(res1));
+    assertEquals(0, tested.occupancy.getTaskNumber(res2));
+    verify(tested, times(1)).chooseMappingSubset(any(), any());
+  }
 }
@@ -4,9 +4,12 @@ import at.uibk.dps.ee.guice.starter.VertxProvider;
 import at.uibk.dps.ee.io.afcl.AfclReader;
 import at.uibk.dps.ee.io.resources.ResourceGraphProviderFile;
 import at.uibk.dps.ee.io.spec.SpecificationProviderFile;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
 import at.uibk.dps.ee.model.graph.ResourceGraphProvider;
 import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiterFCFS;
 import at.uibk.dps.sc.core.capacity.CapacityCalculatorNone;
+import at.uibk.dps.sc.core.scheduler.dApollo.ScheduleCache;
 import at.uibk.dps.sc.core.scheduler.dApollo.Statistics;
 import at.uibk.dps.sc.core.scheduler.dApollo.TestHelper;
 import com.google.gson.*;
@@ -19,6 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -89,6 +93,87 @@ class SchedulerDApolloTest {
         }
     }
 
+    /**
+     * Read the specification of a test workflow.
+     *
+     * @param workflow the directory of the workflow within the test resources.
+     *
+     * @return the specification provider of the workflow.
+     */
+    private SpecificationProvider readSpecification(String workflow) {
+        AfclReader afclReader = new AfclReader(new File("src/test/resources/" + workflow + "/workflow.yaml").getAbsolutePath());
+        ResourceGraphProvider resourceGraphProvider =
+                new ResourceGraphProviderFile(new File("src/test/resources/" + workflow + "/typemappings.json").getAbsolutePath());
+        return new SpecificationProviderFile(afclReader, resourceGraphProvider,
+                new File("src/test/resources/" + workflow + "/typemappings.json").getAbsolutePath());
+    }
+
+    /**
+     * Read the scheduler input of a test workflow.
+     *
+     * @param workflow the directory of the workflow within the test resources.
+     *
+     * @return the scheduler input.
+     *
+     * @throws IOException if file not found.
+     */
+    private JsonObject readSchedulerInput(String workflow) throws IOException {
+        try (BufferedReader br = new BufferedReader(new FileReader("src/test/resources/" + workflow + "/schedulerInput.json"))) {
+            return new Gson().fromJson(br, JsonObject.class);
+        }
+    }
+
+    /**
+     * Schedule the tasks of the CasaWind workflow with a new scheduler.
+     *
+     * @param specificationProvider the specification of the workflow.
+     * @param schedulerInput the scheduler input.
+     *
+     * @return the statistics of the scheduler.
+     */
+    private Statistics scheduleCasaWind(SpecificationProvider specificationProvider, JsonObject schedulerInput) {
+        SchedulerDApollo
+            schedulerdApollo = new SchedulerDApollo(specificationProvider, schedulerInput, false, new CapacityCalculatorNone(), vProv, new ResourceArbiterFCFS());
+        EnactmentGraph graph = specificationProvider.getSpecification().getEnactmentGraph();
+        for (int i = 0; i <= 24; i++) {
+            schedulerdApollo.schedule(graph.getVertex("unzip" + i));
+        }
+        schedulerdApollo.schedule(graph.getVertex("max_velocity"));
+        schedulerdApollo.schedule(graph.getVertex("merged_netcfd2png"));
+        schedulerdApollo.schedule(graph.getVertex("mvt"));
+        schedulerdApollo.schedule(graph.getVertex("pointalert"));
+        return schedulerdApollo.getStatistics();
+    }
+
+    /**
+     * Schedule the tasks of the PSLoad workflow with a new scheduler.
+     *
+     * @param specificationProvider the specification of the workflow.
+     * @param schedulerInput the scheduler input.
+     *
+     * @return the statistics of the scheduler.
+     */
+    private Statistics schedulePSLoad(SpecificationProvider specificationProvider, JsonObject schedulerInput) {
+        SchedulerDApollo
+            schedulerdApollo = new SchedulerDApollo(specificationProvider, schedulerInput, false, new CapacityCalculatorNone(), vProv, new ResourceArbiterFCFS());
+        EnactmentGraph graph = specificationProvider.getSpecification().getEnactmentGraph();
+        final int final_num_preprocess = 80;
+        final int final_num_load = 10;
+        for (int num_preprocess = 1; num_preprocess <= final_num_preprocess; num_preprocess++) {
+            schedulerdApollo.schedule(graph.getVertex("preprocess" + num_preprocess));
+        }
+        for (int num_preprocess = 1; num_preprocess <= final_num_preprocess; num_preprocess++) {
+            for (int i = 1; i <= final_num_load; i++) {
+                schedulerdApollo.schedule(graph.getVertex("load_" + num_preprocess + "_" + i));
+            }
+        }
+        for (int num_preprocess = 1; num_preprocess <= final_num_preprocess; num_preprocess++) {
+            schedulerdApollo.schedule(graph.getVertex("validate" + num_preprocess));
+        }
+        schedulerdApollo.schedule(graph.getVertex("end"));
+        return schedulerdApollo.getStatistics();
+    }
+
     /**
      * Scheduling of the CasaWind workflow.
      */
@@ -108,7 +193,7 @@ class SchedulerDApolloTest {
         for(TestHelper th: testHelperList) {
             adjustSchedulerInput(schedulerInput, th);
             SchedulerDApollo
-                schedulerdApollo = new SchedulerDApollo(specificationProviderFile, schedulerInput, false, new CapacityCalculatorNone(), vProv);
+                schedulerdApollo = new SchedulerDApollo(specificationProviderFile, schedulerInput, false, new CapacityCalculatorNone(), vProv, new ResourceArbiterFCFS());
 
             System.out.println("Test case " + (testCase++) + "/" + testHelperList.size());
 
@@ -149,7 +234,7 @@ class SchedulerDApolloTest {
         for(TestHelper th: testHelperList) {
             adjustSchedulerInput(schedulerInput, th);
             SchedulerDApollo
-                schedulerdApollo = new SchedulerDApollo(specificationProviderFile, schedulerInput, false, new CapacityCalculatorNone(), vProv);
+                schedulerdApollo = new SchedulerDApollo(specificationProviderFile, schedulerInput, false, new CapacityCalculatorNone(), vProv, new ResourceArbiterFCFS());
 
             System.out.println("Test case " + (testCase++) + "/" + testHelperList.size());
 
@@ -201,7 +286,7 @@ class SchedulerDApolloTest {
         for(TestHelper th: testHelperList) {
             adjustSchedulerInput(schedulerInput, th);
             SchedulerDApollo
-                schedulerdApollo = new SchedulerDApollo(specificationProviderFile, schedulerInput, false, new CapacityCalculatorNone(), vProv);
+                schedulerdApollo = new SchedulerDApollo(specificationProviderFile, schedulerInput, false, new CapacityCalculatorNone(), vProv, new ResourceArbiterFCFS());
 
             System.out.println("Test case " + (testCase++) + "/" + testHelperList.size());
 
@@ -246,7 +331,7 @@ class SchedulerDApolloTest {
         for(TestHelper th: testHelperList) {
             adjustSchedulerInput(schedulerInput, th);
             SchedulerDApollo
-                schedulerdApollo = new SchedulerDApollo(specificationProviderFile, schedulerInput, true, new CapacityCalculatorNone(), vProv);
+                schedulerdApollo = new SchedulerDApollo(specificationProviderFile, schedulerInput, true, new CapacityCalculatorNone(), vProv, new ResourceArbiterFCFS());
 
             System.out.println("Test case " + (testCase++) + "/" + testHelperList.size());
 
@@ -292,7 +377,7 @@ class SchedulerDApolloTest {
         for (TestHelper th : testHelperList) {
             adjustSchedulerInput(schedulerInput, th);
             SchedulerDApollo
-                schedulerdApollo = new SchedulerDApollo(specificationProviderFile, schedulerInput, false, new CapacityCalculatorNone(), vProv);
+                schedulerdApollo = new SchedulerDApollo(specificationProviderFile, schedulerInput, false, new CapacityCalculatorNone(), vProv, new ResourceArbiterFCFS());
 
             System.out.println("Test case " + (testCase++) + "/" + testHelperList.size());
 
@@ -320,4 +405,205 @@ class SchedulerDApolloTest {
             assertTrue(statistics.getCost() <= th.getCostLimit());
         }
     }
+
+    /**
+     * Repeated scheduling of the CasaWind workflow with a schedule cache.
+     */
+    @Test void testScheduleCache() throws IOException {
+        SpecificationProvider specificationProvider = readSpecification("CasaWind");
+        TestHelper th = generateTestHelperList("src/test/resources/CasaWind/results.csv").get(0);
+        JsonObject schedulerInput = readSchedulerInput("CasaWind");
+        adjustSchedulerInput(schedulerInput, th);
+        JsonObject scheduleCache = new JsonObject();
+        scheduleCache.add("maxEntries", new JsonPrimitive(4));
+        schedulerInput.add("scheduleCache", scheduleCache);
+        ScheduleCache cache = ScheduleCache.getShared(4, "");
+
+        // The second run restores the initial planning of the first one
+        for(int run = 0; run < 2; run++) {
+            int hits = cache.getHits();
+            Statistics statistics = scheduleCasaWind(specificationProvider, schedulerInput);
+            assertEquals(th.getExpectedRuntime(), statistics.getRuntime());
+            assertEquals(th.getExpectedCost(), statistics.getCost());
+            if(run > 0) {
+                assertEquals(hits + 1, cache.getHits());
+            }
+        }
+    }
+
+    /**
+     * A changed runtime of a mapping invalidates the cached planning.
+     */
+    @Test void testScheduleCacheRuntimeChange() throws IOException {
+        SpecificationProvider specificationProvider = readSpecification("CasaWind");
+        JsonObject schedulerInput = readSchedulerInput("CasaWind");
+        adjustSchedulerInput(schedulerInput, generateTestHelperList("src/test/resources/CasaWind/results.csv").get(0));
+        JsonObject scheduleCache = new JsonObject();
+        scheduleCache.add("maxEntries", new JsonPrimitive(4));
+        schedulerInput.add("scheduleCache", scheduleCache);
+        ScheduleCache cache = ScheduleCache.getShared(4, "");
+
+        scheduleCasaWind(specificationProvider, schedulerInput);
+        JsonObject resourceType = schedulerInput.get("tasks").getAsJsonArray().get(0).getAsJsonObject()
+            .get("resourceTypes").getAsJsonArray().get(0).getAsJsonObject();
+        resourceType.add("runtime", new JsonPrimitive(resourceType.get("runtime").getAsDouble() + 1.0));
+        int hits = cache.getHits();
+        int misses = cache.getMisses();
+        scheduleCasaWind(specificationProvider, schedulerInput);
+        assertEquals(hits, cache.getHits());
+        assertEquals(misses + 1, cache.getMisses());
+    }
+
+    /**
+     * Scheduling of the CasaWind workflow with a limited time per scheduling step.
+     */
+    @Test void testStepTimeBudget() throws IOException {
+        SpecificationProvider specificationProvider = readSpecification("CasaWind");
+        TestHelper th = generateTestHelperList("src/test/resources/CasaWind/results.csv").get(0);
+        JsonObject schedulerInput = readSchedulerInput("CasaWind");
+        adjustSchedulerInput(schedulerInput, th);
+
+        // The cost limit is kept independent of whether the budget runs out
+        for(double budget: new double[]{1E6, 1E-6}) {
+            schedulerInput.add("stepTimeBudgetMs", new JsonPrimitive(budget));
+            Statistics statistics = scheduleCasaWind(specificationProvider, schedulerInput);
+            assertTrue(statistics.getCost() <= th.getCostLimit());
+            if(budget > 1) {
+                assertEquals(0, statistics.getBudgetExceededSteps());
+            } else {
+                assertTrue(statistics.getBudgetExceededSteps() > 0);
+                assertTrue(statistics.getSkippedProposalEvaluations() > 0);
+            }
+        }
+    }
+
+    /**
+     * Scheduling of the CasaWind workflow with pruning of dominated proposals.
+     */
+    @Test void testParetoPruning() throws IOException {
+        SpecificationProvider specificationProvider = readSpecification("CasaWind");
+        JsonObject schedulerInput = readSchedulerInput("CasaWind");
+
+        int prunedProposals = 0;
+        for(TestHelper th: generateTestHelperList("src/test/resources/CasaWind/results.csv")) {
+            adjustSchedulerInput(schedulerInput, th);
+            schedulerInput.add("paretoPruning", new JsonPrimitive(false));
+            Statistics unpruned = scheduleCasaWind(specificationProvider, schedulerInput);
+            schedulerInput.add("paretoPruning", new JsonPrimitive(true));
+            Statistics pruned = scheduleCasaWind(specificationProvider, schedulerInput);
+
+            // Pruning dominated proposals does not change the schedule
+            assertEquals(unpruned.getRuntime(), pruned.getRuntime());
+            assertEquals(unpruned.getCost(), pruned.getCost());
+            assertEquals(0, unpruned.getPrunedProposals());
+            prunedProposals += pruned.getPrunedProposals();
+        }
+        assertTrue(prunedProposals > 0);
+    }
+
+    /**
+     * Scheduling of the PSLoad workflow with lazy creation of proposals.
+     */
+    @Test void testProposalHorizon() throws IOException {
+        SpecificationProvider specificationProvider = readSpecification("PSLoad");
+        TestHelper th = generateTestHelperList("src/test/resources/PSLoad/results.csv").get(0);
+        JsonObject schedulerInput = readSchedulerInput("PSLoad");
+        adjustSchedulerInput(schedulerInput, th);
+
+        // Without and with horizon
+        List<Statistics> results = new ArrayList<>();
+        for(int horizon: new int[]{-1, 1}) {
+            schedulerInput.add("proposalHorizon", new JsonPrimitive(horizon));
+            results.add(schedulePSLoad(specificationProvider, schedulerInput));
+        }
+
+        // Check results
+        assertEquals(th.getExpectedRuntime(), results.get(0).getRuntime());
+        assertEquals(th.getExpectedCost(), results.get(0).getCost());
+        assertTrue(results.get(1).getCost() <= th.getCostLimit());
+        assertTrue(results.get(1).getMaxProposalCount() < results.get(0).getMaxProposalCount());
+    }
+
+    /**
+     * Scheduling of the CasaWind workflow with proposals for clustered sub-DAGs.
+     */
+    @Test void testClusterProposals() throws IOException {
+        SpecificationProvider specificationProvider = readSpecification("CasaWind");
+        JsonObject schedulerInput = readSchedulerInput("CasaWind");
+        schedulerInput.add("clusterSize", new JsonPrimitive(4));
+
+        // The cluster rooted at max_velocity extends beyond its successors (to pointalert)
+        int appliedClusterProposals = 0;
+        for(TestHelper th: generateTestHelperList("src/test/resources/CasaWind/results.csv")) {
+            adjustSchedulerInput(schedulerInput, th);
+            Statistics statistics = scheduleCasaWind(specificationProvider, schedulerInput);
+            assertTrue(statistics.getCost() <= th.getCostLimit());
+            assertTrue(statistics.getClusterProposals() > 0);
+            appliedClusterProposals += statistics.getAppliedClusterProposals();
+        }
+        assertTrue(appliedClusterProposals > 0);
+    }
+
+    /**
+     * Cluster proposals restored from the schedule cache keep their timing model.
+     */
+    @Test void testClusterProposalsCached() throws IOException {
+        SpecificationProvider specificationProvider = readSpecification("CasaWind");
+        JsonObject schedulerInput = readSchedulerInput("CasaWind");
+        adjustSchedulerInput(schedulerInput, generateTestHelperList("src/test/resources/CasaWind/results.csv").get(0));
+        schedulerInput.add("clusterSize", new JsonPrimitive(4));
+        Statistics uncached = scheduleCasaWind(specificationProvider, schedulerInput);
+
+        JsonObject scheduleCache = new JsonObject();
+        scheduleCache.add("maxEntries", new JsonPrimitive(4));
+        schedulerInput.add("scheduleCache", scheduleCache);
+        ScheduleCache cache = ScheduleCache.getShared(4, "");
+        scheduleCasaWind(specificationProvider, schedulerInput);
+        int hits = cache.getHits();
+        Statistics cached = scheduleCasaWind(specificationProvider, schedulerInput);
+        assertEquals(hits + 1, cache.getHits());
+        assertEquals(uncached.getRuntime(), cached.getRuntime());
+        assertEquals(uncached.getCost(), cached.getCost());
+        assertEquals(uncached.getClusterProposals(), cached.getClusterProposals());
+        assertEquals(uncached.getAppliedClusterProposals(), cached.getAppliedClusterProposals());
+    }
+
+    /**
+     * Scheduling of the CasaWind workflow with contention of concurrent transfers.
+     */
+    @Test void testTransferContention() throws IOException {
+        SpecificationProvider specificationProvider = readSpecification("CasaWind");
+        JsonObject schedulerInput = readSchedulerInput("CasaWind");
+        schedulerInput.add("transferContention", new JsonPrimitive(true));
+
+        for(TestHelper th: generateTestHelperList("src/test/resources/CasaWind/results.csv")) {
+            adjustSchedulerInput(schedulerInput, th);
+            Statistics statistics = scheduleCasaWind(specificationProvider, schedulerInput);
+            assertTrue(statistics.getCost() <= th.getCostLimit());
+        }
+    }
+
+    /**
+     * Links between resources which are not known are rejected when parsing.
+     */
+    @Test void testUnknownLinkResource() throws IOException {
+        SpecificationProvider specificationProvider = readSpecification("CasaWind");
+        TestHelper th = generateTestHelperList("src/test/resources/CasaWind/results.csv").get(0);
+        JsonObject schedulerInput = readSchedulerInput("CasaWind");
+        adjustSchedulerInput(schedulerInput, th);
+        JsonObject link = new JsonObject();
+        link.add("from", new JsonPrimitive("edge"));
+        link.add("to", new JsonPrimitive("edge-type"));
+        link.add("bandwidth", new JsonPrimitive(800.0));
+        JsonArray entries = new JsonArray();
+        entries.add(link);
+        JsonObject links = new JsonObject();
+        links.add("entries", entries);
+        schedulerInput.add("links", links);
+        assertThrows(IllegalArgumentException.class, () -> scheduleCasaWind(specificationProvider, schedulerInput));
+
+        // links between task resources and RS instances are accepted
+        link.add("to", new JsonPrimitive("edge1"));
+        assertTrue(scheduleCasaWind(specificationProvider, schedulerInput).getCost() <= th.getCostLimit());
+    }
 }
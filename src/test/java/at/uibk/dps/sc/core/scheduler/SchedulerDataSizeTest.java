@@ -9,6 +9,7 @@ import at.uibk.dps.ee.model.graph.SpecificationProvider;
 import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
 import at.uibk.dps.ee.model.properties.PropertyServiceMapping;
 import at.uibk.dps.ee.model.properties.PropertyServiceMapping.EnactmentMode;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiterFCFS;
 import at.uibk.dps.sc.core.capacity.CapacityCalculatorNone;
 import io.vertx.core.Vertx;
 import net.sf.opendse.model.Mapping;
@@ -40,7 +41,8 @@ public class SchedulerDataSizeTest {
     when(mockSpec.getMappings()).thenReturn(mappings);
     when(provMock.getSpecification()).thenReturn(mockSpec);
     SchedulerDataSize tested =
-        new SchedulerDataSize(provMock, new Random(), 1, 1, new CapacityCalculatorNone(), vProv);
+        new SchedulerDataSize(provMock, new Random(), 1, 1, new CapacityCalculatorNone(), vProv,
+            new ResourceArbiterFCFS());
     Task task = new Task("task");
     JsonObject empty = new JsonObject();
     PropertyServiceFunction.setInput(task, empty);
@@ -69,7 +71,8 @@ public class SchedulerDataSizeTest {
     when(mockSpec.getMappings()).thenReturn(mappings);
     when(provMock.getSpecification()).thenReturn(mockSpec);
     SchedulerDataSize tested =
-        new SchedulerDataSize(provMock, new Random(), 1, 0, new CapacityCalculatorNone(), vProv);
+        new SchedulerDataSize(provMock, new Random(), 1, 0, new CapacityCalculatorNone(), vProv,
+            new ResourceArbiterFCFS());
     Task task = new Task("task");
     JsonObject empty = new JsonObject();
     PropertyServiceFunction.setInput(task, empty);
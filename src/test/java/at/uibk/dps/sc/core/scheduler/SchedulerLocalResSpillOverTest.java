@@ -0,0 +1,157 @@
+package at.uibk.dps.sc.core.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.opt4j.core.common.random.Rand;
+import at.uibk.dps.ee.guice.starter.VertxProvider;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.graph.EnactmentSpecification;
+import at.uibk.dps.ee.model.graph.MappingsConcurrent;
+import at.uibk.dps.ee.model.graph.ResourceGraph;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUser;
+import at.uibk.dps.ee.model.properties.PropertyServiceResource;
+import at.uibk.dps.sc.core.PropertyServiceScheduling;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiterFCFS;
+import at.uibk.dps.sc.core.capacity.CapacityCalculatorTaskNumber;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+class SchedulerLocalResSpillOverTest {
+
+  protected SchedulerLocalResSpillOver createTested(MappingsConcurrent mappings) {
+    EnactmentSpecification spec =
+        new EnactmentSpecification(new EnactmentGraph(), new ResourceGraph(), mappings, "");
+    SpecificationProvider specProvider = mock(SpecificationProvider.class);
+    when(specProvider.getSpecification()).thenReturn(spec);
+    return new SchedulerLocalResSpillOver(specProvider, new CapacityCalculatorTaskNumber(1),
+        mock(VertxProvider.class), mock(Rand.class), new ResourceArbiterFCFS(), 0.2);
+  }
+
+  @Test
+  void testHysteresis() {
+    Task task = PropertyServiceFunctionUser.createUserTask("task", "addition");
+    PropertyServiceFunction.annotateNonNegligibleWorkload(task);
+    Resource local = new Resource("local");
+    Resource cloud = new Resource("cloud");
+    PropertyServiceResource.annotateUnlimitedCapacity(cloud);
+    PropertyServiceScheduling.setAcquisitionDelay(cloud, 2.0);
+    Mapping<Task, Resource> localMapping = new Mapping<>("local", task, local);
+    Mapping<Task, Resource> cloudMapping = new Mapping<>("cloud", task, cloud);
+    PropertyServiceScheduling.setRuntime(localMapping, 1.0);
+    PropertyServiceScheduling.setRuntime(cloudMapping, 1.0);
+    MappingsConcurrent mappings = new MappingsConcurrent();
+    mappings.addMapping(localMapping);
+    mappings.addMapping(cloudMapping);
+    SchedulerLocalResSpillOver tested = createTested(mappings);
+
+    // local capacity available
+    tested.prepareDecision(task);
+    assertTrue(tested.isValidMapping(localMapping));
+    assertFalse(tested.isValidMapping(cloudMapping));
+
+    // local capacity exhausted, no queue -> wait for local
+    Task running = PropertyServiceFunctionUser.createUserTask("running", "addition");
+    PropertyServiceFunction.annotateNonNegligibleWorkload(running);
+    tested.chargeCapacity(running, local);
+    tested.prepareDecision(task);
+    assertFalse(tested.isValidMapping(localMapping));
+    assertFalse(tested.isValidMapping(cloudMapping));
+
+    // remote cost 3 s, switched on above 3.6 s, switched off below 2.4 s
+    Map<Task, Set<Mapping<Task, Resource>>> waiting = new LinkedHashMap<>();
+    waiting.put(new Task("w1"), new HashSet<>());
+    waiting.put(new Task("w2"), new HashSet<>());
+    waiting.put(new Task("w3"), new HashSet<>());
+    tested.waitingTasks.put(local, waiting);
+    assertEquals(4.0, tested.getProjectedLocalDelay(localMapping), 0.0001);
+    assertTrue(tested.updateSpillState(task));
+    assertTrue(tested.isValidMapping(cloudMapping));
+    // the validity check itself does not change the state
+    assertTrue(tested.isValidMapping(cloudMapping));
+    waiting.remove(waiting.keySet().iterator().next());
+    assertTrue(tested.updateSpillState(task));
+    assertTrue(tested.isValidMapping(cloudMapping));
+    waiting.remove(waiting.keySet().iterator().next());
+    assertFalse(tested.updateSpillState(task));
+    assertFalse(tested.isValidMapping(cloudMapping));
+    waiting.put(new Task("w4"), new HashSet<>());
+    assertFalse(tested.updateSpillState(task));
+    assertFalse(tested.isValidMapping(cloudMapping));
+  }
+
+  @Test
+  void testBestRemoteCost() {
+    Task task = PropertyServiceFunctionUser.createUserTask("task", "addition");
+    PropertyServiceFunction.annotateNonNegligibleWorkload(task);
+    Task other = PropertyServiceFunctionUser.createUserTask("other", "addition");
+    PropertyServiceFunction.annotateNonNegligibleWorkload(other);
+    Resource local = new Resource("local");
+    Resource cheap = new Resource("cheap");
+    Resource expensive = new Resource("expensive");
+    PropertyServiceResource.annotateUnlimitedCapacity(cheap);
+    PropertyServiceResource.annotateUnlimitedCapacity(expensive);
+    PropertyServiceScheduling.setAcquisitionDelay(cheap, 2.0);
+    PropertyServiceScheduling.setAcquisitionDelay(expensive, 10.0);
+    MappingsConcurrent mappings = new MappingsConcurrent();
+    Mapping<Task, Resource> localMapping = new Mapping<>("local", task, local);
+    Mapping<Task, Resource> cheapMapping = new Mapping<>("cheap", task, cheap);
+    Mapping<Task, Resource> expensiveMapping = new Mapping<>("expensive", task, expensive);
+    Mapping<Task, Resource> otherLocal = new Mapping<>("otherLocal", other, local);
+    Mapping<Task, Resource> otherCheap = new Mapping<>("otherCheap", other, cheap);
+    mappings.addMapping(localMapping);
+    mappings.addMapping(cheapMapping);
+    mappings.addMapping(expensiveMapping);
+    mappings.addMapping(otherLocal);
+    mappings.addMapping(otherCheap);
+    SchedulerLocalResSpillOver tested = createTested(mappings);
+    Task running = PropertyServiceFunctionUser.createUserTask("running", "addition");
+    PropertyServiceFunction.annotateNonNegligibleWorkload(running);
+    tested.chargeCapacity(running, local);
+    Map<Task, Set<Mapping<Task, Resource>>> waiting = new LinkedHashMap<>();
+    waiting.put(new Task("w1"), new HashSet<>());
+    waiting.put(new Task("w2"), new HashSet<>());
+    waiting.put(new Task("w3"), new HashSet<>());
+    tested.waitingTasks.put(local, waiting);
+    // decided once against the cheap option (3 s) -> both remote options valid
+    tested.prepareDecision(task);
+    assertTrue(tested.isValidMapping(cheapMapping));
+    assertTrue(tested.isValidMapping(expensiveMapping));
+    // the state is shared by the tasks of the same function type
+    assertTrue(tested.isValidMapping(otherCheap));
+  }
+
+  @Test
+  void testLeastLoaded() {
+    Task task = PropertyServiceFunctionUser.createUserTask("task", "addition");
+    PropertyServiceFunction.annotateNonNegligibleWorkload(task);
+    Resource local1 = new Resource("local1");
+    Resource local2 = new Resource("local2");
+    Resource cloud = new Resource("cloud");
+    PropertyServiceResource.annotateUnlimitedCapacity(cloud);
+    Mapping<Task, Resource> mapping1 = new Mapping<>("m1", task, local1);
+    Mapping<Task, Resource> mapping2 = new Mapping<>("m2", task, local2);
+    Mapping<Task, Resource> cloudMapping = new Mapping<>("cloud", task, cloud);
+    Set<Mapping<Task, Resource>> options = new HashSet<>();
+    options.add(mapping1);
+    options.add(mapping2);
+    options.add(cloudMapping);
+    SchedulerLocalResSpillOver tested = createTested(new MappingsConcurrent());
+    Task waiting = new Task("waiting");
+    Map<Task, Set<Mapping<Task, Resource>>> waitList = new LinkedHashMap<>();
+    waitList.put(waiting, new HashSet<>());
+    tested.waitingTasks.put(local1, waitList);
+    assertEquals(mapping2, tested.chooseMappingSubset(task, options).iterator().next());
+    options.remove(mapping2);
+    options.remove(mapping1);
+    assertEquals(cloudMapping, tested.chooseMappingSubset(task, options).iterator().next());
+  }
+}
@@ -8,6 +8,7 @@ import at.uibk.dps.ee.guice.starter.VertxProvider;
 import at.uibk.dps.ee.model.graph.SpecificationProvider;
 import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
 import at.uibk.dps.ee.model.properties.PropertyServiceResource;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiterFCFS;
 import at.uibk.dps.sc.core.capacity.CapacityCalculator;
 import net.sf.opendse.model.Mapping;
 import net.sf.opendse.model.Resource;
@@ -35,7 +36,8 @@ class SchedulerLocalResTest {
     when(randMock.nextInt(1)).thenReturn(0);
     when(randMock.nextInt(2)).thenReturn(0);
 
-    tested = new SchedulerLocalRes(sProvMock, capCalMock, vProvMock, randMock);
+    tested = new SchedulerLocalRes(sProvMock, capCalMock, vProvMock, randMock,
+        new ResourceArbiterFCFS());
 
     negligible = new Task("task");
     nonNegligible = new Task("task2");
@@ -0,0 +1,101 @@
+package at.uibk.dps.sc.core.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.opt4j.core.common.random.Rand;
+import at.uibk.dps.ee.guice.starter.VertxProvider;
+import at.uibk.dps.ee.model.graph.EnactmentSpecification;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
+import at.uibk.dps.ee.model.properties.PropertyServiceResource;
+import at.uibk.dps.sc.core.PropertyServiceScheduling;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiterFCFS;
+import at.uibk.dps.sc.core.capacity.CapacityCalculatorTaskNumber;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+class SchedulerPowerOfTwoTest {
+
+  @Test
+  void test() {
+    Task task = new Task("task");
+    Task placed = new Task("placed");
+    PropertyServiceFunction.annotateNonNegligibleWorkload(placed);
+    Resource edge1 = new Resource("edge1");
+    Resource edge2 = new Resource("edge2");
+    Mapping<Task, Resource> mapping1 = new Mapping<>("m1", task, edge1);
+    Mapping<Task, Resource> mapping2 = new Mapping<>("m2", task, edge2);
+    Set<Mapping<Task, Resource>> options = new HashSet<>();
+    options.add(mapping1);
+    options.add(mapping2);
+    SpecificationProvider specProvider = mock(SpecificationProvider.class);
+    when(specProvider.getSpecification()).thenReturn(mock(EnactmentSpecification.class));
+    Rand rand = mock(Rand.class);
+    when(rand.nextInt(2)).thenReturn(0);
+    when(rand.nextInt(1)).thenReturn(0);
+    SchedulerPowerOfTwo tested = new SchedulerPowerOfTwo(specProvider,
+        new CapacityCalculatorTaskNumber(4), mock(VertxProvider.class), rand,
+        new ResourceArbiterFCFS(), 1.0);
+
+    tested.occupancy.charge(placed, edge1, tested.capacityCalculator.getDemand(placed, edge1));
+    assertEquals(mapping2, tested.chooseMappingSubset(task, options).iterator().next());
+    tested.occupancy.release(placed, edge1);
+    tested.occupancy.charge(placed, edge2, tested.capacityCalculator.getDemand(placed, edge2));
+    assertEquals(mapping1, tested.chooseMappingSubset(task, options).iterator().next());
+  }
+
+  @Test
+  void testExpectedDelay() {
+    Task task = new Task("task");
+    Resource edge = new Resource("edge");
+    Resource cloud = new Resource("cloud");
+    PropertyServiceResource.annotateUnlimitedCapacity(cloud);
+    Mapping<Task, Resource> edgeMapping = new Mapping<>("edge", task, edge);
+    Mapping<Task, Resource> cloudMapping = new Mapping<>("cloud", task, cloud);
+    PropertyServiceScheduling.setRuntime(edgeMapping, 1.0);
+    PropertyServiceScheduling.setRuntime(cloudMapping, 2.0);
+    SpecificationProvider specProvider = mock(SpecificationProvider.class);
+    when(specProvider.getSpecification()).thenReturn(mock(EnactmentSpecification.class));
+    SchedulerPowerOfTwo tested = new SchedulerPowerOfTwo(specProvider,
+        new CapacityCalculatorTaskNumber(2), mock(VertxProvider.class), mock(Rand.class),
+        new ResourceArbiterFCFS(), 1.0);
+    assertEquals(1.0, tested.getExpectedDelay(edgeMapping, 1.0), 0.0001);
+    assertEquals(2.0, tested.getExpectedDelay(cloudMapping, 1.0), 0.0001);
+    Task placed = new Task("placed");
+    PropertyServiceFunction.annotateNonNegligibleWorkload(placed);
+    tested.occupancy.charge(placed, edge, tested.capacityCalculator.getDemand(placed, edge));
+    // half occupied -> runtime doubled
+    assertEquals(2.0, tested.getExpectedDelay(edgeMapping, 1.0), 0.0001);
+    tested.waitingTasks.computeIfAbsent(edge, r -> new LinkedHashMap<>()).put(new Task("w"),
+        new HashSet<>());
+    assertEquals(4.0, tested.getExpectedDelay(edgeMapping, 1.0), 0.0001);
+  }
+
+  @Test
+  void testPrior() {
+    Task task = new Task("task");
+    Resource known = new Resource("known");
+    Resource unknown = new Resource("unknown");
+    PropertyServiceResource.annotateUnlimitedCapacity(known);
+    PropertyServiceResource.annotateUnlimitedCapacity(unknown);
+    Mapping<Task, Resource> knownMapping = new Mapping<>("known", task, known);
+    Mapping<Task, Resource> unknownMapping = new Mapping<>("unknown", task, unknown);
+    PropertyServiceScheduling.setRuntime(knownMapping, 5.0);
+    Set<Mapping<Task, Resource>> options = new HashSet<>();
+    options.add(knownMapping);
+    options.add(unknownMapping);
+    SpecificationProvider specProvider = mock(SpecificationProvider.class);
+    when(specProvider.getSpecification()).thenReturn(mock(EnactmentSpecification.class));
+    SchedulerPowerOfTwo tested = new SchedulerPowerOfTwo(specProvider,
+        new CapacityCalculatorTaskNumber(2), mock(VertxProvider.class), mock(Rand.class),
+        new ResourceArbiterFCFS(), 10.0);
+    // the unknown mapping is assumed to take the default runtime
+    assertEquals(knownMapping, tested.chooseMappingSubset(task, options).iterator().next());
+  }
+}
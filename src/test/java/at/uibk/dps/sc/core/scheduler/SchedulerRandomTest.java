@@ -12,6 +12,7 @@ import at.uibk.dps.ee.model.graph.EnactmentSpecification;
 import at.uibk.dps.ee.model.graph.MappingsConcurrent;
 import at.uibk.dps.ee.model.graph.ResourceGraph;
 import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiterFCFS;
 import at.uibk.dps.sc.core.capacity.CapacityCalculatorNone;
 import io.vertx.core.Vertx;
 import net.sf.opendse.model.Mapping;
@@ -37,7 +38,8 @@ public class SchedulerRandomTest {
         new ResourceGraph(), new MappingsConcurrent(), "");
     when(mockSpec.getSpecification()).thenReturn(enactSpec);
     SchedulerRandom tested =
-        new SchedulerRandom(mockSpec, new Random(), 1, new CapacityCalculatorNone(), vProv);
+        new SchedulerRandom(mockSpec, new Random(), 1, new CapacityCalculatorNone(), vProv,
+            new ResourceArbiterFCFS());
     Task task = new Task("task");
     Resource res = new Resource("res");
     Mapping<Task, Resource> mapping = new Mapping<Task, Resource>("mapping", task, res);
@@ -15,6 +15,7 @@ import at.uibk.dps.ee.model.graph.MappingsConcurrent;
 import at.uibk.dps.ee.model.graph.ResourceGraph;
 import at.uibk.dps.ee.model.graph.SpecificationProvider;
 import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUser;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiterFCFS;
 import at.uibk.dps.sc.core.capacity.CapacityCalculatorNone;
 import io.vertx.core.Vertx;
 import net.sf.opendse.model.Mapping;
@@ -47,7 +48,8 @@ public class SchedulerSingleOptionTest {
     when(providerMock.getMappings()).thenReturn(mappings);
     when(providerMock.getSpecification()).thenReturn(spec);
     SchedulerSingleOption tested =
-        new SchedulerSingleOption(providerMock, new CapacityCalculatorNone(), vProv);
+        new SchedulerSingleOption(providerMock, new CapacityCalculatorNone(), vProv,
+            new ResourceArbiterFCFS());
     Set<Mapping<Task, Resource>> result = new HashSet<>();
     CountDownLatch waitSched = new CountDownLatch(1);
     tested.scheduleTask(task).onComplete(asynRes -> {
@@ -83,7 +85,8 @@ public class SchedulerSingleOptionTest {
       options.add(mapping);
       options.add(mapping2);
       SchedulerSingleOption tested =
-          new SchedulerSingleOption(providerMock, new CapacityCalculatorNone(), vProv);
+          new SchedulerSingleOption(providerMock, new CapacityCalculatorNone(), vProv,
+            new ResourceArbiterFCFS());
       tested.chooseMappingSubset(task, options);
     });
   }
@@ -0,0 +1,100 @@
+package at.uibk.dps.sc.core.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import com.google.gson.JsonObject;
+import at.uibk.dps.ee.guice.starter.VertxProvider;
+import at.uibk.dps.ee.model.graph.EnactmentSpecification;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUser;
+import at.uibk.dps.sc.core.ExecutionStatistics;
+import at.uibk.dps.sc.core.PropertyServiceScheduling;
+import at.uibk.dps.sc.core.arbitration.ResourceArbiterFCFS;
+import at.uibk.dps.sc.core.capacity.CapacityCalculatorNone;
+import io.vertx.core.Vertx;
+import net.sf.opendse.model.Mapping;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+
+class SchedulerTransferTimeTest {
+
+  @Test
+  void test() {
+    Task task = PropertyServiceFunctionUser.createUserTask("task", "addition");
+    Resource local = new Resource("local");
+    Resource cloud = new Resource("cloud");
+    PropertyServiceScheduling.setBandwidth(cloud, 8.0);
+    PropertyServiceScheduling.setAcquisitionDelay(cloud, 0.5);
+    Mapping<Task, Resource> localMapping = new Mapping<>("local", task, local);
+    Mapping<Task, Resource> cloudMapping = new Mapping<>("cloud", task, cloud);
+    PropertyServiceScheduling.setRuntime(localMapping, 3.0);
+    PropertyServiceScheduling.setRuntime(cloudMapping, 1.0);
+    Set<Mapping<Task, Resource>> options = new HashSet<>();
+    options.add(localMapping);
+    options.add(cloudMapping);
+    SpecificationProvider specProvider = mock(SpecificationProvider.class);
+    when(specProvider.getSpecification()).thenReturn(mock(EnactmentSpecification.class));
+    SchedulerTransferTime tested = new SchedulerTransferTime(specProvider,
+        new CapacityCalculatorNone(), new VertxProvider(mock(Vertx.class)),
+        new ResourceArbiterFCFS(), new ExecutionStatistics(), 10.0);
+
+    // small input: 1 MB/s link, 0.5 s delay, and 1 s runtime beat 3 s runtime
+    JsonObject smallInput = new JsonObject();
+    smallInput.addProperty("key", "value");
+    PropertyServiceFunction.setInput(task, smallInput);
+    Set<Mapping<Task, Resource>> result = tested.chooseMappingSubset(task, options);
+    assertEquals(1, result.size());
+    assertEquals(cloudMapping, result.iterator().next());
+
+    // 2 MB input: 2 s transfer -> local is faster
+    Task largeTask = PropertyServiceFunctionUser.createUserTask("largeTask", "addition");
+    JsonObject largeInput = new JsonObject();
+    largeInput.addProperty("key", "x".repeat(2_000_000));
+    PropertyServiceFunction.setInput(largeTask, largeInput);
+    result = tested.chooseMappingSubset(largeTask, options);
+    assertEquals(localMapping, result.iterator().next());
+  }
+
+  @Test
+  void testObservedRuntime() {
+    Task task = PropertyServiceFunctionUser.createUserTask("task", "addition");
+    Resource res = new Resource("res");
+    Mapping<Task, Resource> mapping = new Mapping<>("m", task, res);
+    ExecutionStatistics statistics = new ExecutionStatistics();
+    SpecificationProvider specProvider = mock(SpecificationProvider.class);
+    when(specProvider.getSpecification()).thenReturn(mock(EnactmentSpecification.class));
+    SchedulerTransferTime tested = new SchedulerTransferTime(specProvider,
+        new CapacityCalculatorNone(), new VertxProvider(mock(Vertx.class)),
+        new ResourceArbiterFCFS(), statistics, 10.0);
+    assertTrue(Double.isNaN(tested.getExpectedRuntime(task, mapping)));
+    statistics.recordExecution("addition", "res", 1500.0, 0.0);
+    assertEquals(1.5, tested.getExpectedRuntime(task, mapping), 0.0);
+  }
+
+  @Test
+  void testUnknownRuntime() {
+    Task task = PropertyServiceFunctionUser.createUserTask("task", "addition");
+    PropertyServiceFunction.setInput(task, new JsonObject());
+    Resource known = new Resource("known");
+    Resource unknown = new Resource("unknown");
+    Mapping<Task, Resource> knownMapping = new Mapping<>("known", task, known);
+    Mapping<Task, Resource> unknownMapping = new Mapping<>("unknown", task, unknown);
+    PropertyServiceScheduling.setRuntime(knownMapping, 20.0);
+    Set<Mapping<Task, Resource>> options = new HashSet<>();
+    options.add(knownMapping);
+    options.add(unknownMapping);
+    PropertyServiceScheduling.setAcquisitionDelay(unknown, 0.5);
+    SpecificationProvider specProvider = mock(SpecificationProvider.class);
+    when(specProvider.getSpecification()).thenReturn(mock(EnactmentSpecification.class));
+    SchedulerTransferTime tested = new SchedulerTransferTime(specProvider,
+        new CapacityCalculatorNone(), new VertxProvider(mock(Vertx.class)),
+        new ResourceArbiterFCFS(), new ExecutionStatistics(), 10.0);
+    // the unknown option is assumed to be as slow as the slowest known one
+    assertEquals(knownMapping, tested.chooseMappingSubset(task, options).iterator().next());
+  }
+}
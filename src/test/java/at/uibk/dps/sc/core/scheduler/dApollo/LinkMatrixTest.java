@@ -0,0 +1,41 @@
+package at.uibk.dps.sc.core.scheduler.dApollo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the bandwidth and latency matrix of the links between resources.
+ */
+class LinkMatrixTest {
+
+    @Test void testConfiguredLink() {
+        LinkMatrix linkMatrix = new LinkMatrix(Arrays.asList("edge1", "edge"), Double.NaN, 0.0);
+        linkMatrix.setLink("edge1", "edge", 800.0, 0.01);
+        assertEquals(1.01, linkMatrix.getTransferTime(100.0, "edge1", 80.0, "edge", 80.0), 1E-9);
+        assertEquals(1.01, linkMatrix.getTransferTime(100.0, "edge", 80.0, "edge1", 80.0), 1E-9);
+    }
+
+    @Test void testFallback() {
+        LinkMatrix linkMatrix = new LinkMatrix(Collections.emptyList(), Double.NaN, 0.0);
+        assertEquals(100.0 / Math.min(80.0 / 8.0, 160.0 / 8.0), linkMatrix.getTransferTime(100.0, "cloud1", 160.0, "edge", 80.0), 1E-9);
+
+        LinkMatrix withDefaults = new LinkMatrix(Collections.emptyList(), 800.0, 0.05);
+        assertEquals(1.05, withDefaults.getTransferTime(100.0, "cloud1", 160.0, "edge", 80.0), 1E-9);
+        assertEquals(0.0, withDefaults.getTransferTime(0.0, "cloud1", 160.0, "edge", 80.0));
+    }
+
+    @Test void testUnconfiguredRtt() {
+        LinkMatrix linkMatrix = new LinkMatrix(Arrays.asList("edge1", "cloud"), Double.NaN, 0.02);
+        linkMatrix.setLink("edge1", "cloud", 800.0, Double.NaN);
+        assertEquals(1.02, linkMatrix.getTransferTime(100.0, "edge1", 80.0, "cloud", 80.0), 1E-9);
+    }
+
+    @Test void testUnknownResource() {
+        LinkMatrix linkMatrix = new LinkMatrix(Collections.singletonList("edge1"), Double.NaN, 0.0);
+        assertThrows(IllegalArgumentException.class, () -> linkMatrix.setLink("edge1", "cloud", 800.0, 0.0));
+    }
+}
@@ -0,0 +1,93 @@
+package at.uibk.dps.sc.core.scheduler.dApollo;
+
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.graph.ResourceGraph;
+import at.uibk.dps.ee.model.graph.SpecificationProvider;
+import net.sf.opendse.model.Resource;
+import net.sf.opendse.model.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test cases for the cache of the initial dApollo planning.
+ */
+class ScheduleCacheTest {
+
+    @Test void testFingerprint() {
+        assertEquals(ScheduleCache.fingerprint("workflow"), ScheduleCache.fingerprint("workflow"));
+        assertNotEquals(ScheduleCache.fingerprint("workflow"), ScheduleCache.fingerprint("workflow2"));
+        assertEquals(64, ScheduleCache.fingerprint("").length());
+    }
+
+    @Test void testLru() {
+        ScheduleCache cache = new ScheduleCache(2, null);
+        ScheduleSnapshot first = new ScheduleSnapshot();
+        cache.put("first", first);
+        cache.put("second", new ScheduleSnapshot());
+        assertSame(first, cache.get("first"));
+        cache.put("third", new ScheduleSnapshot());
+        assertEquals(2, cache.size());
+        assertNull(cache.get("second"));
+        assertSame(first, cache.get("first"));
+    }
+
+    @Test void testDisk(@TempDir Path directory) {
+        Task task1 = new Task("task1");
+        Task task2 = new Task("task2");
+        Resource edge = new Resource("edge1");
+        Resource cloud = new Resource("cloud1");
+        EnactmentGraph eGraph = new EnactmentGraph();
+        eGraph.addVertex(task1);
+        eGraph.addVertex(task2);
+        ResourceGraph rGraph = new ResourceGraph();
+        rGraph.addVertex(edge);
+        rGraph.addVertex(cloud);
+        SpecificationProvider specProvider = mock(SpecificationProvider.class);
+        when(specProvider.getEnactmentGraph()).thenReturn(eGraph);
+        when(specProvider.getResourceGraph()).thenReturn(rGraph);
+
+        HashMap<Task, Mapping_> schedule = new HashMap<>();
+        schedule.put(task1, new Mapping_(task1, edge, "edge"));
+        schedule.put(task2, new Mapping_(task2, edge, "edge"));
+        Proposal single = new Proposal(Collections.singletonList(new Mapping_(task1, cloud, "edge")), 2.0, 0.5);
+        single.setTaskIncludes(Collections.singletonList(task1));
+        Proposal group = new Proposal(Arrays.asList(new Mapping_(task1, cloud, "cloud"), new Mapping_(task2, cloud, "cloud")), 3.0, 1.0);
+        group.setIncludes(Collections.singletonList(single));
+        group.setIncludesAll(Arrays.asList(single, group));
+        List<Proposal> proposals = new ArrayList<>(Arrays.asList(single, group));
+
+        new ScheduleCache(4, directory).put("key", new ScheduleSnapshot(schedule, proposals, 0.25));
+
+        // a new cache instance reads the entry from disk
+        ScheduleSnapshot restored = new ScheduleCache(4, directory).get("key");
+        assertNotNull(restored);
+        assertEquals(0.25, restored.getCost());
+        HashMap<Task, Mapping_> restoredSchedule = restored.restoreSchedule(specProvider);
+        assertEquals(edge, restoredSchedule.get(task2).getResource());
+        List<Proposal> restoredProposals = restored.restoreProposals(specProvider);
+        assertEquals(2, restoredProposals.size());
+        Proposal restoredGroup = restoredProposals.get(1);
+        assertEquals(3.0, restoredGroup.getTs());
+        assertEquals("cloud", restoredGroup.getMappings().get(1).getRSInstanceResource());
+        assertSame(restoredProposals.get(0), restoredGroup.getIncludes().get(0));
+        assertSame(restoredGroup, restoredGroup.getIncludesAll().get(1));
+        assertEquals(task1, restoredProposals.get(0).getTaskIncludes().get(0));
+    }
+
+    @Test void testShared(@TempDir Path directory) {
+        ScheduleCache cache = ScheduleCache.getShared(2, directory.toString());
+        assertSame(cache, ScheduleCache.getShared(2, directory.toString()));
+        assertThrows(IllegalArgumentException.class, () -> ScheduleCache.getShared(3, directory.toString()));
+    }
+}
@@ -0,0 +1,31 @@
+package at.uibk.dps.sc.core.scheduler.dApollo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the contention of transfers sharing the bandwidth of a resource.
+ */
+class TransferContentionTest {
+
+    @Test void testDisjointTransfers() {
+        double[] slowdowns = TransferContention.getSlowdowns(new double[]{0.0, 1.0, 3.0}, new double[]{1.0, 2.0, 3.0});
+        assertArrayEquals(new double[]{1.0, 1.0, 1.0}, slowdowns, 1E-9);
+    }
+
+    @Test void testFanOut() {
+        double[] slowdowns = TransferContention.getSlowdowns(new double[]{0.0, 0.0, 0.0}, new double[]{2.0, 2.0, 2.0});
+        assertArrayEquals(new double[]{3.0, 3.0, 3.0}, slowdowns, 1E-9);
+    }
+
+    @Test void testPartialOverlap() {
+        double[] slowdowns = TransferContention.getSlowdowns(new double[]{0.0, 1.0}, new double[]{2.0, 4.0});
+        assertEquals(1.5, slowdowns[0], 1E-9);
+        assertEquals(4.0 / 3.0, slowdowns[1], 1E-9);
+    }
+
+    @Test void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> TransferContention.getSlowdowns(new double[]{0.0}, new double[0]));
+    }
+}